@@ -0,0 +1,85 @@
+// Pacote de configurações - centraliza todas as configurações da aplicação
+package com.login.login.config;
+
+// Importações Java
+import javax.sql.DataSource;  // DataSource exposto ao JPA/JdbcTemplate
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Qualifier;                      // Escolhe o pool certo
+import org.springframework.beans.factory.annotation.Value;                          // Injeção de configuração
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;      // Só com réplica configurada
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;           // spring.datasource.*
+import org.springframework.boot.context.properties.ConfigurationProperties;        // Ajustes do Hikari
+import org.springframework.boot.jdbc.DataSourceBuilder;                             // Monta o pool da réplica
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;                              // DataSource padrão da aplicação
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;           // Conexão só no primeiro SQL
+
+// Importação do pool
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * ROTEAMENTO PRIMÁRIO / RÉPLICA DE LEITURA
+ *
+ * Ativo só quando app.datasource.replica.url está definido; sem ela a
+ * aplicação usa o DataSource único do Spring Boot, como sempre.
+ *
+ * - primaryDataSource: spring.datasource.* (+ spring.datasource.hikari.*)
+ * - replicaDataSource: app.datasource.replica.* (+ .hikari.*)
+ * - dataSource (@Primary): LazyConnectionDataSourceProxy →
+ *   ReadReplicaRoutingDataSource → escolhe o pool por transação
+ *
+ * O QUE VAI PARA A RÉPLICA:
+ * Transações @Transactional(readOnly = true) (Spring, não jakarta):
+ * UserRepository inteiro (busca do login, existsByEmail, findById do
+ * filtro JWT), UserService.emailExists. O Hibernate também não guarda
+ * snapshot das entidades lidas nessas transações.
+ *
+ * ATRASO DE REPLICAÇÃO: um usuário recém-cadastrado pode não existir na
+ * réplica por alguns milissegundos (login logo após o cadastro). Fluxos
+ * que leem e escrevem (reset de senha, refresh token) ficam no primário.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    /**
+     * POOL DO PRIMÁRIO (escritas e leituras fora de transação read-only)
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    /**
+     * POOL DA RÉPLICA (usuário/senha padrão = os do primário)
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        var pool = DataSourceBuilder.create().type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);  // Defesa extra: a réplica nunca recebe escrita
+        return pool;
+    }
+
+    /**
+     * DATASOURCE DA APLICAÇÃO (JPA, JdbcTemplate, Flyway)
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica));
+    }
+}
@@ -0,0 +1,120 @@
+// Pacote de configurações - centraliza todas as configurações da aplicação
+package com.login.login.config;
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;                          // Injeção de configuração
+import org.springframework.beans.factory.config.BeanPostProcessor;                  // Ajusta o pool antes do uso
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;      // Só com auto-size ligado
+import org.springframework.boot.context.properties.bind.Binder;                     // Propriedade definida? (relaxed binding)
+import org.springframework.core.env.Environment;                                    // Configuração efetiva
+import org.springframework.stereotype.Component;                                    // Componente gerenciado pelo Spring
+
+// Importação do pool
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * TAMANHO DO POOL DE CONEXÕES CALCULADO PELO HOST
+ *
+ * Ativo com app.datasource.pool.auto-size=true (perfil prod). Define o
+ * maximum-pool-size de todo HikariDataSource que NÃO teve o tamanho
+ * configurado explicitamente:
+ * - replicaDataSource → app.datasource.replica.hikari.maximum-pool-size
+ * - demais pools → spring.datasource.hikari.maximum-pool-size
+ * (em yml ou variável de ambiente, ex: SPRING_DATASOURCE_HIKARI_MAXIMUMPOOLSIZE)
+ *
+ * FÓRMULA (threads úteis = núcleos × utilização × (1 + espera/cálculo)):
+ *
+ *   tamanho = ceil(núcleos × (1 − hashing-share) × (1 + db-wait-ratio))
+ *
+ * - hashing-share: fração da CPU que vai para o BCrypt (BoundedPasswordEncoder)
+ *   no tráfego esperado. O hash roda DEPOIS da consulta do login e fora de
+ *   transação → não segura conexão; só o resto da CPU gera trabalho de banco
+ * - db-wait-ratio: quanto uma requisição espera o banco para cada unidade de
+ *   CPU própria. 1.0 → 2 conexões por núcleo livre (heurística do PostgreSQL)
+ * - Resultado limitado a [min-size, max-size]
+ *
+ * Ex: 8 núcleos, hashing-share 0.5, db-wait-ratio 1.0 → 8 conexões.
+ * Mais conexões que isso só aumentam a fila dentro do banco; quem passa do
+ * limite espera no pool (hikaricp.connections.pending) no máximo
+ * connection-timeout e recebe erro.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.pool.auto-size", havingValue = "true")
+public class HikariPoolSizer implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolSizer.class);
+
+    private final Binder binder;  // Lê a configuração com relaxed binding
+    private final int size;       // Tamanho calculado uma vez, no startup
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param environment Configuração (tamanho explícito desliga o cálculo)
+     * @param hashingShare app.datasource.pool.hashing-share (0.0 a 1.0)
+     * @param dbWaitRatio app.datasource.pool.db-wait-ratio
+     * @param minSize app.datasource.pool.min-size
+     * @param maxSize app.datasource.pool.max-size
+     */
+    public HikariPoolSizer(Environment environment,
+                           @Value("${app.datasource.pool.hashing-share:0.5}") double hashingShare,
+                           @Value("${app.datasource.pool.db-wait-ratio:1.0}") double dbWaitRatio,
+                           @Value("${app.datasource.pool.min-size:4}") int minSize,
+                           @Value("${app.datasource.pool.max-size:40}") int maxSize) {
+        this.binder = Binder.get(environment);
+        this.size = recommendedSize(Runtime.getRuntime().availableProcessors(),
+            hashingShare, dbWaitRatio, minSize, maxSize);
+    }
+
+    /**
+     * TAMANHO RECOMENDADO (ver fórmula acima)
+     *
+     * @param cores Núcleos disponíveis para a JVM
+     * @param hashingShare Fração da CPU gasta com hashing de senhas
+     * @param dbWaitRatio Espera pelo banco / tempo de CPU por requisição
+     * @param minSize Piso
+     * @param maxSize Teto
+     * @return Conexões no pool
+     */
+    public static int recommendedSize(int cores, double hashingShare, double dbWaitRatio, int minSize, int maxSize) {
+        if (hashingShare < 0 || hashingShare > 1) {
+            throw new IllegalArgumentException("hashing-share deve estar entre 0 e 1: " + hashingShare);
+        }
+        if (dbWaitRatio < 0) {
+            throw new IllegalArgumentException("db-wait-ratio não pode ser negativo: " + dbWaitRatio);
+        }
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Limites inválidos: min-size=" + minSize + ", max-size=" + maxSize);
+        }
+        int size = (int) Math.ceil(cores * (1 - hashingShare) * (1 + dbWaitRatio));
+        return Math.clamp(size, minSize, maxSize);
+    }
+
+    /**
+     * APLICAR NOS POOLS SEM TAMANHO EXPLÍCITO
+     *
+     * Roda depois do binding de spring.datasource.hikari.* e antes da
+     * primeira conexão. O Hikari já nasce com 10 → a origem do tamanho é
+     * conferida na configuração, não no pool.
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool && !explicitlySized(beanName)) {
+            pool.setMaximumPoolSize(size);
+            log.info("Pool de conexões '{}' dimensionado para {} conexões ({} núcleos)",
+                beanName, size, Runtime.getRuntime().availableProcessors());
+        }
+        return bean;
+    }
+
+    private boolean explicitlySized(String beanName) {
+        var prefix = "replicaDataSource".equals(beanName)
+            ? "app.datasource.replica.hikari"
+            : "spring.datasource.hikari";
+        return binder.bind(prefix + ".maximum-pool-size", Integer.class).isBound();
+    }
+}
@@ -0,0 +1,138 @@
+// Pacote de configurações - centraliza todas as configurações da aplicação
+package com.login.login.config;
+
+// Importações Java
+import java.util.Arrays;  // Crescer os arrays de filhos da trie (só na montagem)
+
+/**
+ * ROTAS PÚBLICAS (NÃO PRECISAM DE LOGIN)
+ *
+ * Fonte única da lista de rotas públicas, usada em dois lugares:
+ * - SecurityConfig.filterChain → requestMatchers(PATTERNS).permitAll()
+ * - JwtAuthenticationFilter.shouldNotFilter → isPublic(path)
+ *
+ * MATCHER PRÉ-COMPILADO:
+ * Os prefixos viram uma árvore de prefixos (trie) uma única vez, na carga
+ * da classe. isPublic percorre o caminho caractere a caractere:
+ * - uma única passada, no máximo até o fim do prefixo mais longo
+ * - nenhuma alocação (sem substring, split, regex ou iterator)
+ *
+ * MESMA SEMÂNTICA DE "/auth/**":
+ * - "/auth" e "/auth/login" → públicos
+ * - "/authx" → NÃO público (prefixo precisa terminar em "/" ou no fim do caminho)
+ */
+public final class PublicRoutes {
+
+    /**
+     * PREFIXOS PÚBLICOS (cada um vale também para tudo abaixo dele)
+     */
+    private static final String[] PREFIXES = {
+        "/auth",    // Páginas de autenticação (login, register, forgot, reset)
+        "/css",     // Arquivos CSS
+        "/js",      // Arquivos JavaScript
+        "/images"   // Imagens
+    };
+
+    /**
+     * PATTERNS PARA O SPRING SECURITY (requestMatchers)
+     *
+     * "/auth/**", "/css/**", "/js/**", "/images/**" e a página inicial "/"
+     */
+    public static final String[] PATTERNS = patterns();
+
+    /**
+     * Raiz da trie (nó do caractere inicial "/")
+     */
+    private static final Node ROOT = compile();
+
+    private PublicRoutes() {
+        // Classe utilitária - não instanciar
+    }
+
+    /**
+     * O CAMINHO É PÚBLICO?
+     *
+     * @param path Caminho da requisição (ex: req.getServletPath())
+     * @return true se o caminho é "/" ou está sob um dos prefixos públicos
+     */
+    public static boolean isPublic(String path) {
+        int len = path.length();
+        if (len == 0 || path.charAt(0) != '/') {
+            return false;
+        }
+        if (len == 1) {
+            return true;  // Página inicial "/"
+        }
+
+        Node node = ROOT;
+        for (int i = 1; i < len; i++) {
+            char c = path.charAt(i);
+            if (c == '/' && node.terminal) {
+                return true;  // "/auth/..." → fim de um prefixo seguido de "/"
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;  // Nenhum prefixo continua com este caractere
+            }
+        }
+        return node.terminal;  // "/auth" exato
+    }
+
+    /**
+     * MONTAR A TRIE A PARTIR DOS PREFIXOS
+     */
+    private static Node compile() {
+        Node root = new Node();
+        for (String prefix : PREFIXES) {
+            Node node = root;
+            for (int i = 1; i < prefix.length(); i++) {  // Posição 0 é sempre "/"
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+        return root;
+    }
+
+    private static String[] patterns() {
+        String[] result = new String[PREFIXES.length + 1];
+        for (int i = 0; i < PREFIXES.length; i++) {
+            result[i] = PREFIXES[i] + "/**";
+        }
+        result[PREFIXES.length] = "/";
+        return result;
+    }
+
+    /**
+     * NÓ DA TRIE
+     *
+     * Poucos filhos por nó (4 prefixos) → arrays paralelos com busca linear
+     * são mais baratos que um Map (sem boxing de Character).
+     */
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;  // true = um prefixo termina aqui
+
+        private Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
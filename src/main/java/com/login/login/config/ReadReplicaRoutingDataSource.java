@@ -0,0 +1,49 @@
+// Pacote de configurações - centraliza todas as configurações da aplicação
+package com.login.login.config;
+
+// Importações Java
+import java.util.Map;          // Destinos da roteação
+
+import javax.sql.DataSource;   // Pools do primário e da réplica
+
+// Importações Spring
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;       // Escolhe o pool por conexão
+import org.springframework.transaction.support.TransactionSynchronizationManager; // Transação atual é read-only?
+
+/**
+ * DATASOURCE QUE ROTEIA LEITURAS PARA A RÉPLICA
+ *
+ * - Transação Spring com readOnly = true → REPLICA
+ * - Qualquer outra coisa (escrita, sem transação, Flyway) → PRIMARY
+ *
+ * PRECISA ficar atrás de um LazyConnectionDataSourceProxy
+ * (DataSourceRoutingConfig): o JpaTransactionManager pede a conexão no
+ * início da transação, ANTES de marcar a transação como read-only; o
+ * proxy só escolhe o pool de verdade no primeiro SQL, quando a marca já
+ * está definida.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Destino de cada conexão
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * @param primary Pool do banco principal (escritas)
+     * @param replica Pool da réplica (leituras read-only)
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,22 @@
+// Pacote de configurações - centraliza todas as configurações da aplicação
+package com.login.login.config;
+
+// Importações Spring
+import org.springframework.context.annotation.Configuration;          // Classe de configuração
+import org.springframework.scheduling.annotation.EnableScheduling;    // Habilita @Scheduled
+
+/**
+ * CONFIGURAÇÃO DE TAREFAS AGENDADAS
+ * 
+ * Habilita @Scheduled na aplicação.
+ * 
+ * TAREFAS ATUAIS:
+ * - MailOutboxDispatcher.dispatch → drena a outbox de emails
+ *
+ * Com spring.threads.virtual.enabled=true o agendador usa virtual threads;
+ * o envio SMTP em si fica em threads de plataforma (ver MailOutboxDispatcher).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
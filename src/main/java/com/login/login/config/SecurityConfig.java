@@ -1,22 +1,58 @@
 // Pacote de configurações - centraliza todas as configurações da aplicação
 package com.login.login.config;
 
+// Importações Java
+import java.time.Duration;  // Latência alvo do hash
+import java.util.Arrays;    // Redes liberadas para o Actuator
+import java.util.Map;       // Algoritmos por {id}
+
+// Importações Jakarta Servlet
+import jakarta.servlet.DispatcherType;  // ERROR dispatch do sendError
+
 // Importações do Spring Framework para configuração de beans
+import org.springframework.beans.factory.annotation.Value;  // Injeção de valores de configuração
 import org.springframework.context.annotation.Bean;        // Anotação para definir beans
 import org.springframework.context.annotation.Configuration; // Marca esta classe como classe de configuração
 
 // Importações do Spring Security para autenticação e autorização
 import org.springframework.security.authentication.AuthenticationManager;                    // Gerencia autenticação
+import org.springframework.security.authorization.AuthorizationDecision;                     // Resultado da checagem de rede
+import org.springframework.security.authorization.AuthorizationManager;                      // Regra de acesso customizada
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration; // Configuração de autenticação
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;              // Habilita segurança em métodos
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;                              // Configuração de segurança HTTP
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;                    // Habilita segurança web
 import org.springframework.security.config.http.SessionCreationPolicy;                                        // Política de criação de sessões
+import org.springframework.security.core.session.SessionRegistry;                                             // Sessões HTTP por usuário
+import org.springframework.security.core.session.SessionRegistryImpl;                                         // Registro em memória
 import org.springframework.security.core.userdetails.UserDetailsService;                                      // Serviço para buscar detalhes do usuário
 import org.springframework.security.core.userdetails.UsernameNotFoundException;                               // Exceção quando usuário não é encontrado
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;                                      // Codificador de senha BCrypt (mais seguro)
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;                                // Escolhe o algoritmo pelo prefixo {id}
 import org.springframework.security.crypto.password.PasswordEncoder;                                          // Interface para codificação de senhas
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;                                    // Alternativa FIPS ao BCrypt
 import org.springframework.security.web.SecurityFilterChain;                                                  // Cadeia de filtros de segurança
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;                          // Requisição sendo autorizada
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;                  // Filtro de login por formulário
+import org.springframework.security.web.session.HttpSessionEventPublisher;                                    // Sessões destruídas → SessionRegistry
+import org.springframework.security.web.util.matcher.IpAddressMatcher;                                        // IP/CIDR
+
+// Importações do JWT
+import com.login.login.jwt.JwtAuthenticationFilter;    // Filtro que autentica pelo cookie ACCESS_TOKEN
+import com.login.login.jwt.JwtService;                 // Validação de tokens
+import com.login.login.jwt.TokenRevocationRegistry;    // Tokens revogados
+import com.login.login.service.UserPrincipalCache;     // Cache de usuários do filtro
+
+// Importações do hashing limitado de senhas
+import com.login.login.security.BCryptCostCalibrator;    // Custo do BCrypt medido no host
+import com.login.login.security.BoundedPasswordEncoder;  // BCrypt em executor próprio
+import com.login.login.security.LoginFailureHandler;     // 503 quando o hashing está saturado
+import com.login.login.security.LoginThrottle;           // Falhas de login por IP e por conta
+import com.login.login.security.LoginThrottleFilter;     // 429 antes da autenticação
+import com.login.login.security.TokenIssuingSuccessHandler;  // Cookies de token no login
+
+// Importação dos cookies de autenticação
+import com.login.login.web.AuthCookies;  // ACCESS_TOKEN + REFRESH_TOKEN
 
 // Importação do nosso repositório de usuários
 import com.login.login.repo.UserRepository;
@@ -37,13 +73,48 @@ public class SecurityConfig {
      * Ele adiciona "salt" (dados aleatórios) e é computacionalmente caro,
      * dificultando ataques de força bruta.
      * 
-     * @return BCryptPasswordEncoder configurado com força padrão (10 rounds)
+     * CUSTO CALIBRADO: na inicialização medimos o host (BCryptCostCalibrator)
+     * e usamos o maior custo que cabe em app.security.hashing.target-ms.
+     * 
+     * DELEGATING: hashes novos ficam com prefixo "{bcrypt}"; o prefixo diz
+     * qual algoritmo conferiu cada hash guardado. Trocar o padrão (ex: para
+     * "pbkdf2") não invalida senhas antigas: elas migram no próximo login
+     * (RehashingPasswordService). Hashes antigos sem prefixo são tratados
+     * como BCrypt.
+     * 
+     * Justamente por ser caro (~50-100 ms de CPU por hash), o BCrypt roda em
+     * um executor próprio (BoundedPasswordEncoder) com fila limitada:
+     * rajadas de login recebem 503 em vez de travar todas as threads do Tomcat.
+     * 
+     * @param threads app.security.hashing.threads (0 = número de núcleos)
+     * @param queueCapacity app.security.hashing.queue-capacity
+     * @param maxWaitMs app.security.hashing.max-wait-ms
+     * @param targetMs app.security.hashing.target-ms (latência alvo por hash)
+     * @param minCost app.security.hashing.min-cost (piso de segurança)
+     * @param maxCost app.security.hashing.max-cost (teto de latência)
+     * @return DelegatingPasswordEncoder (bcrypt calibrado) atrás do executor limitado
      */
-    @Bean  // Registra este método como um bean do Spring (singleton por padrão)
-    public PasswordEncoder passwordEncoder() {
+    @Bean(destroyMethod = "shutdown")  // Encerra as threads de hashing junto com o contexto
+    public PasswordEncoder passwordEncoder(@Value("${app.security.hashing.threads:0}") int threads,
+                                           @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.security.hashing.max-wait-ms:2000}") long maxWaitMs,
+                                           @Value("${app.security.hashing.target-ms:250}") long targetMs,
+                                           @Value("${app.security.hashing.min-cost:10}") int minCost,
+                                           @Value("${app.security.hashing.max-cost:14}") int maxCost) {
         // BCrypt é considerado o melhor algoritmo para hash de senhas atualmente
         // Ele gera um hash diferente a cada execução, mesmo para a mesma senha
-        return new BCryptPasswordEncoder();
+        int cost = BCryptCostCalibrator.calibrate(Duration.ofMillis(targetMs), minCost, maxCost);
+        var bcrypt = new BCryptPasswordEncoder(cost);
+
+        // Algoritmos reconhecidos pelo prefixo {id}
+        // (Argon2 exige BouncyCastle no classpath → adicionar aqui junto com a dependência)
+        Map<String, PasswordEncoder> encoders = Map.of(
+            "bcrypt", bcrypt,
+            "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        var delegating = new DelegatingPasswordEncoder("bcrypt", encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);  // Hashes antigos "$2a$..." sem prefixo
+
+        return new BoundedPasswordEncoder(delegating, threads, queueCapacity, maxWaitMs);
     }
 
     /**
@@ -51,14 +122,23 @@ public class SecurityConfig {
      * Este bean define COMO o Spring Security deve buscar um usuário no banco de dados
      * durante o processo de autenticação.
      * 
+     * O usuário carregado sai marcado como bloqueado (AuthUser.locked) se a conta
+     * passou do limite de falhas no LoginThrottle → LockedException no login.
+     * 
+     * PROJEÇÃO, NÃO ENTIDADE: AuthUser vem de um "select new" só com id,
+     * email, hash, nome e enabled → nada gerenciado pelo Hibernate (sem
+     * snapshot nem dirty-checking) a cada tentativa de login.
+     * 
      * @param userRepository Repositório JPA injetado automaticamente pelo Spring
+     * @param loginThrottle Contadores de falhas de login
      * @return Lambda function que implementa UserDetailsService
      */
     @Bean
-    public UserDetailsService userDetailsService(UserRepository userRepository) {
+    public UserDetailsService userDetailsService(UserRepository userRepository, LoginThrottle loginThrottle) {
         // Retorna uma função lambda que implementa UserDetailsService
         // Esta função será chamada sempre que alguém tentar fazer login
-        return username -> userRepository.findByEmail(username)  // Busca usuário pelo email (que usamos como username)
+        return username -> userRepository.findAuthUserByEmail(username)  // Busca usuário pelo email (que usamos como username)
+                .map(user -> user.withLocked(loginThrottle.isLocked(username)))  // Bloqueio temporário (em memória)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username)); // Se não encontrar, lança exceção
     }
 
@@ -78,6 +158,36 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BEAN: REGISTRO DE SESSÕES HTTP
+     * 
+     * O login por formulário guarda o SecurityContext na HttpSession: revogar
+     * tokens não derruba as sessões de outros navegadores. Com o registro,
+     * o HttpSessionRevoker expira todas as sessões do usuário quando chega
+     * um UserSessionsInvalidatedEvent.
+     * 
+     * Em memória, por instância (mesma limitação do TokenRevocationRegistry).
+     * 
+     * @return SessionRegistry usado pelo sessionManagement
+     */
+    @Bean
+    public SessionRegistry sessionRegistry() {
+        return new SessionRegistryImpl();
+    }
+
+    /**
+     * BEAN: EVENTOS DE SESSÃO HTTP
+     * 
+     * Registrado como listener do container: sessões que expiram ou são
+     * invalidadas saem do SessionRegistry (senão ele só cresce).
+     * 
+     * @return Publicador de eventos de sessão
+     */
+    @Bean
+    public HttpSessionEventPublisher httpSessionEventPublisher() {
+        return new HttpSessionEventPublisher();
+    }
+
     /**
      * BEAN: CADEIA DE FILTROS DE SEGURANÇA
      * Este é o bean mais importante! Ele define TODAS as regras de segurança da aplicação:
@@ -87,42 +197,89 @@ public class SecurityConfig {
      * - Proteções de segurança
      * 
      * @param http Objeto HttpSecurity para configurar a segurança web
+     * @param jwtService Validação de tokens JWT
+     * @param userCache Cache de usuários usado pelo filtro JWT
+     * @param revocations Registro de tokens revogados
+     * @param claimsTrusted app.jwt.claims-trusted (principal montado dos claims)
+     * @param loginThrottle Limite de tentativas de login por IP e por conta
+     * @param authCookies Cookies de token (emitidos no login, apagados no logout)
+     * @param managementNetworks app.management.allowed-networks (quem lê métricas do Actuator)
+     * @param sessionRegistry Sessões HTTP por usuário (expiradas ao sair de todos os dispositivos)
      * @return SecurityFilterChain configurada
      * @throws Exception Se houver erro na configuração
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           JwtService jwtService,
+                                           UserPrincipalCache userCache,
+                                           TokenRevocationRegistry revocations,
+                                           @Value("${app.jwt.claims-trusted:false}") boolean claimsTrusted,
+                                           LoginThrottle loginThrottle,
+                                           AuthCookies authCookies,
+                                           @Value("${app.management.allowed-networks:127.0.0.1/32,::1/128}") String[] managementNetworks,
+                                           SessionRegistry sessionRegistry) throws Exception {
         return http
             // === CONFIGURAÇÃO CSRF ===
             .csrf(csrf -> csrf.disable())  // CSRF (Cross-Site Request Forgery) desabilitado para simplificar
                                            // Em produção, você deve habilitá-lo para maior segurança
             
             // === CONFIGURAÇÃO DE SESSÕES ===
-            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
                                            // IF_REQUIRED: Cria sessão apenas se necessário (padrão web)
                                            // Alternativas: ALWAYS, NEVER, STATELESS (para APIs REST)
+                .maximumSessions(-1)       // Sem limite de sessões por usuário, mas todas registradas
+                .sessionRegistry(sessionRegistry)
+                .expiredUrl("/auth/login?expired"))
+                                           // Sessão expirada (sair de todos os dispositivos, senha redefinida)
+                                           // → logout (mesmos handlers, cookies apagados) e volta ao login
             
             // === CONFIGURAÇÃO DE AUTORIZAÇÃO ===
             .authorizeHttpRequests(auth -> auth
                 // URLs PÚBLICAS (não precisam de login):
-                .requestMatchers("/auth/**", "/css/**", "/js/**", "/images/**", "/").permitAll()
+                .requestMatchers(PublicRoutes.PATTERNS).permitAll()
                                            // /auth/** = todas as páginas de autenticação (login, register, etc.)
                                            // /css/**, /js/**, /images/** = recursos estáticos (CSS, JavaScript, imagens)
                                            // / = página inicial
                 
                 .requestMatchers("/h2-console/**").permitAll()  // Console do banco H2 (apenas para desenvolvimento!)
                 
+                // PÁGINA DE ERRO: sendError (429 do LoginThrottleFilter, 503 do hashing saturado)
+                // vira um ERROR dispatch para /error que passa de novo por esta cadeia;
+                // sem liberar, o anônimo recebe 302 para o login em vez do status original
+                .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                
+                // ACTUATOR: health aberto (load balancer); métricas só da rede interna
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").access(fromNetworks(managementNetworks))
+                
                 .anyRequest().authenticated()  // TODAS as outras URLs precisam de autenticação
             )
             
+            // === FILTRO JWT ===
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, userCache, revocations, claimsTrusted),
+                             UsernamePasswordAuthenticationFilter.class)
+                                           // Autentica pelo cookie ACCESS_TOKEN antes do login por formulário
+                                           // Rotas públicas (PublicRoutes) pulam o filtro
+            
+            // === LIMITE DE TENTATIVAS DE LOGIN ===
+            .addFilterBefore(new LoginThrottleFilter(loginThrottle, "/login", "username"),
+                             UsernamePasswordAuthenticationFilter.class)
+                                           // POST /login acima do limite (IP ou conta) → 429
+                                           // antes de qualquer consulta ao banco ou hash BCrypt
+            
             // === CONFIGURAÇÃO DE LOGIN ===
             .formLogin(form -> form
                 .loginPage("/auth/login")              // Página customizada de login (nossa página Thymeleaf)
                 .loginProcessingUrl("/login")          // URL que processa o login (POST)
                 .usernameParameter("username")         // Nome do campo username no formulário HTML
                 .passwordParameter("password")         // Nome do campo password no formulário HTML
-                .defaultSuccessUrl("/dashboard", true) // Para onde ir após login bem-sucedido (true = sempre)
-                .failureUrl("/auth/login?error=true")  // Para onde ir se o login falhar
+                .successHandler(new TokenIssuingSuccessHandler(authCookies, "/dashboard"))
+                                                       // Para onde ir após login bem-sucedido (sempre)
+                                                       // + cookies ACCESS_TOKEN e REFRESH_TOKEN
+                .failureHandler(new LoginFailureHandler("/auth/login?error=true"))
+                                                       // Login falhou → volta ao formulário com erro
+                                                       // Hashing saturado → 503 (tente de novo)
                 .permitAll()                           // Permite acesso às URLs de login sem autenticação
             )
             
@@ -130,6 +287,7 @@ public class SecurityConfig {
             .logout(logout -> logout
                 .logoutUrl("/auth/logout")                    // URL para fazer logout (POST)
                 .logoutSuccessUrl("/auth/login?logout")       // Para onde ir após logout bem-sucedido
+                .addLogoutHandler(authCookies)                // Revoga o refresh token e apaga os cookies
                 .permitAll()                                  // Permite logout sem autenticação adicional
             )
             
@@ -141,4 +299,24 @@ public class SecurityConfig {
             
             .build();  // Constrói e retorna a SecurityFilterChain configurada
     }
-}
\ No newline at end of file
+
+    /**
+     * REGRA DE ACESSO POR REDE (IP ou CIDR)
+     *
+     * Usada nas métricas do Actuator: o Prometheus raspa pela rede interna,
+     * sem login. Atrás de proxy, configurar server.forward-headers-strategy
+     * para o IP do cliente ser o real.
+     *
+     * @param networks Ex: "127.0.0.1/32", "10.0.0.0/8", "::1/128"
+     * @return Libera só requisições vindas dessas redes
+     */
+    private static AuthorizationManager<RequestAuthorizationContext> fromNetworks(String[] networks) {
+        var matchers = Arrays.stream(networks)
+            .map(String::trim)
+            .filter(network -> !network.isEmpty())
+            .map(IpAddressMatcher::new)
+            .toList();
+        return (authentication, context) -> new AuthorizationDecision(
+            matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
+}
@@ -0,0 +1,97 @@
+// Pacote domain - contém as entidades de domínio (objetos de negócio)
+package com.login.login.domain;
+
+// Importações Java
+import java.util.List;  // Authorities imutáveis
+
+// Importações do Spring Security
+import org.springframework.security.core.GrantedAuthority;                  // Interface para autoridades
+import org.springframework.security.core.userdetails.UserDetails;           // Usuário do login por formulário
+
+/**
+ * USUÁRIO DO LOGIN (PROJEÇÃO SOMENTE LEITURA)
+ *
+ * O UserDetailsService carregava a entidade User inteira no contexto de
+ * persistência só para conferir o hash e o enabled: entidade gerenciada,
+ * snapshot para dirty-checking e verificação no flush a cada tentativa
+ * de login.
+ *
+ * Este record vem direto da query (UserRepository.findAuthUserByEmail,
+ * "select new ...") → nenhuma entidade gerenciada, nada a comparar no flush.
+ * Imutável: bloqueio (LoginThrottle) e hash novo (rehash no login) geram
+ * cópias (withLocked / withPassword).
+ *
+ * @param id ID do usuário
+ * @param email Email como cadastrado (username)
+ * @param password Hash da senha
+ * @param name Nome (claim "name" do access token)
+ * @param enabled Conta ativa
+ * @param locked Bloqueio temporário por excesso de falhas de login
+ * @param authorities Roles (hoje sempre User.DEFAULT_AUTHORITIES)
+ */
+public record AuthUser(
+    Long id,
+    String email,
+    String password,
+    String name,
+    boolean enabled,
+    boolean locked,
+    List<GrantedAuthority> authorities
+) implements UserDetails {
+
+    /**
+     * CONSTRUTOR DA QUERY JPQL (sem bloqueio, roles padrão)
+     */
+    public AuthUser(Long id, String email, String password, String name, boolean enabled) {
+        this(id, email, password, name, enabled, false, User.DEFAULT_AUTHORITIES);
+    }
+
+    /**
+     * Cópia com o bloqueio do LoginThrottle
+     */
+    public AuthUser withLocked(boolean locked) {
+        return new AuthUser(id, email, password, name, enabled, locked, authorities);
+    }
+
+    /**
+     * Cópia com o hash atualizado (RehashingPasswordService)
+     */
+    public AuthUser withPassword(String password) {
+        return new AuthUser(id, email, password, name, enabled, locked, authorities);
+    }
+
+    // === USERDETAILS ===
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;  // Email como username (igual à entidade User)
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !locked;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sem o hash da senha (o toString padrão do record o incluiria em logs)
+     */
+    @Override
+    public String toString() {
+        return "AuthUser[id=" + id + ", email=" + email + ", enabled=" + enabled + ", locked=" + locked + "]";
+    }
+}
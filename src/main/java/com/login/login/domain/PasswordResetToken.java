@@ -31,6 +31,9 @@ import lombok.*;
  * - Token aleatório e único
  */
 @Entity  // Marca como entidade JPA (vira tabela no banco)
+@Table(indexes = @Index(name = "ix_password_reset_token_expires_at", columnList = "expires_at"))
+//                         ↑
+//   Limpeza em lotes (PasswordResetTokenReaper) busca por expires_at < agora
 @Getter     // Lombok: gera métodos get automaticamente
 @Setter     // Lombok: gera métodos set automaticamente  
 @AllArgsConstructor (access = AccessLevel.PRIVATE)   // Construtor completo privado
@@ -42,11 +45,12 @@ public class PasswordResetToken {
      * CHAVE PRIMÁRIA
      * 
      * @Id - marca como chave primária da tabela
-     * @GeneratedValue - valor gerado automaticamente pelo banco
-     * IDENTITY - usa AUTO_INCREMENT (MySQL) ou SERIAL (PostgreSQL)
+     * @GeneratedValue - valor gerado pela sequence password_reset_token_seq
+     * allocationSize = 50 - otimizador pooled, INSERTs em lote (Flyway V6)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_token_seq")
+    @SequenceGenerator(name = "password_reset_token_seq", sequenceName = "password_reset_token_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -0,0 +1,153 @@
+// Pacote domain - entidades do domínio da aplicação
+package com.login.login.domain;
+
+// Importações Java
+import java.time.Instant;  // Representa momento específico no tempo (UTC)
+
+// Importações Jakarta Persistence (JPA)
+import jakarta.persistence.*;  // Todas as anotações JPA para mapeamento objeto-relacional
+
+// Importações Lombok - biblioteca para reduzir código boilerplate
+import lombok.*;
+
+/**
+ * ENTIDADE EMAIL PENDENTE (OUTBOX)
+ * 
+ * Cada linha é um email que ainda precisa ser entregue.
+ * 
+ * PADRÃO OUTBOX:
+ * 1. O serviço grava a linha na MESMA transação da regra de negócio
+ *    (ex: token de reset + email pendente → commit juntos)
+ * 2. A requisição HTTP retorna sem esperar o SMTP
+ * 3. MailOutboxDispatcher (em background) lê lotes, envia e marca o resultado
+ * 
+ * CICLO DE VIDA (status):
+ * PENDING → SENDING → SENT
+ *    ↑         ↓
+ *    └── falha (com backoff) ──→ FAILED (após max-attempts)
+ * 
+ * SEGURANÇA: payload guarda o token de reset em texto → a tabela deve ter
+ * o mesmo nível de proteção da tabela password_reset_token. Ao chegar em
+ * SENT ou FAILED o payload é apagado (MailOutbox) e a linha inteira é
+ * removida depois da retenção (MailOutboxReaper).
+ */
+@Entity  // Marca como entidade JPA (vira tabela no banco)
+@Table(name = "mail_outbox", indexes = {
+    @Index(name = "ix_mail_outbox_due", columnList = "status, next_attempt_at"),  // Busca de lotes
+    @Index(name = "ix_mail_outbox_claim", columnList = "claim_token"),            // Linhas reivindicadas
+    @Index(name = "ix_mail_outbox_finished", columnList = "status, created_at")   // Limpeza (MailOutboxReaper)
+})
+@Getter     // Lombok: gera métodos get automaticamente
+@Setter     // Lombok: gera métodos set automaticamente
+@AllArgsConstructor (access = AccessLevel.PRIVATE)   // Construtor completo privado
+@NoArgsConstructor (access = AccessLevel.PROTECTED)  // Construtor vazio protegido (JPA precisa)
+@Builder (toBuilder = true)  // Padrão Builder + permite modificar objetos existentes
+public class PendingMail {
+
+    /**
+     * TIPO DE EMAIL (define qual template o MailService usa)
+     */
+    public enum Kind {
+        PASSWORD_RESET  // payload = token de reset
+    }
+
+    /**
+     * ESTADO DE ENTREGA
+     */
+    public enum Status {
+        PENDING,  // Aguardando envio (ou nova tentativa)
+        SENDING,  // Reivindicado por um dispatcher
+        SENT,     // Entregue ao servidor SMTP
+        FAILED    // Desistimos após max-attempts
+    }
+
+    /**
+     * CHAVE PRIMÁRIA
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * TIPO DE EMAIL
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Kind kind;
+
+    /**
+     * DESTINATÁRIO
+     */
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * DADO VARIÁVEL DO EMAIL (ex: token de reset)
+     * 
+     * null depois de SENT/FAILED: o token não fica guardado sem necessidade.
+     */
+    private String payload;
+
+    /**
+     * IDIOMA DE QUEM PEDIU (language tag, ex: "pt-BR")
+     * 
+     * Capturado na requisição: o dispatcher roda fora dela e não tem
+     * acesso ao LocaleContextHolder do usuário.
+     */
+    @Column(length = 35)
+    private String locale;
+
+    /**
+     * ESTADO ATUAL
+     */
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    /**
+     * TENTATIVAS JÁ FEITAS
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    /**
+     * QUANDO PODE SER (RE)ENVIADO
+     * 
+     * Na criação = agora; após falha = agora + backoff exponencial
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    /**
+     * IDENTIFICADOR DO LOTE QUE REIVINDICOU A LINHA
+     * 
+     * Preenchido por UPDATE condicional (status = PENDING) → duas instâncias
+     * nunca enviam o mesmo email.
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    /**
+     * QUANDO FOI REIVINDICADO (detecta dispatcher que morreu no meio do envio)
+     */
+    private Instant claimedAt;
+
+    /**
+     * QUANDO FOI CRIADO
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * QUANDO FOI ENTREGUE AO SMTP
+     */
+    private Instant sentAt;
+
+    /**
+     * ÚLTIMO ERRO (resumido) - ajuda a diagnosticar FAILED
+     */
+    @Column(length = 500)
+    private String lastError;
+}
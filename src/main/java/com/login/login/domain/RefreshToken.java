@@ -3,6 +3,7 @@ package com.login.login.domain;
 
 // Importações Java
 import java.time.Instant;  // Representa um ponto no tempo (timestamp UTC)
+import java.util.UUID;     // Identificador da família de tokens
 
 // Importações Jakarta Persistence (JPA) - novo nome do javax.persistence
 import jakarta.persistence.*;           // Todas as anotações JPA
@@ -28,9 +29,18 @@ import lombok.*;
  * - Pode ser revogado manualmente
  * - Tem data de expiração
  * - Vinculado a um usuário específico
+ * 
+ * ARMAZENAMENTO:
+ * - PostgreSQL: tabela particionada por mês de expires_at (Flyway V5);
+ *   meses expirados são descartados inteiros pelo RefreshTokenCompactor
+ * - Demais bancos (H2): tabela simples, expirados apagados por DELETE
  */
 @Entity  // Marca como entidade JPA (será uma tabela no banco)
-@Table(name = "refresh_token")  // Nome da tabela no banco de dados
+@Table(name = "refresh_token",  // Nome da tabela no banco de dados
+       indexes = {
+           @Index(name = "ix_refresh_token_family_id", columnList = "family_id"),  // Revogar a família inteira
+           @Index(name = "ix_refresh_token_user_id", columnList = "user_id")       // Revogar todas as sessões do usuário
+       })
 @Getter     // Lombok: gera automaticamente métodos get para todos os campos
 @Setter     // Lombok: gera automaticamente métodos set para todos os campos
 @NoArgsConstructor (access = AccessLevel.PROTECTED)  // Construtor sem argumentos protegido para JPA
@@ -42,11 +52,12 @@ public class RefreshToken {
      * CHAVE PRIMÁRIA
      * 
      * @Id - marca como chave primária
-     * @GeneratedValue - valor gerado automaticamente
-     * IDENTITY - usa AUTO_INCREMENT do banco (MySQL, PostgreSQL, etc.)
+     * @GeneratedValue - valor gerado pela sequence refresh_token_seq
+     * allocationSize = 50 - otimizador pooled, INSERTs em lote (Flyway V6)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_token_seq")
+    @SequenceGenerator(name = "refresh_token_seq", sequenceName = "refresh_token_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -71,6 +82,13 @@ public class RefreshToken {
      * nullable = false - campo obrigatório
      * unique = true - cada hash deve ser único
      * length = 200 - tamanho máximo do campo
+     * 
+     * ATENÇÃO (PostgreSQL): unique = true só vale para o schema gerado pelo
+     * Hibernate (H2/dev). Na tabela particionada (Flyway V5) toda UNIQUE
+     * precisa incluir a chave de partição → o banco garante apenas
+     * uk_refresh_token_token_hash (token_hash, expires_at). A unicidade de
+     * token_hash sozinho vem do próprio token (256 bits aleatórios → SHA-256),
+     * não de uma constraint; ddl-auto=validate não confere isso.
      */
     @Column(nullable = false, unique = true, length = 200)
     private String tokenHash; // guarda o hash do refresh não o plaintext
@@ -103,6 +121,22 @@ public class RefreshToken {
     @Builder.Default
     @Column (nullable = false)
     private boolean revoked = false; //se o token foi revogado
+
+    /**
+     * FAMÍLIA DO TOKEN (ROTAÇÃO)
+     * 
+     * Cada login abre uma família nova; cada refresh troca o token por
+     * outro da MESMA família (RefreshTokenService.rotate).
+     * 
+     * Um token já revogado apresentado de novo = alguém guardou uma cópia
+     * (reuso) → a família inteira é revogada, inclusive o token que o
+     * cliente legítimo tem agora.
+     * 
+     * @Builder.Default - token criado sem família abre uma família própria
+     */
+    @Builder.Default
+    @Column(nullable = false, length = 36)
+    private String familyId = UUID.randomUUID().toString();
     
     /*
      * MÉTODOS AUTOMATICAMENTE GERADOS PELO LOMBOK:
@@ -113,6 +147,7 @@ public class RefreshToken {
      * - getTokenHash()   → retorna tokenHash  
      * - getExpiresAt()   → retorna expiresAt
      * - isRevoked()      → retorna revoked
+     * - getFamilyId()    → retorna familyId
      * 
      * SETTERS:
      * - setId(Long)           → define id
@@ -120,6 +155,7 @@ public class RefreshToken {
      * - setTokenHash(String)  → define tokenHash
      * - setExpiresAt(Instant) → define expiresAt
      * - setRevoked(boolean)   → define revoked
+     * - setFamilyId(String)   → define familyId
      * 
      * BUILDER:
      * RefreshToken token = RefreshToken.builder()
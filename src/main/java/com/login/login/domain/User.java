@@ -4,6 +4,7 @@ package com.login.login.domain;
 // Importações Java padrão
 import java.util.Collection;  // Interface para coleções (List, Set, etc.)
 import java.util.List;        // Implementação de lista
+import java.util.Locale;      // Normalização do email independente do locale
 
 // Importações do Spring Security para autoridades e detalhes do usuário
 import org.springframework.security.core.authority.SimpleGrantedAuthority;  // Implementação simples de autoridade/permissão
@@ -24,7 +25,13 @@ import lombok.*;  // @Getter, @Setter, @Builder, etc.
  * Usa Lombok para reduzir código repetitivo.
  */
 @Entity  // JPA: Marca esta classe como uma entidade do banco de dados
-@Table(name = "users")  // JPA: Define o nome da tabela no banco (por padrão seria "user", mas é palavra reservada)
+@Table(name = "users",  // JPA: Define o nome da tabela no banco (por padrão seria "user", mas é palavra reservada)
+       uniqueConstraints = {
+           @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+           @UniqueConstraint(name = User.EMAIL_NORMALIZED_UNIQUE_CONSTRAINT, columnNames = "email_normalized")
+       })
+       //                                       ↑
+       // Nomes fixos: UserService reconhece a violação destas constraints como "Email já cadastrado"
 
 // === ANOTAÇÕES LOMBOK ===
 @Getter   // Lombok: Gera automaticamente métodos getter para todos os campos
@@ -35,23 +42,67 @@ import lombok.*;  // @Getter, @Setter, @Builder, etc.
                            // toBuilder = true permite criar uma cópia modificável
 public class User implements UserDetails {  // Implementa UserDetails para Spring Security
 
+    /**
+     * NOME DA CONSTRAINT DE EMAIL ÚNICO (minúsculo)
+     * 
+     * Usado em @Table e pelo UserService para reconhecer "email duplicado".
+     */
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+
+    /**
+     * NOME DA CONSTRAINT DE EMAIL NORMALIZADO ÚNICO
+     * 
+     * Também reconhecida pelo UserService como "email duplicado".
+     */
+    public static final String EMAIL_NORMALIZED_UNIQUE_CONSTRAINT = "uk_users_email_normalized";
+
+    /**
+     * SEQUENCE DOS IDS E TAMANHO DO BLOCO (otimizador pooled)
+     * 
+     * Usados em @SequenceGenerator e pelo UserImporter, que reserva ids
+     * da mesma sequence em blocos iguais aos do Hibernate.
+     */
+    public static final String ID_SEQUENCE = "users_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * AUTORIDADES DE TODO USUÁRIO (lista imutável, compartilhada)
+     * 
+     * Usada por getAuthorities e pela projeção AuthUser.
+     */
+    public static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     // === CAMPOS DA ENTIDADE ===
     
     /**
      * ID: Chave primária da tabela
-     * IDENTITY: O banco gera automaticamente (auto-increment)
+     * SEQUENCE (users_seq, Flyway V6) com otimizador pooled:
+     * um nextval reserva 50 ids → INSERTs em lote (hibernate.jdbc.batch_size)
      */
     @Id  // JPA: Marca como chave primária
-    @GeneratedValue(strategy = GenerationType.IDENTITY)  // JPA: Geração automática de ID
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    //                                                                   ↑
+    // Precisa ser igual ao INCREMENT BY da sequence (ddl-auto=validate confere)
     private Long id;
 
     /**
      * EMAIL: Campo único e obrigatório
      * Usado como username no sistema de autenticação
      */
-    @Column(nullable = false, unique = true)  // JPA: Campo obrigatório e único no banco
+    @Column(nullable = false)  // JPA: Campo obrigatório (unicidade: uk_users_email em @Table)
     private String email;
 
+    /**
+     * EMAIL NORMALIZADO: trim + minúsculas (Flyway V7)
+     * Chave das buscas por email (UserRepository.findByEmail): um acesso ao
+     * índice único uk_users_email_normalized, qualquer que seja a caixa.
+     * Mantido junto com email (setEmail e @PrePersist/@PreUpdate).
+     */
+    @Column(name = "email_normalized", nullable = false)
+    @Setter(AccessLevel.NONE)  // Só muda junto com o email
+    private String emailNormalized;
+
     /**
      * PASSWORD: Senha do usuário (sempre armazenada com hash BCrypt)
      */
@@ -89,6 +140,35 @@ public class User implements UserDetails {  // Implementa UserDetails para Sprin
             .build();             // Constrói o objeto
     }
 
+    /**
+     * NORMALIZAR EMAIL PARA BUSCA
+     * Mesma regra do LoginThrottle e do ResetRequestLimiter:
+     * sem espaços nas pontas, minúsculas independentes do locale.
+     * 
+     * @param email Email como digitado (pode ser null)
+     * @return String email normalizado (null se email for null)
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Troca o email e o normalizado juntos
+     */
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    /**
+     * Builder preenche só o email → normaliza antes de gravar
+     */
+    @PrePersist
+    @PreUpdate
+    void syncEmailNormalized() {
+        this.emailNormalized = normalizeEmail(email);
+    }
+
     // === IMPLEMENTAÇÃO DOS MÉTODOS DO USERDETAILS ===
     // Estes métodos são exigidos pelo Spring Security
     
@@ -102,7 +182,7 @@ public class User implements UserDetails {  // Implementa UserDetails para Sprin
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // MVP (Minimum Viable Product): Todos os usuários têm a mesma permissão
         // Em sistemas mais complexos, você teria diferentes roles: ADMIN, USER, MODERATOR, etc.
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return DEFAULT_AUTHORITIES;
     }
     
     /**
@@ -129,13 +209,14 @@ public class User implements UserDetails {  // Implementa UserDetails para Sprin
 
     /**
      * CONTA NÃO BLOQUEADA?
-     * Permite bloquear contas temporariamente (ex: após muitas tentativas de login)
+     * O bloqueio temporário do LoginThrottle vive no principal do login
+     * (AuthUser.locked), não na entidade
      * 
-     * @return true se a conta não está bloqueada
+     * @return true (a entidade não é usada no login por formulário)
      */
     @Override
     public boolean isAccountNonLocked() {
-        return true;  // Nossas contas nunca são bloqueadas (por enquanto)
+        return true;
     }
 
     /**
@@ -3,7 +3,6 @@ package com.login.login.jwt;
 
 // Importações Java
 import java.io.IOException;  // Para tratamento de exceções I/O
-import java.util.Arrays;     // Para trabalhar com arrays de cookies
 
 // Importações Spring Security
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;  // Token de autenticação
@@ -11,8 +10,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;                              // Filtro que executa uma vez por requisição
 import org.springframework.lang.NonNull;                                                 // Anotação para parâmetros não nulos
 
-// Importação do repositório
-import com.login.login.repo.UserRepository;  // Acesso aos dados do usuário
+// Importação da lista de rotas públicas
+import com.login.login.config.PublicRoutes;  // Rotas que não precisam de autenticação
+
+// Importação do cache de usuários
+import com.login.login.service.UserPrincipalCache;  // Acesso aos dados do usuário (cache → banco)
+
+// Importação do utilitário de cookies
+import com.login.login.web.CookieUtils;  // Extração do token sem alocações intermediárias
 
 // Importações Jakarta Servlet (novo nome do javax.servlet)
 import jakarta.servlet.FilterChain;       // Cadeia de filtros
@@ -26,9 +31,11 @@ import jakarta.servlet.http.*;            // Classes HTTP (request, response, co
  * 
  * COMO FUNCIONA:
  * 1. Intercepta requisição HTTP
- * 2. Procura cookie "ACCESS_TOKEN"  
+ * 2. Procura cookie "ACCESS_TOKEN" (ou header "Authorization: Bearer")
  * 3. Se encontra, decodifica JWT
- * 4. Se válido, carrega usuário e autentica
+ * 4. Se válido e não revogado, monta o principal e autentica:
+ *    - modo padrão: carrega usuário via UserPrincipalCache (cache → banco)
+ *    - modo "claims-trusted": usa os claims do token (sem ida ao banco)
  * 5. Passa requisição adiante na cadeia de filtros
  * 
  * FILTROS NO SPRING SECURITY:
@@ -60,7 +67,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * Injetadas via construtor
      */
     private final JwtService jwt;        // Para decodificar e validar tokens
-    private final UserRepository users;  // Para carregar dados do usuário
+    private final UserPrincipalCache users;  // Para carregar dados do usuário (cache limitado + TTL)
+    private final TokenRevocationRegistry revocations;  // Tokens revogados (ex: senha redefinida)
+
+    /**
+     * MODO "CLAIMS-TRUSTED" (app.jwt.claims-trusted)
+     * 
+     * false (padrão) = principal é carregado do banco (via UserPrincipalCache)
+     * true           = principal é montado dos claims (sub, email, name, roles);
+     *                  a checagem de revogação substitui a consulta ao banco
+     * 
+     * TRADE-OFF: com true, mudanças no usuário (nome, roles, enabled) só
+     * aparecem no próximo token, exceto as que publicam revogação.
+     */
+    private final boolean claimsTrusted;
 
     /**
      * CONSTRUTOR COM INJEÇÃO DE DEPENDÊNCIA
@@ -69,11 +89,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * e injeta as dependências necessárias.
      * 
      * @param jwt Serviço para processar tokens JWT
-     * @param users Repositório para buscar usuários no banco
+     * @param users Cache de usuários na frente do UserRepository
+     * @param revocations Registro de tokens revogados
+     * @param claimsTrusted true = não consulta o banco, confia nos claims
      */
-    public JwtAuthenticationFilter(JwtService jwt, UserRepository users) {
+    public JwtAuthenticationFilter(JwtService jwt, UserPrincipalCache users,
+                                   TokenRevocationRegistry revocations, boolean claimsTrusted) {
         this.jwt = jwt;
         this.users = users;
+        this.revocations = revocations;
+        this.claimsTrusted = claimsTrusted;
     }
 
     /**
@@ -82,7 +107,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * Executado uma vez por requisição HTTP (OncePerRequestFilter).
      * 
      * FLUXO DE EXECUÇÃO:
-     * 1. Tenta extrair token JWT do cookie
+     * 1. Tenta extrair token JWT do cookie (ou do header Authorization)
      * 2. Se encontra token válido, autentica usuário
      * 3. Se não encontra ou inválido, continua sem autenticar
      * 4. Passa requisição para próximo filtro na cadeia
@@ -98,47 +123,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         throws ServletException, IOException{
         
         try{
-            // BUSCAR TODOS OS COOKIES DA REQUISIÇÃO
-            var cookies = req.getCookies();
+            // BUSCAR TOKEN: cookie ACCESS_TOKEN ou header "Authorization: Bearer"
+            var raw = CookieUtils.resolveAccessToken(req);
             //    ↑
-            // Retorna Cookie[] ou null se não há cookies
+            // String ou null; sem Stream/Optional/lambda por requisição
             
-            if(cookies != null){
-                // PROCURAR COOKIE COM TOKEN DE ACESSO
-                var c = Arrays.stream(cookies)
-                    .filter(cookie -> "ACCESS_TOKEN".equals(cookie.getName()))
-                    .findFirst();
-                //  ↑
-                // Optional<Cookie>
-                
-                if (c.isPresent()){
-                    // DECODIFICAR JWT E EXTRAIR USER ID
-                    var userID = jwt.subjectToUserId(c.get().getValue());
-                    //              ↑                  ↑
-                    //        JwtService        Valor do cookie
-                    
-                    // CARREGAR USUÁRIO DO BANCO DE DADOS
-                    var user = users.findById(userID).orElse(null);
-                    //          ↑                     ↑
-                    //    Repository           Se não encontrar = null
-                    
-                    if (user != null){
-                        // CRIAR TOKEN DE AUTENTICAÇÃO DO SPRING SECURITY
-                        var auth = new UsernamePasswordAuthenticationToken(
-                            user,                    // Principal (usuário autenticado)
-                            null,                    // Credentials (não precisa da senha)
-                            user.getAuthorities()    // Authorities (roles/permissões)
-                        );
-                        
+            if (raw != null){
+                // DECODIFICAR E VALIDAR JWT
+                var token = jwt.verify(raw);
+                //              ↑
+                //        JwtService
+
+                // TOKEN REVOGADO? (ex: senha redefinida depois da emissão)
+                if (!revocations.isRevoked(token.userId(), token.issuedAt())) {
+                    var auth = claimsTrusted
+                        ? authenticationFromClaims(token)    // Sem ida ao banco
+                        : authenticationFromDatabase(token); // Carrega User do banco
+
+                    if (auth != null){
                         // DEFINIR USUÁRIO COMO AUTENTICADO NO CONTEXTO GLOBAL
                         SecurityContextHolder.getContext().setAuthentication(auth);
                         //                    ↑              ↑
                         //              Contexto global   Define autenticação
-                        
+
                         /*
                          * A partir deste ponto:
                          * - SecurityContextHolder.getContext().getAuthentication() retorna nosso token
-                         * - @AuthenticationPrincipal User user funcionará nos controllers
+                         * - authentication.getName() retorna o email (nos dois modos)
                          * - Verificações de autorização funcionarão normalmente
                          */
                     }
@@ -162,6 +173,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Próximo filtro ou controller decidirá se autoriza ou não
     }
 
+    /**
+     * MODO PADRÃO: PRINCIPAL CARREGADO DO BANCO (VIA CACHE)
+     * 
+     * UserPrincipalCache evita uma consulta por requisição: só vai ao banco
+     * em cache miss, TTL vencido ou após invalidação (senha/conta desabilitada).
+     * O principal é um JwtPrincipal imutável (sem hash), igual ao do modo
+     * "claims-trusted", mas com nome/email atuais do banco.
+     * 
+     * @param token Claims validados
+     * @return Authentication ou null se o usuário não existe mais ou está desabilitado
+     */
+    private UsernamePasswordAuthenticationToken authenticationFromDatabase(VerifiedToken token) {
+        var principal = users.findById(token.userId()).orElse(null);
+        //               ↑                            ↑
+        //         Cache → Repository    Inexistente ou desabilitado = null
+        if (principal == null) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+            principal,                // Principal (snapshot imutável do usuário)
+            null,                     // Credentials (não precisa da senha)
+            principal.authorities()   // Authorities (roles/permissões)
+        );
+    }
+
+    /**
+     * MODO "CLAIMS-TRUSTED": PRINCIPAL MONTADO DOS CLAIMS
+     * 
+     * Nenhuma consulta ao banco: sub/email/name/roles vêm do próprio token,
+     * cuja assinatura já foi verificada pelo JwtService.
+     * 
+     * @param token Claims validados
+     * @return Authentication com JwtPrincipal
+     */
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(VerifiedToken token) {
+        var principal = JwtPrincipal.from(token);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
+    }
+
     /**
      * DEFINIR QUAIS ROTAS NÃO DEVEM SER FILTRADAS
      * 
@@ -169,6 +219,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * - Não precisam de autenticação (login, registro, assets)
      * - São recursos estáticos (CSS, JS, imagens)
      * 
+     * A lista vem de PublicRoutes (a mesma usada no SecurityConfig) e é
+     * verificada com uma única passada pela trie, sem alocação.
+     * 
      * IMPORTANTE: Este método é só otimização!
      * A autorização real é definida no SecurityConfig.
      * 
@@ -177,74 +230,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest req){
-        var p = req.getServletPath();  // Caminho da requisição
-        
-        // NÃO FILTRAR ESTAS ROTAS:
-        return p.startsWith("/auth")     ||  // Rotas de autenticação (/auth/login, /auth/register)
-               p.startsWith("/css")      ||  // Arquivos CSS
-               p.startsWith("/js")       ||  // Arquivos JavaScript  
-               p.startsWith("/images")   ||  // Imagens
-               p.startsWith("/");            // Página inicial (pode ser pública)
-        
-        /*
-         * ROTAS QUE SERÃO FILTRADAS:
-         * - /dashboard
-         * - /profile  
-         * - /admin
-         * - /api/users
-         * - Qualquer outra rota protegida
-         * 
-         * ALTERNATIVAS MAIS SOFISTICADAS:
-         * 
-         * 1. Lista de rotas públicas:
-         * Set<String> publicPaths = Set.of("/", "/auth/login", "/auth/register", "/auth/reset");
-         * return publicPaths.contains(p);
-         * 
-         * 2. Regex patterns:
-         * return p.matches("/(auth|css|js|images)/.*") || "/".equals(p);
-         * 
-         * 3. Integração com SecurityConfig:
-         * return securityConfig.isPublicPath(p);
-         */
+        return PublicRoutes.isPublic(req.getServletPath());
+        //                  ↑
+        // "/", "/auth/**", "/css/**", "/js/**", "/images/**" → pula
+        // "/dashboard", "/api/..." e qualquer outra rota → filtra
     }
     
     /*
      * MELHORIAS POSSÍVEIS:
      * 
-     * 1. SUPORTE A HEADER AUTHORIZATION:
-     * 
-     * String extractTokenFromRequest(HttpServletRequest req) {
-     *     // 1. Tentar cookie primeiro
-     *     Cookie[] cookies = req.getCookies();
-     *     if (cookies != null) {
-     *         return Arrays.stream(cookies)
-     *             .filter(c -> "ACCESS_TOKEN".equals(c.getName()))
-     *             .findFirst()
-     *             .map(Cookie::getValue)
-     *             .orElse(null);
-     *     }
-     *     
-     *     // 2. Tentar header Authorization
-     *     String header = req.getHeader("Authorization");
-     *     if (header != null && header.startsWith("Bearer ")) {
-     *         return header.substring(7);
-     *     }
-     *     
-     *     return null;
-     * }
-     * 
-     * 2. CACHE DE USUÁRIOS:
-     * 
-     * @Autowired
-     * private CacheManager cacheManager;
-     * 
-     * User findUserWithCache(Long userId) {
-     *     return cacheManager.getCache("users").get(userId, () -> 
-     *         users.findById(userId).orElse(null)
-     *     );
-     * }
-     * 
-     * 3. MÉTRICAS E MONITORAMENTO:
+     * 1. MÉTRICAS E MONITORAMENTO:
      * 
      * @Autowired  
      * private MeterRegistry meterRegistry;
@@ -253,7 +248,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      *     meterRegistry.counter("auth.jwt.attempts", "success", String.valueOf(success)).increment();
      * }
      * 
-     * 4. LOGGING DE SEGURANÇA:
+     * 2. LOGGING DE SEGURANÇA:
      * 
      * private static final Logger securityLogger = LoggerFactory.getLogger("SECURITY");
      * 
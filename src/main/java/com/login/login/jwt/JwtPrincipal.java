@@ -0,0 +1,69 @@
+// Pacote jwt - componentes relacionados a autenticação JWT
+package com.login.login.jwt;
+
+// Importações Java
+import java.util.List;  // Lista imutável de authorities
+
+// Importações Spring Security
+import org.springframework.security.core.AuthenticatedPrincipal;             // Principal com getName()
+import org.springframework.security.core.GrantedAuthority;                   // Interface de autoridade
+import org.springframework.security.core.authority.SimpleGrantedAuthority;   // Implementação simples
+
+// Importação da entidade (roles padrão)
+import com.login.login.domain.User;
+
+/**
+ * PRINCIPAL MONTADO A PARTIR DOS CLAIMS DO JWT
+ *
+ * Usado no modo "claims-trusted" (app.jwt.claims-trusted=true):
+ * o JwtAuthenticationFilter não consulta o banco, apenas confia nos
+ * claims de um token com assinatura válida.
+ *
+ * No modo padrão o mesmo record vem do banco
+ * (UserRepository.findPrincipalById) e fica no UserPrincipalCache:
+ * imutável e sem hash de senha → uma instância pode ser o principal de
+ * várias requisições ao mesmo tempo.
+ *
+ * getName() devolve o email → authentication.getName() continua
+ * retornando o mesmo valor que o User da entidade (email = username).
+ *
+ * @param id ID do usuário (claim "sub")
+ * @param email Email do usuário (claim "email")
+ * @param displayName Nome de exibição (claim "name")
+ * @param authorities Roles (claim "roles")
+ */
+public record JwtPrincipal(
+    Long id,
+    String email,
+    String displayName,
+    List<GrantedAuthority> authorities
+) implements AuthenticatedPrincipal {
+
+    /**
+     * CONSTRUTOR DA QUERY JPQL (roles padrão)
+     */
+    public JwtPrincipal(Long id, String email, String displayName) {
+        this(id, email, displayName, User.DEFAULT_AUTHORITIES);
+    }
+
+    /**
+     * FACTORY A PARTIR DE UM TOKEN VALIDADO
+     *
+     * @param token Claims já verificados pelo JwtService
+     * @return JwtPrincipal equivalente
+     */
+    public static JwtPrincipal from(VerifiedToken token) {
+        List<GrantedAuthority> authorities = token.roles().stream()
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+        return new JwtPrincipal(token.userId(), token.email(), token.name(), authorities);
+    }
+
+    /**
+     * USERNAME DO PRINCIPAL (email, igual ao User da entidade)
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -4,12 +4,15 @@ package com.login.login.jwt;
 // Importações Java
 import java.sql.Date;      // Para compatibilidade com JWT library (java.util.Date)
 import java.time.Instant;  // Para trabalhar com timestamps UTC
+import java.util.Collection;  // Authorities de User/AuthUser
+import java.util.List;     // Lista de roles no claim "roles"
 
 // Importação criptografia
 import javax.crypto.SecretKey;  // Chave secreta para assinatura HMAC
 
 // Importações do domínio
-import com.login.login.domain.User;  // Entidade usuário
+import com.login.login.domain.AuthUser;  // Usuário do login por formulário (projeção)
+import com.login.login.domain.User;      // Entidade usuário
 
 // Importações JWT (JJWT library)
 import io.jsonwebtoken.*;                    // Classes principais JWT
@@ -17,7 +20,10 @@ import io.jsonwebtoken.io.Decoders;          // Decodificador Base64
 import io.jsonwebtoken.security.Keys;        // Gerador de chaves criptográficas
 
 // Importações Spring
+import org.springframework.beans.factory.annotation.Autowired;  // Construtor usado pelo Spring
 import org.springframework.beans.factory.annotation.Value;  // Injeção de valores de configuração
+import org.springframework.lang.Nullable;                   // Dependência opcional
+import org.springframework.security.core.GrantedAuthority;  // Autoridades do usuário (roles)
 import org.springframework.stereotype.Service;              // Marca como componente de serviço
 
 /**
@@ -94,6 +100,34 @@ public class JwtService {
      */
     private final Long accessTtlMin;
 
+    /**
+     * PARSER JWT PRÉ-CONSTRUÍDO
+     * 
+     * Construído uma única vez no construtor e compartilhado por todas as threads.
+     * 
+     * POR QUE NÃO CONSTRUIR POR REQUISIÇÃO:
+     * - Jwts.parser().build() monta deserializador JSON, registro de algoritmos
+     *   e validadores a cada chamada (custo antes mesmo de checar a assinatura)
+     * - JwtParser do JJWT 0.12+ é imutável e thread-safe → pode ser reutilizado
+     */
+    private final JwtParser parser;
+
+    /**
+     * CACHE DE TOKENS JÁ VERIFICADOS (OPCIONAL)
+     * 
+     * null quando app.jwt.verified-cache.enabled=false (padrão)
+     * → toda chamada a verify() faz a verificação completa.
+     */
+    private final VerifiedTokenCache verifiedCache;
+
+    /**
+     * NOME DO CLAIM COM AS ROLES DO USUÁRIO
+     * 
+     * Usado pelo modo "claims-trusted" do JwtAuthenticationFilter para montar
+     * as authorities sem consultar o banco.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
     /**
      * CONSTRUTOR COM INJEÇÃO DE CONFIGURAÇÃO
      * 
@@ -110,11 +144,14 @@ public class JwtService {
      * @param base64secret Chave secreta codificada em Base64
      * @param issuer Identificador do emissor dos tokens
      * @param accessTtlMin Tempo de vida em minutos
+     * @param verifiedCache Cache de tokens verificados (null se app.jwt.verified-cache.enabled=false)
      */
+    @Autowired
     public JwtService(
         @Value("${app.jwt.secret}") String base64secret,
         @Value("${app.jwt.issuer}") String issuer,
-        @Value("${app.jwt.access-token.ttl-min}") Long accessTtlMin
+        @Value("${app.jwt.access-token.ttl-min}") Long accessTtlMin,
+        @Nullable VerifiedTokenCache verifiedCache
     ){
         // DECODIFICAR E CRIAR CHAVE CRIPTOGRÁFICA
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64secret));
@@ -128,6 +165,20 @@ public class JwtService {
 
         this.issuer = issuer;
         this.accessTtlMin = accessTtlMin;
+
+        // CONSTRUIR PARSER UMA ÚNICA VEZ (reutilizado em todas as requisições)
+        this.parser = Jwts.parser()
+            .verifyWith(key)        // Verifica assinatura com nossa chave
+            .build();               // Constrói parser imutável
+
+        this.verifiedCache = verifiedCache;
+    }
+
+    /**
+     * CONSTRUTOR SEM CACHE DE TOKENS (testes, benchmarks)
+     */
+    public JwtService(String base64secret, String issuer, Long accessTtlMin) {
+        this(base64secret, issuer, accessTtlMin, null);
     }
 
     /**
@@ -139,6 +190,7 @@ public class JwtService {
      * - sub (subject): ID do usuário
      * - email: email do usuário
      * - name: nome do usuário
+     * - roles: autoridades do usuário (ex: ["ROLE_USER"])
      * - iss (issuer): emissor do token
      * - iat (issued at): quando foi emitido
      * - exp (expiration): quando expira
@@ -147,15 +199,35 @@ public class JwtService {
      * @return String Token JWT assinado
      */
     public String createAcessToken(User user) {
+        return createAcessToken(user.getId(), user.getEmail(), user.getName(), user.getAuthorities());
+    }
+
+    /**
+     * CRIAR ACCESS TOKEN PARA O USUÁRIO DO LOGIN POR FORMULÁRIO
+     * 
+     * Mesmos claims, a partir da projeção AuthUser (sem carregar a entidade).
+     * 
+     * @param user Usuário autenticado (principal do login)
+     * @return String Token JWT assinado
+     */
+    public String createAcessToken(AuthUser user) {
+        return createAcessToken(user.id(), user.email(), user.name(), user.authorities());
+    }
+
+    private String createAcessToken(Long id, String email, String name,
+                                    Collection<? extends GrantedAuthority> authorities) {
         Instant now = Instant.now(); // Momento atual (UTC)
         
         return Jwts.builder()
             // SUBJECT (sub) - identificador principal (ID do usuário)
-            .subject(user.getId().toString())  // "1234"
+            .subject(id.toString())  // "1234"
             
             // CLAIMS CUSTOMIZADOS - dados úteis para a aplicação
-            .claim("email", user.getEmail())   // "user@example.com"
-            .claim("name", user.getName())     // "João Silva"
+            .claim("email", email)   // "user@example.com"
+            .claim("name", name)     // "João Silva"
+            .claim(ROLES_CLAIM, authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList())           // ["ROLE_USER"]
             
             // ISSUER (iss) - quem emitiu o token
             .issuer(issuer)  // "https://meuapp.com"
@@ -178,37 +250,73 @@ public class JwtService {
     }
 
     /**
-     * EXTRAIR USER ID DO TOKEN JWT
+     * VALIDAR TOKEN E EXTRAIR CLAIMS
      * 
-     * Decodifica token e extrai o subject (ID do usuário).
+     * Decodifica o token e devolve os claims que a aplicação usa.
      * 
      * PROCESSO:
-     * 1. Parser verifica assinatura com nossa chave
+     * 1. Parser (compartilhado) verifica assinatura com nossa chave
      * 2. Se válida, extrai payload
-     * 3. Pega subject e converte para Long
+     * 3. Copia sub/email/name/roles/iat/exp para um record imutável
      * 
      * VALIDAÇÕES AUTOMÁTICAS:
      * - Assinatura válida
      * - Token não expirado
      * - Formato correto
      * 
+     * Com o cache habilitado, um token já verificado (e ainda não expirado)
+     * é respondido direto do cache, sem repetir a verificação.
+     * 
      * @param jwt Token JWT recebido do cliente
-     * @return Long ID do usuário
+     * @return VerifiedToken claims já validados
      * @throws JwtException se token inválido/expirado
      */
-    public Long subjectToUserId(String jwt){
-        // PARSER COM VALIDAÇÃO
-        var jws = Jwts.parser()
-            .verifyWith(key)        // Verifica assinatura com nossa chave
-            .build()                // Constrói parser
-            .parseSignedClaims(jwt); // Decodifica e valida token
+    public VerifiedToken verify(String jwt){
+        if (verifiedCache == null) {
+            return parse(jwt);
+        }
+
+        var cached = verifiedCache.get(jwt);
+        if (cached != null) {
+            return cached;  // Hit: sem Base64/JSON/HMAC
+        }
+
+        var verified = parse(jwt);
+        verifiedCache.put(jwt, verified);
+        return verified;
+    }
+
+    /**
+     * VERIFICAÇÃO COMPLETA (assinatura + expiração + claims)
+     */
+    private VerifiedToken parse(String jwt) {
+        // PARSER COM VALIDAÇÃO (pré-construído no construtor)
+        var claims = parser.parseSignedClaims(jwt).getPayload(); // Decodifica e valida token
         //  ↑
         // JWS = JSON Web Signature (JWT assinado)
 
-        // EXTRAIR SUBJECT E CONVERTER PARA ID
-        return Long.valueOf(jws.getPayload().getSubject());
-        //                  ↑             ↑
-        //              Payload      Subject claim
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return new VerifiedToken(
+            Long.valueOf(claims.getSubject()),           // sub → ID do usuário
+            claims.get("email", String.class),
+            claims.get("name", String.class),
+            roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+            claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+            claims.getExpiration().toInstant()
+        );
+    }
+
+    /**
+     * EXTRAIR USER ID DO TOKEN JWT
+     * 
+     * Atalho para verify(jwt).userId().
+     * 
+     * @param jwt Token JWT recebido do cliente
+     * @return Long ID do usuário
+     * @throws JwtException se token inválido/expirado
+     */
+    public Long subjectToUserId(String jwt){
+        return verify(jwt).userId();
     }
     
     /*
@@ -216,7 +324,7 @@ public class JwtService {
      * 
      * public boolean isTokenValid(String jwt) {
      *     try {
-     *         Jwts.parser().verifyWith(key).build().parseSignedClaims(jwt);
+     *         parser.parseSignedClaims(jwt);
      *         return true;
      *     } catch (JwtException e) {
      *         return false;
@@ -224,11 +332,7 @@ public class JwtService {
      * }
      * 
      * public Claims extractClaims(String jwt) {
-     *     return Jwts.parser()
-     *         .verifyWith(key)
-     *         .build()
-     *         .parseSignedClaims(jwt)
-     *         .getPayload();
+     *     return parser.parseSignedClaims(jwt).getPayload();
      * }
      * 
      * public String extractEmail(String jwt) {
@@ -243,17 +347,6 @@ public class JwtService {
      *     return extractClaims(jwt).getExpiration().before(new Date());
      * }
      * 
-     * public String createRefreshToken(User user) {
-     *     Instant now = Instant.now();
-     *     return Jwts.builder()
-     *         .subject(user.getId().toString())
-     *         .issuer(issuer)
-     *         .issuedAt(Date.from(now))
-     *         .expiration(Date.from(now.plusDays(30))) // 30 dias
-     *         .signWith(key, Jwts.SIG.HS256)
-     *         .compact();
-     * }
-     * 
      * CONFIGURAÇÃO RECOMENDADA (application.yml):
      * 
      * app:
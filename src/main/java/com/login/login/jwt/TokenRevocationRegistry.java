@@ -0,0 +1,97 @@
+// Pacote jwt - componentes relacionados a autenticação JWT
+package com.login.login.jwt;
+
+// Importações Java
+import java.time.Duration;                            // Janela de retenção das revogações
+import java.time.Instant;                             // Momento da revogação (UTC)
+import java.time.temporal.ChronoUnit;                 // Truncar para segundos (precisão do "iat")
+import java.util.concurrent.ConcurrentHashMap;        // Mapa thread-safe sem lock global
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;  // Injeção de configuração
+import org.springframework.context.event.EventListener;     // Escuta eventos da aplicação
+import org.springframework.stereotype.Component;            // Componente gerenciado pelo Spring
+
+// Importação do evento de invalidação
+import com.login.login.service.UserSessionsInvalidatedEvent;
+
+/**
+ * REGISTRO DE REVOGAÇÃO DE ACCESS TOKENS (VIDA CURTA)
+ *
+ * Substitui a consulta ao banco no modo "claims-trusted" do filtro JWT.
+ *
+ * COMO FUNCIONA:
+ * - Ao invalidar as sessões de um usuário, guardamos "userId → instante"
+ * - Todo token daquele usuário emitido até esse instante passa a ser recusado
+ * - Tokens emitidos depois (novo login) continuam válidos
+ *
+ * POR QUE "VIDA CURTA":
+ * - Um access token vive no máximo app.jwt.access-token.ttl-min
+ * - Depois desse prazo, qualquer token antigo já expirou sozinho
+ * - Então a entrada pode ser descartada → o mapa não cresce indefinidamente
+ *
+ * LIMITAÇÃO: estado em memória, por instância. Em cluster, cada nó precisa
+ * receber o evento (ou usar um store compartilhado).
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    /**
+     * userId → instante (truncado em segundos) da última revogação
+     */
+    private final ConcurrentHashMap<Long, Instant> revokedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Por quanto tempo uma revogação precisa ser lembrada (= TTL do access token)
+     */
+    private final Duration retention;
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param accessTtlMin TTL do access token em minutos (mesma config do JwtService)
+     */
+    public TokenRevocationRegistry(@Value("${app.jwt.access-token.ttl-min}") Long accessTtlMin) {
+        this.retention = Duration.ofMinutes(accessTtlMin);
+    }
+
+    /**
+     * REVOGAR TODOS OS TOKENS JÁ EMITIDOS PARA O USUÁRIO
+     *
+     * O "iat" do JWT tem precisão de segundos, então tokens emitidos no mesmo
+     * segundo da revogação também são recusados (o usuário faz login de novo).
+     *
+     * @param userId ID do usuário
+     */
+    public void revokeAll(Long userId) {
+        var now = Instant.now();
+        revokedAt.put(userId, now.truncatedTo(ChronoUnit.SECONDS));
+
+        // LIMPEZA: revogações mais antigas que o TTL não afetam mais nenhum token válido
+        var cutoff = now.minus(retention);
+        revokedAt.values().removeIf(t -> t.isBefore(cutoff));
+    }
+
+    /**
+     * O TOKEN FOI REVOGADO?
+     *
+     * @param userId ID do usuário (claim "sub")
+     * @param issuedAt Emissão do token (claim "iat"); null = tratado como revogado se houver entrada
+     * @return true se o token foi emitido até o instante da última revogação
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        var revoked = revokedAt.get(userId);
+        if (revoked == null) {
+            return false;  // Caminho comum: nenhuma revogação para o usuário
+        }
+        return issuedAt == null || !issuedAt.isAfter(revoked);
+    }
+
+    /**
+     * ESCUTAR INVALIDAÇÃO DE SESSÕES (senha redefinida, etc.)
+     */
+    @EventListener
+    public void onSessionsInvalidated(UserSessionsInvalidatedEvent event) {
+        revokeAll(event.userId());
+    }
+}
@@ -0,0 +1,30 @@
+// Pacote jwt - componentes relacionados a autenticação JWT
+package com.login.login.jwt;
+
+// Importações Java
+import java.time.Instant;  // Timestamps iat/exp (UTC)
+import java.util.List;     // Roles do usuário
+
+/**
+ * CLAIMS DE UM ACCESS TOKEN JÁ VALIDADO
+ *
+ * Resultado de JwtService.verify(): assinatura e expiração já conferidas.
+ *
+ * CAMPOS:
+ * - userId: claim "sub" convertido para Long
+ * - email / name: claims customizados gravados em createAcessToken
+ * - roles: claim "roles" (ex: ["ROLE_USER"])
+ * - issuedAt: claim "iat" (usado na checagem de revogação)
+ * - expiresAt: claim "exp"
+ *
+ * Record imutável → seguro para compartilhar entre threads.
+ */
+public record VerifiedToken(
+    Long userId,
+    String email,
+    String name,
+    List<String> roles,
+    Instant issuedAt,
+    Instant expiresAt
+) {
+}
@@ -0,0 +1,124 @@
+// Pacote jwt - componentes relacionados a autenticação JWT
+package com.login.login.jwt;
+
+// Importações Java
+import java.time.Duration;  // Tempo restante até o "exp"
+import java.time.Instant;   // Momento atual (UTC)
+
+// Importações Caffeine (cache em memória)
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;                     // Injeção de configuração
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Bean opcional (opt-in)
+import org.springframework.stereotype.Component;                               // Componente gerenciado pelo Spring
+
+/**
+ * CACHE DE TOKENS JÁ VERIFICADOS (OPT-IN)
+ *
+ * O navegador envia o mesmo cookie ACCESS_TOKEN dezenas de vezes durante
+ * a vida do token. Sem cache, cada requisição refaz Base64 + JSON + HMAC.
+ * Com cache, uma requisição repetida custa uma busca em hash.
+ *
+ * COMO FUNCIONA:
+ * - Chave: segmento de assinatura do JWT (já é um digest HMAC-SHA256 de
+ *   header+payload → compacto e único por token, sem hash extra)
+ * - Valor: token completo + claims verificados (VerifiedToken)
+ * - No hit, o token completo é comparado → um token forjado que copie a
+ *   assinatura de outro nunca reaproveita a entrada
+ * - Cada entrada expira no "exp" do próprio token
+ * - Limitado em tamanho (app.jwt.verified-cache.max-size)
+ *
+ * SÓ EXISTE QUANDO app.jwt.verified-cache.enabled=true.
+ *
+ * OBS: revogação continua sendo checada pelo filtro depois do verify(),
+ * então o cache não prolonga a vida de um token revogado.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.verified-cache.enabled", havingValue = "true")
+public class VerifiedTokenCache {
+
+    /**
+     * Entrada do cache: token completo (para comparar no hit) + claims
+     */
+    private record Entry(String token, VerifiedToken claims) {
+    }
+
+    private final Cache<String, Entry> cache;
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param maxSize Número máximo de tokens em memória
+     */
+    public VerifiedTokenCache(@Value("${app.jwt.verified-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)           // Limite de entradas
+            .expireAfter(new ExpireAtExp()) // Cada entrada morre no "exp" do token
+            .build();
+    }
+
+    /**
+     * BUSCAR CLAIMS DE UM TOKEN JÁ VERIFICADO
+     *
+     * @param jwt Token recebido do cliente
+     * @return VerifiedToken ou null se não estiver no cache (ou já expirou)
+     */
+    public VerifiedToken get(String jwt) {
+        var entry = cache.getIfPresent(keyOf(jwt));
+        if (entry == null || !entry.token().equals(jwt)) {
+            return null;  // Miss ou colisão de assinatura → verificação completa
+        }
+        return entry.claims();
+    }
+
+    /**
+     * GUARDAR CLAIMS DE UM TOKEN RECÉM-VERIFICADO
+     *
+     * @param jwt Token que passou pela verificação completa
+     * @param claims Claims extraídos
+     */
+    public void put(String jwt, VerifiedToken claims) {
+        cache.put(keyOf(jwt), new Entry(jwt, claims));
+    }
+
+    /**
+     * Número aproximado de tokens em cache
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * CHAVE = SEGMENTO DE ASSINATURA (após o último ".")
+     *
+     * substring não copia mais do que ~43 caracteres (HS256 em Base64URL)
+     */
+    private static String keyOf(String jwt) {
+        return jwt.substring(jwt.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * POLÍTICA DE EXPIRAÇÃO: ATÉ O "exp" DO TOKEN
+     */
+    private static final class ExpireAtExp implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            var remaining = Duration.between(Instant.now(), value.claims().expiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);  // Novo token → novo "exp"
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;  // Leitura não prolonga a vida
+        }
+    }
+}
@@ -0,0 +1,212 @@
+// Pacote mail - serviços relacionados ao envio de emails
+package com.login.login.mail;
+
+// Importações Java
+import java.time.Duration;  // Backoff entre tentativas
+import java.time.Instant;   // Timestamps UTC
+import java.util.List;      // Lotes de emails
+import java.util.Locale;    // Idioma do destinatário
+import java.util.UUID;      // Identificador do lote reivindicado
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;  // Injeção de configuração
+import org.springframework.data.domain.PageRequest;         // LIMIT do lote
+import org.springframework.stereotype.Service;              // Componente de serviço
+
+// Importações das nossas classes
+import com.login.login.domain.PendingMail;
+import com.login.login.repo.PendingMailRepository;
+
+// Importação de transação
+import jakarta.transaction.Transactional;  // Controle de transações de banco
+
+/**
+ * OUTBOX DE EMAILS (FILA PERSISTENTE)
+ * 
+ * Desacopla "decidir mandar um email" de "falar com o servidor SMTP".
+ * 
+ * QUEM USA:
+ * - PasswordResetService → enqueuePasswordReset (dentro da transação do pedido)
+ * - MailOutboxDispatcher → claimBatch / markSent / markFailed (em background)
+ * 
+ * POR QUE:
+ * - SMTP dentro da transação segura uma conexão do Hikari e a thread do
+ *   Tomcat durante todo o handshake
+ * - Com relay lento e muitos pedidos de reset, os pools esgotam
+ * - Com a outbox, o pedido só faz um INSERT e retorna
+ * 
+ * RETRY: backoff exponencial (base × 2^(tentativas-1), limitado a backoff-max)
+ * até max-attempts; depois disso a linha fica FAILED para análise.
+ * 
+ * SENT/FAILED: payload (token de reset) apagado na hora; a linha é removida
+ * depois da retenção pelo MailOutboxReaper (purgeBatch).
+ */
+@Service  // Componente Spring gerenciado pelo container de IoC
+public class MailOutbox {
+
+    /**
+     * Estados finais (nada mais a enviar)
+     */
+    private static final List<PendingMail.Status> FINISHED = List.of(PendingMail.Status.SENT, PendingMail.Status.FAILED);
+
+    private final PendingMailRepository pending;  // Acesso à tabela mail_outbox
+
+    private final int batchSize;         // Emails por lote
+    private final int maxAttempts;       // Tentativas antes de FAILED
+    private final Duration backoffBase;  // Espera após a 1ª falha
+    private final Duration backoffMax;   // Teto da espera
+    private final Duration staleAfter;   // SENDING há mais tempo que isso → volta para PENDING
+
+    /**
+     * CONSTRUTOR COM INJEÇÃO DE DEPENDÊNCIA
+     * 
+     * @param pending Repositório da outbox
+     * @param batchSize app.mail.outbox.batch-size
+     * @param maxAttempts app.mail.outbox.max-attempts
+     * @param backoffBaseSeconds app.mail.outbox.backoff-base-seconds
+     * @param backoffMaxSeconds app.mail.outbox.backoff-max-seconds
+     * @param staleAfterSeconds app.mail.outbox.stale-after-seconds
+     */
+    public MailOutbox(PendingMailRepository pending,
+                      @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                      @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+                      @Value("${app.mail.outbox.backoff-base-seconds:30}") long backoffBaseSeconds,
+                      @Value("${app.mail.outbox.backoff-max-seconds:3600}") long backoffMaxSeconds,
+                      @Value("${app.mail.outbox.stale-after-seconds:300}") long staleAfterSeconds) {
+        this.pending = pending;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = Duration.ofSeconds(backoffBaseSeconds);
+        this.backoffMax = Duration.ofSeconds(backoffMaxSeconds);
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+    }
+
+    /**
+     * ENFILEIRAR EMAIL DE RESET DE SENHA
+     * 
+     * Participa da transação de quem chama: se o pedido der rollback,
+     * o email também não existe.
+     * 
+     * @param to Destinatário
+     * @param token Token de reset
+     * @param locale Idioma de quem pediu
+     */
+    @Transactional
+    public void enqueuePasswordReset(String to, String token, Locale locale) {
+        var now = Instant.now();
+        pending.save(PendingMail.builder()
+            .kind(PendingMail.Kind.PASSWORD_RESET)
+            .recipient(to)
+            .payload(token)
+            .locale(locale == null ? null : locale.toLanguageTag())
+            .nextAttemptAt(now)  // Pronto para envio imediato
+            .createdAt(now)
+            .build());
+    }
+
+    /**
+     * REIVINDICAR PRÓXIMO LOTE
+     * 
+     * 1. Devolve à fila linhas presas em SENDING (dispatcher que morreu)
+     * 2. Busca até batch-size IDs prontos
+     * 3. UPDATE condicional PENDING → SENDING com um claimToken novo
+     * 4. Retorna só as linhas que este lote realmente ganhou
+     * 
+     * @return List<PendingMail> emails a enviar (vazia se nada pendente)
+     */
+    @Transactional
+    public List<PendingMail> claimBatch() {
+        var now = Instant.now();
+        pending.requeueStale(now.minus(staleAfter), PendingMail.Status.SENDING, PendingMail.Status.PENDING);
+
+        var ids = pending.findDueIds(PendingMail.Status.PENDING, now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return List.of();  // Caminho comum: fila vazia, 1 SELECT
+        }
+
+        var claimToken = UUID.randomUUID().toString();
+        pending.claim(ids, claimToken, now, PendingMail.Status.PENDING, PendingMail.Status.SENDING);
+        return pending.findByClaimToken(claimToken);
+    }
+
+    /**
+     * MARCAR COMO ENTREGUE
+     * 
+     * @param id ID do email
+     */
+    @Transactional
+    public void markSent(Long id) {
+        pending.findById(id).ifPresent(m -> {
+            m.setStatus(PendingMail.Status.SENT);
+            m.setSentAt(Instant.now());
+            m.setAttempts(m.getAttempts() + 1);
+            m.setClaimToken(null);
+            m.setLastError(null);
+            m.setPayload(null);  // Token já entregue → não fica guardado
+            pending.save(m);
+        });
+    }
+
+    /**
+     * REGISTRAR FALHA (NOVA TENTATIVA COM BACKOFF OU FAILED)
+     * 
+     * @param id ID do email
+     * @param error Erro do envio
+     */
+    @Transactional
+    public void markFailed(Long id, Exception error) {
+        pending.findById(id).ifPresent(m -> {
+            int attempts = m.getAttempts() + 1;
+            m.setAttempts(attempts);
+            m.setClaimToken(null);
+            m.setLastError(summarize(error));
+
+            if (attempts >= maxAttempts) {
+                m.setStatus(PendingMail.Status.FAILED);  // Desiste
+                m.setPayload(null);                      // Sem nova tentativa → token não é mais necessário
+            } else {
+                m.setStatus(PendingMail.Status.PENDING);
+                m.setNextAttemptAt(Instant.now().plus(backoffFor(attempts)));
+            }
+            pending.save(m);
+        });
+    }
+
+    /**
+     * APAGAR UM LOTE DE EMAILS FINALIZADOS (SENT/FAILED) ANTES DO CORTE
+     * 
+     * Chamado em loop pelo MailOutboxReaper; cada lote é uma transação
+     * curta (SELECT de IDs + um DELETE ... WHERE id IN).
+     * 
+     * @param cutoff Criados antes disso (agora - retenção)
+     * @param batchSize Máximo de linhas neste lote
+     * @return int linhas apagadas (menor que batchSize = nada mais a apagar)
+     */
+    @Transactional
+    public int purgeBatch(Instant cutoff, int batchSize) {
+        var ids = pending.findFinishedIds(FINISHED, cutoff, PageRequest.of(0, batchSize));
+        return ids.isEmpty() ? 0 : pending.deleteByIdIn(ids);
+    }
+
+    /**
+     * ESPERA ANTES DA PRÓXIMA TENTATIVA
+     * 
+     * tentativas: 1 → base, 2 → 2×base, 3 → 4×base ... (limitado a backoff-max)
+     * 
+     * @param attempts Tentativas já feitas (≥ 1)
+     * @return Duration espera
+     */
+    Duration backoffFor(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);  // Evita overflow
+        var delay = backoffBase.multipliedBy(1L << shift);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    /**
+     * RESUMIR ERRO PARA A COLUNA last_error (máx. 500 caracteres)
+     */
+    private static String summarize(Exception error) {
+        var text = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return text.length() > 500 ? text.substring(0, 500) : text;
+    }
+}
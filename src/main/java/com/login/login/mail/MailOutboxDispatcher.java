@@ -0,0 +1,166 @@
+// Pacote mail - serviços relacionados ao envio de emails
+package com.login.login.mail;
+
+// Importações Java
+import java.util.ArrayList;                   // Partes do lote
+import java.util.List;                        // Visões do lote
+import java.util.Locale;                      // Idioma do destinatário
+import java.util.concurrent.ExecutorService;  // Executor dos envios
+import java.util.concurrent.Executors;        // Fábrica de executores (threads de plataforma)
+import java.util.concurrent.Future;           // Resultado de cada envio
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.scheduling.annotation.Scheduled;  // Execução periódica
+import org.springframework.stereotype.Component;             // Componente gerenciado pelo Spring
+
+// Importação da entidade
+import com.login.login.domain.PendingMail;
+
+// Importações Jakarta
+import jakarta.annotation.PreDestroy;      // Fecha o executor no shutdown
+import jakarta.mail.internet.MimeMessage;  // Mensagem pronta
+
+/**
+ * DISPATCHER DA OUTBOX DE EMAILS (BACKGROUND)
+ * 
+ * A cada app.mail.outbox.poll-ms:
+ * 1. Reivindica um lote (MailOutbox.claimBatch)
+ * 2. Divide o lote entre as conexões do SmtpTransportPool; cada parte
+ *    vai numa thread "smtp-" (uma por conexão) por uma só conexão
+ * 3. Marca SENT ou agenda nova tentativa com backoff
+ * 
+ * fixedDelay → a próxima rodada só começa depois que o lote atual termina,
+ * então a concorrência máxima por instância é app.mail.pool.size.
+ * 
+ * Nenhuma thread do Tomcat nem conexão de requisição fica presa no SMTP.
+ * 
+ * THREADS DE PLATAFORMA, NÃO VIRTUAIS:
+ * SMTPTransport.sendMessage (Jakarta Mail) é synchronized e faz I/O de
+ * socket lá dentro → em virtual thread prenderia a carrier thread (pinning)
+ * durante todo o envio, roubando carriers das requisições quando o Tomcat
+ * roda em virtual threads (spring.threads.virtual.enabled). Cada lote usa
+ * no máximo mail.connections() threads, reaproveitadas entre lotes
+ * (cached pool) → poucas threads de plataforma, criadas uma vez.
+ */
+@Component
+public class MailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final MailOutbox outbox;  // Fila persistente
+    private final MailService mail;   // Envio SMTP propriamente dito
+
+    /**
+     * Threads de plataforma para o SMTP (ver acima: sem pinning)
+     */
+    private final ExecutorService executor;
+
+    /**
+     * CONSTRUTOR COM INJEÇÃO DE DEPENDÊNCIA
+     * 
+     * @param outbox Fila persistente de emails
+     * @param mail Serviço de envio SMTP
+     */
+    public MailOutboxDispatcher(MailOutbox outbox, MailService mail) {
+        this.outbox = outbox;
+        this.mail = mail;
+        this.executor = Executors.newCachedThreadPool(Thread.ofPlatform().name("smtp-", 0).daemon(true).factory());
+    }
+
+    /**
+     * DRENAR UM LOTE DA OUTBOX
+     * 
+     * O lote é dividido em até mail.connections() partes; cada parte vai
+     * numa thread "smtp-" e sai inteira por UMA conexão SMTP do pool.
+     * 
+     * @return int quantidade de emails processados (enviados ou com falha)
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:1000}")
+    public int dispatch() {
+        var batch = outbox.claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // MONTAR AS MENSAGENS (erro de montagem = falha só daquele email)
+        var ready = new ArrayList<PendingMail>(batch.size());
+        var messages = new ArrayList<MimeMessage>(batch.size());
+        for (var m : batch) {
+            try {
+                messages.add(build(m));
+                ready.add(m);
+            } catch (Exception e) {
+                outbox.markFailed(m.getId(), e);
+            }
+        }
+
+        // DIVIDIR EM PARTES (uma por conexão) E ENVIAR EM PARALELO
+        int parts = Math.max(1, Math.min(mail.connections(), ready.size()));
+        int chunk = (ready.size() + parts - 1) / parts;
+        var futures = new ArrayList<Future<?>>(parts);
+        for (int from = 0; from < ready.size(); from += chunk) {
+            int to = Math.min(from + chunk, ready.size());
+            var mails = ready.subList(from, to);
+            var msgs = messages.subList(from, to);
+            futures.add(executor.submit(() -> deliver(mails, msgs)));
+        }
+
+        // ESPERAR O LOTE TERMINAR (cada tarefa já trata as próprias falhas)
+        for (var f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;  // Shutdown: linhas SENDING voltam à fila via stale-after
+            } catch (Exception e) {
+                log.warn("Falha inesperada no dispatcher de emails", e);
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * MONTAR MENSAGEM CONFORME O TIPO
+     */
+    private MimeMessage build(PendingMail m) {
+        return switch (m.getKind()) {
+            case PASSWORD_RESET -> mail.buildResetEmail(m.getRecipient(), m.getPayload(), locale(m));
+        };
+    }
+
+    /**
+     * IDIOMA CAPTURADO NA REQUISIÇÃO (null = padrão do template)
+     */
+    private static Locale locale(PendingMail m) {
+        return m.getLocale() == null ? null : Locale.forLanguageTag(m.getLocale());
+    }
+
+    /**
+     * ENVIAR UMA PARTE DO LOTE (MESMA CONEXÃO) E REGISTRAR OS RESULTADOS
+     */
+    private void deliver(List<PendingMail> mails, List<MimeMessage> messages) {
+        var results = mail.sendAll(messages);
+        for (int i = 0; i < results.length; i++) {
+            var m = mails.get(i);
+            if (results[i] == null) {
+                outbox.markSent(m.getId());
+            } else {
+                log.warn("Falha ao enviar email {} (tentativa {}): {}", m.getId(), m.getAttempts() + 1,
+                         results[i].getMessage());
+                outbox.markFailed(m.getId(), results[i]);
+            }
+        }
+    }
+
+    /**
+     * FECHAR EXECUTOR NO SHUTDOWN
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,118 @@
+// Pacote mail - serviços relacionados ao envio de emails
+package com.login.login.mail;
+
+// Importações Java
+import java.time.Duration;                          // Retenção e tempo gasto
+import java.time.Instant;                           // Momento de referência da limpeza
+import java.util.concurrent.atomic.AtomicReference; // Última execução
+import java.util.concurrent.atomic.LongAdder;       // Total apagado
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;   // Injeção de configuração
+import org.springframework.scheduling.annotation.Scheduled;  // Execução periódica
+import org.springframework.stereotype.Component;             // Componente gerenciado pelo Spring
+
+/**
+ * LIMPEZA PERIÓDICA DA OUTBOX DE EMAILS
+ *
+ * Linhas SENT e FAILED não voltam mais para a fila, mas ficavam na tabela
+ * mail_outbox para sempre (junto com os índices de lote).
+ *
+ * A cada app.mail.outbox-reaper.interval-ms:
+ * - Apaga linhas SENT/FAILED criadas há mais de retention-days em lotes de
+ *   batch-size linhas (MailOutbox.purgeBatch: um DELETE por lote)
+ * - Repete enquanto os lotes vierem cheios, até max-batches por execução
+ * - Registra linhas apagadas e tempo gasto (log + lastRun/totalPurged)
+ *
+ * A retenção deixa um tempo para investigar FAILED (last_error); o token
+ * em si já foi apagado quando a linha chegou nesse estado.
+ */
+@Component
+public class MailOutboxReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxReaper.class);
+
+    private final MailOutbox outbox;
+    private final Duration retention;  // Idade mínima para apagar
+    private final int batchSize;       // Linhas por DELETE
+    private final int maxBatches;      // Lotes por execução
+
+    private final LongAdder totalPurged = new LongAdder();
+    private final AtomicReference<Result> lastRun = new AtomicReference<>();
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param outbox Outbox que apaga cada lote (transacional)
+     * @param retentionDays app.mail.outbox-reaper.retention-days
+     * @param batchSize app.mail.outbox-reaper.batch-size
+     * @param maxBatches app.mail.outbox-reaper.max-batches
+     */
+    public MailOutboxReaper(MailOutbox outbox,
+                            @Value("${app.mail.outbox-reaper.retention-days:7}") long retentionDays,
+                            @Value("${app.mail.outbox-reaper.batch-size:500}") int batchSize,
+                            @Value("${app.mail.outbox-reaper.max-batches:100}") int maxBatches) {
+        this.outbox = outbox;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * EXECUTAR UMA LIMPEZA
+     *
+     * @return Result linhas apagadas, lotes e tempo gasto
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox-reaper.interval-ms:3600000}",
+               initialDelayString = "${app.mail.outbox-reaper.initial-delay-ms:60000}")
+    public Result purge() {
+        long start = System.nanoTime();
+        var cutoff = Instant.now().minus(retention);  // Mesmo corte para todos os lotes
+
+        long purged = 0;
+        int batches = 0;
+        int deleted;
+        do {
+            deleted = outbox.purgeBatch(cutoff, batchSize);
+            purged += deleted;
+            batches++;
+        } while (deleted == batchSize && batches < maxBatches);  // Lote cheio → pode haver mais
+
+        var result = new Result(purged, batches, Duration.ofNanos(System.nanoTime() - start));
+        totalPurged.add(purged);
+        lastRun.set(result);
+        if (purged > 0) {
+            log.info("Emails finalizados removidos da outbox: {} em {} lote(s), {} ms",
+                purged, batches, result.elapsed().toMillis());
+        }
+        return result;
+    }
+
+    /**
+     * Linhas apagadas desde o início da aplicação
+     */
+    public long totalPurged() {
+        return totalPurged.sum();
+    }
+
+    /**
+     * Resultado da última execução (null se ainda não rodou)
+     */
+    public Result lastRun() {
+        return lastRun.get();
+    }
+
+    /**
+     * RESULTADO DE UMA EXECUÇÃO
+     *
+     * @param purged Linhas apagadas
+     * @param batches Lotes executados
+     * @param elapsed Tempo total
+     */
+    public record Result(long purged, int batches, Duration elapsed) {
+    }
+}
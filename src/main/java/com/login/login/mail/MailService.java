@@ -1,6 +1,11 @@
 // Pacote mail - serviços relacionados ao envio de emails
 package com.login.login.mail;
 
+// Importações Java
+import java.util.Arrays;  // Preencher resultados do lote
+import java.util.List;    // Lotes de mensagens
+import java.util.Locale;  // Idioma do destinatário
+
 // Importações Spring Mail
 import org.springframework.mail.javamail.JavaMailSender;    // Interface principal para envio de emails
 import org.springframework.mail.javamail.MimeMessageHelper; // Helper para construir emails MIME
@@ -8,6 +13,11 @@ import org.springframework.stereotype.Service;              // Marca como compon
 
 // Importações Jakarta Mail (novo nome do javax.mail)
 import jakarta.mail.MessagingException;  // Exceção para problemas de email
+import jakarta.mail.internet.MimeMessage;  // Mensagem MIME pronta
+
+// Importações Spring para injeção
+import org.springframework.beans.factory.annotation.Autowired;  // Construtor usado pelo Spring
+import org.springframework.lang.Nullable;                       // Dependência opcional
 
 // Importação Spring para configuração
 import org.springframework.beans.factory.annotation.Value;  // Injeta valores de configuração
@@ -51,7 +61,7 @@ public class MailService {
      * JavaMailSender - interface do Spring que abstrai JavaMail API
      * - Configuração automática via Spring Boot
      * - Suporte a SMTP, autenticação, TLS/SSL
-     * - Pool de conexões automático
+     * - Abre uma conexão SMTP por envio (reuso fica no SmtpTransportPool)
      * 
      * Implementações disponíveis:
      * - JavaMailSenderImpl (padrão do Spring)
@@ -59,6 +69,19 @@ public class MailService {
      */
     private final JavaMailSender sender;
 
+    /**
+     * POOL DE CONEXÕES SMTP PERSISTENTES (OPCIONAL)
+     * 
+     * Com pool: mensagens saem por conexões já autenticadas e reaproveitadas.
+     * Sem pool (testes com JavaMailSender mockado): sender.send, uma conexão por email.
+     */
+    private final SmtpTransportPool pool;
+
+    /**
+     * TEMPLATES PRÉ-COMPILADOS (pt/en/fr, texto + HTML)
+     */
+    private final MailTemplates templates;
+
     /**
      * CONFIGURAÇÃO DE URL BASE
      * 
@@ -84,9 +107,23 @@ public class MailService {
      * Configuração vem do spring.mail.* no application.yml
      * 
      * @param sender JavaMailSender configurado pelo Spring Boot
+     * @param templates Templates de email pré-compilados
+     * @param pool Pool de conexões SMTP (null = sender.send direto)
      */
-    public MailService(JavaMailSender sender) {
+    @Autowired
+    public MailService(JavaMailSender sender, MailTemplates templates, @Nullable SmtpTransportPool pool) {
         this.sender = sender;
+        this.templates = templates;
+        this.pool = pool;
+    }
+
+    /**
+     * CONSTRUTOR SEM POOL (envio direto pelo JavaMailSender)
+     * 
+     * @param sender JavaMailSender
+     */
+    public MailService(JavaMailSender sender) {
+        this(sender, new MailTemplates(), null);
     }
 
     /**
@@ -95,16 +132,55 @@ public class MailService {
      * Constrói e envia email com link para redefinir senha.
      * 
      * FLUXO:
-     * 1. Monta URL completa com token
-     * 2. Cria mensagem MIME  
-     * 3. Define destinatário, assunto e conteúdo
-     * 4. Envia email via SMTP
+     * 1. Monta a mensagem (buildResetEmail)
+     * 2. Envia pelo pool de conexões (ou JavaMailSender, sem pool)
      * 
      * @param to Email do destinatário
      * @param token Token único de reset gerado pelo sistema
      * @throws IllegalStateException se falhar ao enviar email
      */
     public void sendResetEmail(String to, String token){
+        var message = buildResetEmail(to, token);
+
+        if (pool == null) {
+            sender.send(message);  // Uma conexão SMTP por email
+            return;
+        }
+
+        var error = sendAll(List.of(message))[0];
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * MONTAR EMAIL DE RESET DE SENHA NO IDIOMA PADRÃO (pt)
+     * 
+     * @param to Email do destinatário
+     * @param token Token único de reset gerado pelo sistema
+     * @return MimeMessage pronta para envio
+     */
+    public MimeMessage buildResetEmail(String to, String token){
+        return buildResetEmail(to, token, null);
+    }
+
+    /**
+     * MONTAR EMAIL DE RESET DE SENHA (SEM ENVIAR)
+     * 
+     * Separado do envio para que o MailOutboxDispatcher monte o lote inteiro
+     * e mande tudo pela mesma conexão.
+     * 
+     * CORPO: template pré-compilado (MailTemplates) no idioma do usuário,
+     * multipart texto + HTML. Por mensagem, só o link é inserido — um único
+     * StringBuilder é reaproveitado para as duas versões.
+     * 
+     * @param to Email do destinatário
+     * @param token Token único de reset gerado pelo sistema
+     * @param locale Idioma de quem pediu (null = pt)
+     * @return MimeMessage pronta para envio
+     * @throws IllegalStateException se o endereço for inválido
+     */
+    public MimeMessage buildResetEmail(String to, String token, Locale locale){
         // CONSTRUIR URL COMPLETA DO LINK DE RESET
         var link = baseUrl + "/auth/reset/" + token;
         //    ↑         ↑                ↑
@@ -112,48 +188,88 @@ public class MailService {
         //
         // Exemplo: "https://meuapp.com/auth/reset/a1b2c3d4-e5f6-7890"
 
-        // CRIAR HELPER PARA CONSTRUIR EMAIL MIME  
-        var helper = new MimeMessageHelper(sender.createMimeMessage());
-        //            ↑                    ↑
-        //       Helper p/ facilitar   Cria mensagem vazia
-        //
-        // MimeMessageHelper facilita:
-        // - Definir remetente, destinatário, assunto
-        // - Texto simples ou HTML
-        // - Anexos e imagens inline
-        // - Codificação de caracteres
+        // TEMPLATE JÁ COMPILADO NO IDIOMA DO USUÁRIO
+        var template = templates.get(MailTemplates.RESET, locale);
+
+        // RENDERIZAR TEXTO E HTML NO MESMO BUFFER
+        var buffer = new StringBuilder(template.capacityFor(link));
+        template.renderText(buffer, link);
+        var text = buffer.toString();
+        buffer.setLength(0);  // Reaproveita a mesma capacidade para o HTML
+        template.renderHtml(buffer, link);
+        var html = buffer.toString();
 
         try{
+            // CRIAR HELPER MULTIPART (texto + HTML) EM UTF-8
+            var helper = new MimeMessageHelper(sender.createMimeMessage(), true, "UTF-8");
+            //            ↑                                                  ↑
+            //       Helper p/ facilitar                           true = multipart/alternative
+            
             // CONFIGURAR DESTINATÁRIO
             helper.setTo(to);  // Email de quem vai receber
             
             // CONFIGURAR ASSUNTO
-            helper.setSubject("Redefinição de senha");  // Assunto do email
+            helper.setSubject(template.subject());  // Assunto traduzido
             
             // CONFIGURAR CONTEÚDO DO EMAIL
-            helper.setText(String.format("""
-                Olá,
-                para redefinir sua senha, clique no link abaixo:
-                %s
-                Se você não solicitou a redefinição de senha, ignore este e-mail.
-                (válido por 30 minutos)
-                    """, link), false);
-            //              ↑      ↑
-            //        Text block   false = texto simples (não HTML)
-            //        (Java 15+)   true = HTML content
+            helper.setText(text, html);
+            //             ↑     ↑
+            //   Clientes só texto   Clientes com HTML
             
-            // ENVIAR EMAIL
-            sender.send(helper.getMimeMessage());
-            //     ↑    ↑
-            //   Envia  Pega mensagem montada pelo helper
+            return helper.getMimeMessage();
+            //            ↑
+            // Mensagem montada pelo helper
             
         } catch(MessagingException e){
-            // TRATAR ERROS DE ENVIO
+            // TRATAR ERROS DE MONTAGEM (ex: endereço inválido)
             throw new IllegalStateException(e);
             //    ↑
             // Converte checked exception em runtime exception
-            // Spring vai fazer rollback automático se estiver em @Transactional
+            // MailOutboxDispatcher captura e agenda nova tentativa (backoff)
+        }
+    }
+
+    /**
+     * ENVIAR LOTE DE MENSAGENS
+     * 
+     * Com pool: o lote inteiro vai pela mesma conexão SMTP (um handshake
+     * para N emails). Sem pool: sender.send para cada mensagem.
+     * 
+     * Uma mensagem com erro não impede o envio das demais.
+     * 
+     * @param messages Mensagens prontas (buildResetEmail)
+     * @return Exception[] mesmo tamanho do lote; null = enviada com sucesso
+     */
+    public Exception[] sendAll(List<MimeMessage> messages) {
+        if (pool != null) {
+            try {
+                return pool.sendBatch(messages);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                var results = new Exception[messages.size()];
+                Arrays.fill(results, e);  // Nada foi enviado
+                return results;
+            }
+        }
+
+        var results = new Exception[messages.size()];
+        for (int i = 0; i < results.length; i++) {
+            try {
+                sender.send(messages.get(i));
+            } catch (RuntimeException e) {
+                results[i] = e;
+            }
         }
+        return results;
+    }
+
+    /**
+     * QUANTOS LOTES PODEM SER ENVIADOS EM PARALELO
+     * 
+     * @return int tamanho do pool de conexões (1 sem pool)
+     */
+    public int connections() {
+        return pool == null ? 1 : pool.size();
     }
     
     /*
@@ -208,28 +324,7 @@ public class MailService {
      * 
      * MELHORIAS POSSÍVEIS:
      * 
-     * 1. Templates de email com Thymeleaf:
-     * @Autowired
-     * private TemplateEngine templateEngine;
-     * 
-     * public void sendTemplatedEmail(String to, String template, Map<String, Object> variables) {
-     *     Context context = new Context();
-     *     context.setVariables(variables);
-     *     String htmlContent = templateEngine.process(template, context);
-     *     sendHtmlEmail(to, "Assunto", htmlContent);
-     * }
-     * 
-     * 2. Queue de emails para performance:
-     * @Async
-     * public CompletableFuture<Void> sendEmailAsync(String to, String subject, String content) {
-     *     // enviar email em background
-     * }
-     * 
-     * 3. Retry automático em caso de falha:
-     * @Retryable(value = {MessagingException.class}, maxAttempts = 3)
-     * public void sendEmailWithRetry(...) { ... }
-     * 
-     * 4. Métricas e logging:
+     * 1. Métricas e logging:
      * @EventListener
      * public void handleEmailSent(EmailSentEvent event) {
      *     log.info("Email enviado para: {}", event.getTo());
@@ -0,0 +1,137 @@
+// Pacote mail - serviços relacionados ao envio de emails
+package com.login.login.mail;
+
+// Importações Java
+import java.util.ArrayList;  // Montagem dos segmentos (só no parse)
+
+/**
+ * TEMPLATE DE EMAIL PRÉ-COMPILADO
+ * 
+ * O texto é quebrado UMA vez (na carga) em segmentos fixos separados pelo
+ * placeholder {{link}}:
+ * 
+ *   "Olá,\n...abaixo:\n{{link}}\nSe você..."
+ *        ↓ compile
+ *   ["Olá,\n...abaixo:\n", "\nSe você..."]
+ * 
+ * Renderizar = append dos segmentos intercalados com o link num
+ * StringBuilder do chamador. Sem reparse de formato e sem strings
+ * temporárias por mensagem.
+ * 
+ * Imutável → compartilhado entre threads (inclusive virtual threads,
+ * por isso o buffer é do chamador e não um ThreadLocal).
+ */
+public final class MailTemplate {
+
+    /**
+     * Único placeholder suportado
+     */
+    static final String LINK_PLACEHOLDER = "{{link}}";
+
+    private final String subject;        // Assunto (linha "Subject:" do .txt)
+    private final String[] text;         // Segmentos da versão texto
+    private final String[] html;         // Segmentos da versão HTML
+    private final int fixedLength;       // Tamanho dos segmentos (dimensiona o buffer)
+    private final int linkSlots;         // Quantas vezes o link aparece
+
+    /**
+     * CONSTRUTOR (usado por MailTemplates na carga)
+     * 
+     * @param subject Assunto
+     * @param text Corpo texto com {{link}}
+     * @param html Corpo HTML com {{link}}
+     */
+    MailTemplate(String subject, String text, String html) {
+        this.subject = subject;
+        this.text = compile(text);
+        this.html = compile(html);
+        this.fixedLength = length(this.text) + length(this.html);
+        this.linkSlots = this.text.length - 1 + this.html.length - 1;
+    }
+
+    /**
+     * Assunto do email
+     */
+    public String subject() {
+        return subject;
+    }
+
+    /**
+     * CAPACIDADE SUGERIDA PARA O BUFFER (texto + HTML, sem realocação)
+     * 
+     * @param link Link a substituir
+     * @return int caracteres
+     */
+    public int capacityFor(String link) {
+        return fixedLength + linkSlots * (link.length() + 16);  // Folga para escapes HTML
+    }
+
+    /**
+     * RENDERIZAR VERSÃO TEXTO
+     * 
+     * @param out Buffer do chamador (reutilizável)
+     * @param link Link de reset
+     */
+    public void renderText(StringBuilder out, String link) {
+        var segments = text;
+        out.append(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            out.append(link).append(segments[i]);
+        }
+    }
+
+    /**
+     * RENDERIZAR VERSÃO HTML (link escapado)
+     * 
+     * @param out Buffer do chamador (reutilizável)
+     * @param link Link de reset
+     */
+    public void renderHtml(StringBuilder out, String link) {
+        var segments = html;
+        out.append(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            appendHtmlEscaped(out, link);
+            out.append(segments[i]);
+        }
+    }
+
+    /**
+     * QUEBRAR CORPO NOS PLACEHOLDERS (roda só na carga)
+     */
+    private static String[] compile(String body) {
+        var parts = new ArrayList<String>();
+        int from = 0;
+        int at;
+        while ((at = body.indexOf(LINK_PLACEHOLDER, from)) >= 0) {
+            parts.add(body.substring(from, at));
+            from = at + LINK_PLACEHOLDER.length();
+        }
+        parts.add(body.substring(from));
+        return parts.toArray(String[]::new);
+    }
+
+    private static int length(String[] segments) {
+        int total = 0;
+        for (var s : segments) {
+            total += s.length();
+        }
+        return total;
+    }
+
+    /**
+     * ESCAPE HTML CARACTERE A CARACTERE (sem String intermediária)
+     */
+    private static void appendHtmlEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
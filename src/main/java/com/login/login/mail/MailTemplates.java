@@ -0,0 +1,110 @@
+// Pacote mail - serviços relacionados ao envio de emails
+package com.login.login.mail;
+
+// Importações Java
+import java.io.IOException;                 // Erro ao ler template
+import java.io.InputStream;                 // Leitura do classpath
+import java.io.UncheckedIOException;        // Erro de leitura em runtime
+import java.nio.charset.StandardCharsets;   // Templates em UTF-8
+import java.util.HashMap;                   // Templates carregados
+import java.util.List;                      // Idiomas suportados
+import java.util.Locale;                    // Idioma do destinatário
+import java.util.Map;                       // Nome_idioma → template
+
+// Importações Spring
+import org.springframework.stereotype.Component;  // Componente gerenciado pelo Spring
+
+/**
+ * CATÁLOGO DE TEMPLATES DE EMAIL (CARREGADOS NA INICIALIZAÇÃO)
+ * 
+ * Arquivos em src/main/resources/mail/:
+ * - {nome}_{idioma}.txt  → 1ª linha "Subject: ...", depois o corpo texto
+ * - {nome}_{idioma}.html → corpo HTML
+ * 
+ * Idiomas: pt (padrão), en, fr — mesmos públicos do README, README_EN e README_FR.
+ * 
+ * Tudo é lido e compilado (MailTemplate) no construtor: template faltando
+ * derruba a aplicação na subida, não no primeiro email.
+ */
+@Component
+public class MailTemplates {
+
+    /**
+     * Templates disponíveis
+     */
+    public static final String RESET = "reset";
+
+    /**
+     * Idiomas com tradução; o primeiro é o padrão
+     */
+    static final List<String> LANGUAGES = List.of("pt", "en", "fr");
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    /**
+     * "reset_pt" → template compilado
+     */
+    private final Map<String, MailTemplate> templates = new HashMap<>();
+
+    /**
+     * CONSTRUTOR - CARREGA E COMPILA TODOS OS TEMPLATES
+     */
+    public MailTemplates() {
+        for (var lang : LANGUAGES) {
+            var key = RESET + "_" + lang;
+            templates.put(key, load(key));
+        }
+    }
+
+    /**
+     * BUSCAR TEMPLATE PARA O IDIOMA
+     * 
+     * "pt-BR" → pt, "en-US" → en, idioma sem tradução (ou null) → pt
+     * 
+     * @param name Nome do template (ex: RESET)
+     * @param locale Idioma do destinatário
+     * @return MailTemplate compilado
+     */
+    public MailTemplate get(String name, Locale locale) {
+        if (locale != null) {
+            var template = templates.get(name + "_" + locale.getLanguage());
+            if (template != null) {
+                return template;
+            }
+        }
+        return templates.get(name + "_" + LANGUAGES.get(0));
+    }
+
+    /**
+     * LER .txt + .html E COMPILAR
+     */
+    private static MailTemplate load(String key) {
+        var text = read("mail/" + key + ".txt");
+        var html = read("mail/" + key + ".html");
+
+        // 1ª LINHA = ASSUNTO
+        int eol = text.indexOf('\n');
+        if (!text.startsWith(SUBJECT_PREFIX) || eol < 0) {
+            throw new IllegalStateException("Template sem linha 'Subject:': mail/" + key + ".txt");
+        }
+        var subject = text.substring(SUBJECT_PREFIX.length(), eol).trim();
+
+        // CORPO = resto (sem a linha em branco logo após o assunto)
+        var body = text.substring(eol + 1);
+        if (body.startsWith("\n")) {
+            body = body.substring(1);
+        }
+        return new MailTemplate(subject, body, html);
+    }
+
+    private static String read(String path) {
+        try (InputStream in = MailTemplates.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Template de email não encontrado: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+// Pacote mail - serviços relacionados ao envio de emails
+package com.login.login.mail;
+
+// Importações Java
+import java.util.List;                              // Lote de mensagens
+import java.util.concurrent.ArrayBlockingQueue;     // Conexões ociosas
+import java.util.concurrent.Semaphore;              // Limite de conexões abertas
+import java.util.concurrent.atomic.AtomicLong;      // Maior latência observada
+import java.util.concurrent.atomic.LongAdder;       // Contadores sem contenção
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;      // Injeção de configuração
+import org.springframework.mail.javamail.JavaMailSenderImpl;    // Configuração SMTP (host, porta, sessão)
+import org.springframework.stereotype.Component;                // Componente gerenciado pelo Spring
+
+// Importações Jakarta Mail
+import jakarta.annotation.PreDestroy;           // Fecha conexões no shutdown
+import jakarta.mail.MessagingException;         // Erros de SMTP
+import jakarta.mail.SendFailedException;        // Erro só desta mensagem (destinatário recusado)
+import jakarta.mail.Transport;                  // Conexão SMTP
+import jakarta.mail.internet.MimeMessage;       // Mensagem pronta
+
+/**
+ * POOL DE CONEXÕES SMTP PERSISTENTES
+ * 
+ * JavaMailSender.send abre uma conexão nova por chamada:
+ * TCP + EHLO + STARTTLS + AUTH antes de cada email.
+ * 
+ * Este pool mantém até app.mail.pool.size conexões autenticadas abertas e
+ * as reaproveita:
+ * - sendBatch envia um lote inteiro pela MESMA conexão
+ * - conexão devolvida ao pool fica disponível para o próximo lote
+ * - conexão ociosa há mais de max-idle-seconds é descartada (servidores
+ *   SMTP derrubam conexões paradas)
+ * - conexão que falha no meio do lote é fechada e trocada por uma nova
+ * 
+ * MÉTRICAS (stats):
+ * - latência por mensagem (média e máxima)
+ * - conexões abertas vs mensagens enviadas → taxa de reuso
+ * 
+ * Usa a mesma configuração spring.mail.* do JavaMailSenderImpl do Boot.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl config;  // Host, porta, credenciais e Session
+    private final int size;                   // Máximo de conexões simultâneas
+    private final long maxIdleNanos;          // Tempo máximo ocioso antes de descartar
+
+    private final Semaphore permits;                      // Uma permissão por conexão em uso
+    private final ArrayBlockingQueue<PooledTransport> idle;  // Conexões abertas sem uso
+
+    // CONTADORES
+    private final LongAdder opened = new LongAdder();        // Conexões abertas (handshakes)
+    private final LongAdder sent = new LongAdder();          // Mensagens aceitas pelo servidor
+    private final LongAdder reused = new LongAdder();        // Mensagens em conexão já usada antes
+    private final LongAdder failed = new LongAdder();        // Mensagens recusadas / com erro
+    private final LongAdder latencyNanos = new LongAdder();  // Soma das latências
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * CONSTRUTOR
+     * 
+     * @param config JavaMailSenderImpl configurado pelo Spring Boot (spring.mail.*)
+     * @param size app.mail.pool.size
+     * @param maxIdleSeconds app.mail.pool.max-idle-seconds
+     */
+    public SmtpTransportPool(JavaMailSenderImpl config,
+                             @Value("${app.mail.pool.size:4}") int size,
+                             @Value("${app.mail.pool.max-idle-seconds:30}") long maxIdleSeconds) {
+        this.config = config;
+        this.size = size;
+        this.maxIdleNanos = maxIdleSeconds * 1_000_000_000L;
+        this.permits = new Semaphore(size);
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Número máximo de conexões (= lotes enviados em paralelo)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ENVIAR LOTE PELA MESMA CONEXÃO
+     * 
+     * Bloqueia enquanto todas as conexões estiverem em uso.
+     * 
+     * @param messages Mensagens prontas
+     * @return Exception[] mesmo tamanho do lote; null = enviada com sucesso
+     * @throws InterruptedException se a thread for interrompida esperando conexão
+     */
+    public Exception[] sendBatch(List<MimeMessage> messages) throws InterruptedException {
+        var results = new Exception[messages.size()];
+        permits.acquire();
+        PooledTransport conn = null;
+        try {
+            for (int i = 0; i < results.length; i++) {
+                try {
+                    if (conn == null) {
+                        conn = borrow();
+                    }
+                    send(conn, messages.get(i));
+                } catch (SendFailedException e) {
+                    failed.increment();
+                    results[i] = e;  // Problema da mensagem: conexão continua boa
+                } catch (Exception e) {
+                    // CONEXÃO QUEBRADA: descarta e tenta a mensagem uma vez numa conexão nova
+                    close(conn);
+                    conn = null;
+                    try {
+                        conn = borrow();
+                        send(conn, messages.get(i));
+                    } catch (Exception retry) {
+                        failed.increment();
+                        results[i] = retry;
+                        close(conn);
+                        conn = null;
+                    }
+                }
+            }
+        } finally {
+            release(conn);
+            permits.release();
+        }
+        return results;
+    }
+
+    /**
+     * PEGAR CONEXÃO OCIOSA (OU ABRIR UMA NOVA)
+     */
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport conn;
+        while ((conn = idle.poll()) != null) {
+            if (System.nanoTime() - conn.lastUsedNanos < maxIdleNanos && conn.transport.isConnected()) {
+                return conn;  // Reuso: sem handshake
+            }
+            close(conn);  // Velha demais ou caiu
+        }
+
+        Transport transport = config.getSession().getTransport(protocol());
+        transport.connect(config.getHost(), config.getPort(), config.getUsername(), config.getPassword());
+        opened.increment();
+        return new PooledTransport(transport);
+    }
+
+    /**
+     * PROTOCOLO (mesma regra do JavaMailSenderImpl: config → sessão → "smtp")
+     */
+    private String protocol() {
+        var protocol = config.getProtocol();
+        if (protocol == null) {
+            protocol = config.getSession().getProperty("mail.transport.protocol");
+        }
+        return protocol == null ? JavaMailSenderImpl.DEFAULT_PROTOCOL : protocol;
+    }
+
+    /**
+     * ENVIAR UMA MENSAGEM E MEDIR LATÊNCIA
+     */
+    private void send(PooledTransport conn, MimeMessage message) throws MessagingException {
+        long start = System.nanoTime();
+        message.saveChanges();  // Gera Message-ID e headers finais
+        conn.transport.sendMessage(message, message.getAllRecipients());
+        long elapsed = System.nanoTime() - start;
+
+        if (conn.uses++ > 0) {
+            reused.increment();  // Conexão já tinha enviado antes
+        }
+        conn.lastUsedNanos = System.nanoTime();
+        sent.increment();
+        latencyNanos.add(elapsed);
+        maxLatencyNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * DEVOLVER CONEXÃO AO POOL
+     */
+    private void release(PooledTransport conn) {
+        if (conn != null && !idle.offer(conn)) {
+            close(conn);  // Não deveria acontecer (fila tem o tamanho do pool)
+        }
+    }
+
+    private static void close(PooledTransport conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.transport.close();  // QUIT
+        } catch (MessagingException ignored) {
+            // Conexão já estava morta
+        }
+    }
+
+    /**
+     * FECHAR CONEXÕES OCIOSAS NO SHUTDOWN
+     */
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport conn;
+        while ((conn = idle.poll()) != null) {
+            close(conn);
+        }
+    }
+
+    /**
+     * SNAPSHOT DAS MÉTRICAS
+     */
+    public Stats stats() {
+        return new Stats(opened.sum(), sent.sum(), reused.sum(), failed.sum(),
+                         latencyNanos.sum(), maxLatencyNanos.get());
+    }
+
+    /**
+     * MÉTRICAS DO POOL
+     * 
+     * @param connectionsOpened Handshakes feitos (TCP + TLS + AUTH)
+     * @param messagesSent Mensagens aceitas pelo servidor
+     * @param messagesOnReusedConnection Mensagens que não pagaram handshake
+     * @param messagesFailed Mensagens com erro
+     * @param totalLatencyNanos Soma das latências de envio
+     * @param maxLatencyNanos Maior latência observada
+     */
+    public record Stats(long connectionsOpened, long messagesSent, long messagesOnReusedConnection,
+                        long messagesFailed, long totalLatencyNanos, long maxLatencyNanos) {
+
+        /**
+         * Fração das mensagens enviadas em conexão reaproveitada (0..1)
+         */
+        public double reuseRate() {
+            return messagesSent == 0 ? 0 : (double) messagesOnReusedConnection / messagesSent;
+        }
+
+        /**
+         * Latência média por mensagem em milissegundos
+         */
+        public double averageLatencyMillis() {
+            return messagesSent == 0 ? 0 : totalLatencyNanos / 1_000_000.0 / messagesSent;
+        }
+    }
+
+    /**
+     * CONEXÃO + ESTADO DE USO
+     * 
+     * Só uma thread usa a conexão por vez (emprestada via fila) → campos simples.
+     */
+    private static final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedNanos = System.nanoTime();
+        private int uses;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -2,10 +2,17 @@
 package com.login.login.repo;
 
 // Importações Java
-import java.util.Optional;  // Container seguro que pode ou não conter um valor
+import java.time.Instant;     // Timestamps UTC
+import java.util.Collection;  // IDs a apagar
+import java.util.List;        // Resultados múltiplos
+import java.util.Optional;    // Container seguro que pode ou não conter um valor
 
-// Importação Spring Data JPA
+// Importações Spring Data
+import org.springframework.data.domain.Pageable;                // Tamanho do lote (LIMIT)
 import org.springframework.data.jpa.repository.JpaRepository;  // Interface base para CRUD
+import org.springframework.data.jpa.repository.Modifying;      // Query de escrita (DELETE)
+import org.springframework.data.jpa.repository.Query;          // JPQL customizado
+import org.springframework.data.repository.query.Param;        // Parâmetros nomeados
 
 // Importação da nossa entidade
 import com.login.login.domain.PasswordResetToken;
@@ -57,6 +64,44 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
      * @return Optional<PasswordResetToken> - token válido encontrado ou vazio
      */
     Optional<PasswordResetToken> findByTokenAndUsedFalse(String token);
+
+    // ========== LIMPEZA EM LOTES (PasswordResetTokenReaper) ==========
+    // Só IDs são buscados (sem carregar entidades) e o DELETE é um comando
+    // único por lote → nada de remover entidade por entidade.
+
+    /**
+     * IDS DE TOKENS EXPIRADOS (usa ix_password_reset_token_expires_at)
+     * 
+     * @param now Momento de referência
+     * @param page Tamanho do lote (LIMIT)
+     * @return List<Long> até page.size IDs
+     */
+    @Query("select t.id from PasswordResetToken t where t.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable page);
+
+    /**
+     * IDS DE TOKENS JÁ USADOS E AINDA NÃO EXPIRADOS
+     * 
+     * Poucas linhas: a tabela só guarda tokens recentes depois da limpeza.
+     * 
+     * @param now Momento de referência
+     * @param page Tamanho do lote (LIMIT)
+     * @return List<Long> até page.size IDs
+     */
+    @Query("select t.id from PasswordResetToken t where t.used = true and t.expiresAt >= :now")
+    List<Long> findUsedIds(@Param("now") Instant now, Pageable page);
+
+    /**
+     * APAGAR UM LOTE (DELETE ... WHERE id IN (...))
+     * 
+     * ATENÇÃO: @Modifying precisa de @Transactional no serviço que chama!
+     * 
+     * @param ids IDs do lote
+     * @return int linhas apagadas
+     */
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
     
     /*
      * MÉTODOS HERDADOS AUTOMATICAMENTE DE JpaRepository:
@@ -72,7 +117,6 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
      * 
      * - findByUserEmail(String email)             → Tokens por email do usuário
      * - findByCreatedAtAfter(LocalDateTime date)  → Tokens criados após data
-     * - deleteByUsedTrueAndCreatedAtBefore(date)  → Limpar tokens antigos e usados
      * - countByUserEmailAndUsedFalse(String email) → Contar tokens ativos por usuário
      */
 }
@@ -0,0 +1,104 @@
+// Pacote repo - repositórios para acesso a dados
+package com.login.login.repo;
+
+// Importações Java
+import java.time.Instant;     // Timestamps UTC
+import java.util.Collection;  // IDs a reivindicar
+import java.util.List;        // Resultados múltiplos
+
+// Importações Spring Data
+import org.springframework.data.domain.Pageable;                 // Tamanho do lote (LIMIT)
+import org.springframework.data.jpa.repository.JpaRepository;    // Interface base para CRUD
+import org.springframework.data.jpa.repository.Modifying;        // Query de escrita (UPDATE)
+import org.springframework.data.jpa.repository.Query;            // JPQL customizado
+import org.springframework.data.repository.query.Param;          // Parâmetros nomeados
+
+// Importação da nossa entidade
+import com.login.login.domain.PendingMail;
+
+/**
+ * REPOSITÓRIO DA OUTBOX DE EMAILS
+ * 
+ * Consultas usadas pelo MailOutbox para drenar a fila em lotes.
+ * 
+ * ATENÇÃO: métodos @Modifying precisam de @Transactional no serviço que os chama!
+ */
+public interface PendingMailRepository extends JpaRepository<PendingMail, Long> {
+
+    /**
+     * IDS DE EMAILS PRONTOS PARA ENVIO (mais antigos primeiro)
+     * 
+     * → SQL: SELECT id FROM mail_outbox WHERE status = ? AND next_attempt_at <= ?
+     *        ORDER BY next_attempt_at LIMIT ?
+     * 
+     * @param status PENDING
+     * @param now Momento atual
+     * @param page Tamanho do lote
+     * @return List<Long> IDs candidatos (ainda não reivindicados)
+     */
+    @Query("select m.id from PendingMail m where m.status = :status and m.nextAttemptAt <= :now order by m.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") PendingMail.Status status, @Param("now") Instant now, Pageable page);
+
+    /**
+     * REIVINDICAR LOTE (UPDATE CONDICIONAL)
+     * 
+     * Só linhas ainda PENDING mudam → se outra instância pegou antes,
+     * a linha simplesmente não entra no nosso lote.
+     * 
+     * @param ids Candidatos de findDueIds
+     * @param claimToken Identificador único deste lote
+     * @param now Momento da reivindicação
+     * @param from PENDING
+     * @param to SENDING
+     * @return int quantidade realmente reivindicada
+     */
+    @Modifying
+    @Query("update PendingMail m set m.status = :to, m.claimToken = :claimToken, m.claimedAt = :now " +
+           "where m.id in :ids and m.status = :from")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken, @Param("now") Instant now,
+              @Param("from") PendingMail.Status from, @Param("to") PendingMail.Status to);
+
+    /**
+     * LINHAS DE UM LOTE REIVINDICADO
+     */
+    List<PendingMail> findByClaimToken(String claimToken);
+
+    /**
+     * DEVOLVER À FILA LINHAS PRESAS EM SENDING
+     * 
+     * Se o processo morrer no meio do envio, a linha ficaria SENDING para
+     * sempre. Depois de um tempo, volta para PENDING (pode gerar reenvio:
+     * entrega "pelo menos uma vez").
+     * 
+     * @return int linhas devolvidas
+     */
+    @Modifying
+    @Query("update PendingMail m set m.status = :to, m.claimToken = null " +
+           "where m.status = :from and m.claimedAt < :cutoff")
+    int requeueStale(@Param("cutoff") Instant cutoff,
+                     @Param("from") PendingMail.Status from, @Param("to") PendingMail.Status to);
+
+    // ========== LIMPEZA EM LOTES (MailOutboxReaper) ==========
+
+    /**
+     * IDS DE EMAILS FINALIZADOS ANTES DO CORTE (usa ix_mail_outbox_finished)
+     * 
+     * @param statuses SENT e FAILED
+     * @param cutoff Criados antes disso já passaram da retenção
+     * @param page Tamanho do lote (LIMIT)
+     * @return List<Long> até page.size IDs
+     */
+    @Query("select m.id from PendingMail m where m.status in :statuses and m.createdAt < :cutoff")
+    List<Long> findFinishedIds(@Param("statuses") Collection<PendingMail.Status> statuses,
+                               @Param("cutoff") Instant cutoff, Pageable page);
+
+    /**
+     * APAGAR UM LOTE (DELETE ... WHERE id IN (...))
+     * 
+     * @param ids IDs do lote
+     * @return int linhas apagadas
+     */
+    @Modifying
+    @Query("delete from PendingMail m where m.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
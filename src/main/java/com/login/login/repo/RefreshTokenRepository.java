@@ -2,10 +2,14 @@
 package com.login.login.repo;
 
 // Importações Java
+import java.time.Instant;   // Corte de expiração
 import java.util.Optional;  // Container seguro para valores que podem ser nulos
 
-// Importação Spring Data JPA
+// Importações Spring Data
 import org.springframework.data.jpa.repository.JpaRepository;  // Interface base para operações CRUD
+import org.springframework.data.jpa.repository.Modifying;      // Query de escrita (UPDATE)
+import org.springframework.data.jpa.repository.Query;          // JPQL customizado
+import org.springframework.data.repository.query.Param;        // Parâmetros nomeados
 
 // Importação da nossa entidade
 import com.login.login.domain.RefreshToken;
@@ -51,6 +55,79 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      * @param tokenHash Hash do token a ser excluído
      */
     void deleteByTokenHash(String tokenHash);
+
+    // ========== ROTAÇÃO (RefreshTokenService) ==========
+
+    /**
+     * BUSCA TOKEN PELO HASH JÁ COM O USUÁRIO
+     * 
+     * Um único SELECT (índice único de token_hash + JOIN em users):
+     * o refresh precisa do usuário para emitir o novo access token.
+     * 
+     * @param tokenHash Hash SHA-256 do token apresentado
+     * @return Optional<RefreshToken> - token (com user carregado) ou vazio
+     */
+    @Query("select t from RefreshToken t join fetch t.user where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * REVOGAR SE AINDA ESTIVER ATIVO (COMPARE-AND-SET NO BANCO)
+     * 
+     * UPDATE condicional: de duas requisições concorrentes com o mesmo
+     * token, só uma recebe 1; a outra recebe 0 e é tratada como reuso.
+     * 
+     * ATENÇÃO: @Modifying precisa de @Transactional no serviço que chama!
+     * 
+     * @param id ID do token
+     * @return int 1 se revogou agora, 0 se já estava revogado
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.id = :id and t.revoked = false")
+    int revokeIfActive(@Param("id") Long id);
+
+    /**
+     * REVOGAR A FAMÍLIA INTEIRA (reuso detectado / logout)
+     * 
+     * ATENÇÃO: @Modifying precisa de @Transactional no serviço que chama!
+     * 
+     * @param familyId Família do token
+     * @return int tokens revogados agora
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * REVOGAR TODOS OS TOKENS ATIVOS DO USUÁRIO ("sair de todos os dispositivos")
+     * 
+     * Um único UPDATE (índice ix_refresh_token_user_id), sem carregar
+     * entidades: custo constante por usuário, não importa quantos
+     * dispositivos/sessões ele tenha.
+     * → SQL: UPDATE refresh_token SET revoked = true WHERE user_id = ? AND revoked = false
+     * 
+     * ATENÇÃO: @Modifying precisa de @Transactional no serviço que chama!
+     * 
+     * @param userId ID do usuário
+     * @return int tokens revogados agora
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.user.id = :userId and t.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * APAGAR TOKENS EXPIRADOS (bancos sem particionamento, ex: H2)
+     * 
+     * No PostgreSQL a tabela é particionada por mês de expires_at e o
+     * RefreshTokenCompactor descarta partições inteiras em vez disto.
+     * 
+     * ATENÇÃO: @Modifying precisa de @Transactional no serviço que chama!
+     * 
+     * @param now Momento de referência
+     * @return int linhas apagadas
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
     
     /*
      * MÉTODOS HERDADOS AUTOMATICAMENTE:
@@ -4,11 +4,17 @@ package com.login.login.repo;
 // Importações Java
 import java.util.Optional;  // Container que pode ou não conter um valor (evita NullPointerException)
 
-// Importação Spring Data JPA
+// Importações Spring Data JPA
 import org.springframework.data.jpa.repository.JpaRepository;  // Interface base para repositórios JPA
+import org.springframework.data.jpa.repository.Modifying;      // Query de escrita (UPDATE)
+import org.springframework.data.jpa.repository.Query;          // JPQL customizado
+import org.springframework.data.repository.query.Param;        // Parâmetros nomeados
+import org.springframework.transaction.annotation.Transactional; // Leituras read-only (réplica)
 
 // Importação da nossa entidade
+import com.login.login.domain.AuthUser;
 import com.login.login.domain.User;
+import com.login.login.jwt.JwtPrincipal;
 
 /**
  * REPOSITÓRIO DE USUÁRIOS
@@ -19,6 +25,7 @@ import com.login.login.domain.User;
  * O Spring Data JPA cria automaticamente a implementação desta interface!
  * Você só define a interface, o Spring faz toda a implementação.
  */
+@Transactional(readOnly = true)  // Toda busca: read-only → réplica (se houver), sem snapshot no Hibernate
 public interface UserRepository extends JpaRepository<User, Long> {
     //                                                    ↑     ↑
     //                                              Entidade   Tipo do ID
@@ -29,14 +36,111 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * O Spring Data JPA cria automaticamente este método baseado no nome!
      * 
      * Padrão: findBy + NomeDoCampo
-     * - findByEmail → SELECT * FROM users WHERE email = ?
+     * - findByEmailNormalized → SELECT * FROM users WHERE email_normalized = ?
      * - findByName → SELECT * FROM users WHERE name = ?
      * - findByEmailAndName → SELECT * FROM users WHERE email = ? AND name = ?
      * 
-     * @param email Email do usuário a ser buscado
+     * @param emailNormalized Email já normalizado (User.normalizeEmail)
      * @return Optional<User> - pode conter um User ou estar vazio se não encontrar
      */
-    Optional<User> findByEmail(String email); 
+    Optional<User> findByEmailNormalized(String emailNormalized);
+
+    /**
+     * BUSCAR USUÁRIO PELO EMAIL (QUALQUER CAIXA)
+     * 
+     * Caminho de login, cadastro, "esqueci a senha" e UserDetailsService.
+     * Normaliza aqui (trim + minúsculas) e consulta a coluna
+     * email_normalized: um acesso ao índice único, sem lower(email) na
+     * query (que não usaria índice).
+     * 
+     * @param email Email como o usuário digitou
+     * @return Optional<User> - pode conter um User ou estar vazio se não encontrar
+     */
+    default Optional<User> findByEmail(String email) {
+        return findByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    /**
+     * PROJEÇÃO PARA O LOGIN (SOMENTE LEITURA)
+     * 
+     * "select new" → o Hibernate devolve records AuthUser, não entidades:
+     * nada entra no contexto de persistência (sem snapshot, sem
+     * dirty-checking no flush). Só as colunas que a autenticação usa.
+     * 
+     * @param emailNormalized Email já normalizado (User.normalizeEmail)
+     * @return Optional<AuthUser> usuário para o UserDetailsService
+     */
+    @Query("""
+        select new com.login.login.domain.AuthUser(u.id, u.email, u.password, u.name, u.enabled)
+        from User u where u.emailNormalized = :emailNormalized""")
+    Optional<AuthUser> findAuthUserByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    /**
+     * USUÁRIO DO LOGIN PELO EMAIL (QUALQUER CAIXA)
+     * 
+     * @param email Email como o usuário digitou
+     * @return Optional<AuthUser> projeção somente leitura
+     */
+    default Optional<AuthUser> findAuthUserByEmail(String email) {
+        return findAuthUserByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    /**
+     * PRINCIPAL DO FILTRO JWT (SOMENTE LEITURA, SÓ CONTAS ATIVAS)
+     *
+     * Carga do UserPrincipalCache: record imutável, sem o hash da senha,
+     * compartilhado com segurança entre requisições simultâneas.
+     * Conta desabilitada → vazio (o filtro não autentica).
+     *
+     * @param id ID do usuário (claim "sub")
+     * @return Optional<JwtPrincipal> vazio se não existe ou está desabilitado
+     */
+    @Query("""
+        select new com.login.login.jwt.JwtPrincipal(u.id, u.email, u.name)
+        from User u where u.id = :id and u.enabled = true""")
+    Optional<JwtPrincipal> findPrincipalById(@Param("id") Long id);
+
+    /**
+     * EXISTE USUÁRIO COM ESTE EMAIL NORMALIZADO?
+     * 
+     * Spring Data gera: SELECT 1 FROM users WHERE email_normalized = ? LIMIT 1
+     * 
+     * Diferente de findByEmail(...).isPresent(), não carrega a linha nem
+     * cria entidade no contexto de persistência: o banco responde só pelo
+     * índice único uk_users_email_normalized (index-only lookup).
+     * 
+     * @param emailNormalized Email já normalizado (User.normalizeEmail)
+     * @return true se já existe usuário com este email
+     */
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    /**
+     * EXISTE USUÁRIO COM ESTE EMAIL? (QUALQUER CAIXA)
+     * 
+     * @param email Email como o usuário digitou
+     * @return true se já existe usuário com este email
+     */
+    default boolean existsByEmail(String email) {
+        return existsByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    /**
+     * TROCAR O HASH DA SENHA (UPDATE DIRETO)
+     * 
+     * Usado no rehash durante o login (RehashingPasswordService):
+     * um único UPDATE, sem SELECT antes.
+     * 
+     * ATENÇÃO: @Modifying precisa de @Transactional no serviço que chama!
+     * O @Transactional do método tira o readOnly da interface (escrita → primário).
+     * 
+     * @param id ID do usuário
+     * @param password Hash novo (já codificado)
+     * @return int linhas alteradas (0 se o usuário não existe)
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
     
     /*
      * MÉTODOS HERDADOS DE JpaRepository (NÃO PRECISAMOS IMPLEMENTAR):
@@ -0,0 +1,101 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.time.Duration;  // Latência alvo
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring Security
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;  // Hash medido
+
+/**
+ * CALIBRAÇÃO DO CUSTO (WORK FACTOR) DO BCRYPT
+ *
+ * O custo do BCrypt é exponencial: cada +1 dobra o tempo do hash.
+ * Um valor fixo (10) é lento demais numa máquina pequena e rápido demais
+ * num servidor novo. Aqui medimos o host na inicialização e escolhemos o
+ * maior custo que ainda cabe na latência alvo.
+ *
+ * COMO MEDE:
+ * - Hash com custo de sonda (PROBE_COST), baixo para não atrasar o startup
+ * - Melhor de SAMPLES execuções (descarta ruído de JIT/GC)
+ * - Extrapola: tempo(custo) = tempo(sonda) × 2^(custo - sonda)
+ *
+ * O resultado é limitado a [minCost, maxCost]: nunca abaixo do mínimo
+ * de segurança, mesmo em máquina lenta.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    /**
+     * Custo usado na medição (~15 ms em hardware comum)
+     */
+    static final int PROBE_COST = 8;
+
+    /**
+     * Medições da sonda (vale a mais rápida)
+     */
+    static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+        // Classe utilitária
+    }
+
+    /**
+     * MEDIR O HOST E ESCOLHER O CUSTO
+     *
+     * @param target Latência alvo por hash
+     * @param minCost Custo mínimo aceito (segurança)
+     * @param maxCost Custo máximo aceito (latência)
+     * @return Custo entre minCost e maxCost
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        long probeNanos = measure(PROBE_COST);
+        int cost = costFor(probeNanos, target, minCost, maxCost);
+        log.info("BCrypt calibrado: custo {} (sonda custo {} = {} ms, alvo {} ms)",
+            cost, PROBE_COST, probeNanos / 1_000_000, target.toMillis());
+        return cost;
+    }
+
+    /**
+     * MAIOR CUSTO CUJO TEMPO ESTIMADO CABE NO ALVO
+     *
+     * @param probeNanos Tempo medido com PROBE_COST
+     * @param target Latência alvo
+     * @param minCost Limite inferior
+     * @param maxCost Limite superior
+     * @return Custo escolhido
+     */
+    static int costFor(long probeNanos, Duration target, int minCost, int maxCost) {
+        if (minCost < 4 || maxCost > 31 || minCost > maxCost) {
+            throw new IllegalArgumentException("Faixa de custo BCrypt inválida: " + minCost + ".." + maxCost);
+        }
+        long budget = target.toNanos();
+        long estimate = Math.max(probeNanos, 1);
+        int cost = PROBE_COST;
+        while (cost < maxCost && estimate * 2 <= budget) {  // Próximo custo ainda cabe no alvo?
+            cost++;
+            estimate *= 2;
+        }
+        return Math.clamp(cost, minCost, maxCost);
+    }
+
+    /**
+     * Melhor tempo de SAMPLES hashes com o custo informado
+     */
+    private static long measure(int cost) {
+        var encoder = new BCryptPasswordEncoder(cost);
+        encoder.encode("aquecimento");  // Primeira chamada paga carga de classes / JIT
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibracao");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,144 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.util.concurrent.ArrayBlockingQueue;         // Fila de admissão limitada
+import java.util.concurrent.Callable;                   // Tarefa com resultado
+import java.util.concurrent.ExecutionException;         // Erro dentro da tarefa
+import java.util.concurrent.Future;                     // Resultado pendente
+import java.util.concurrent.RejectedExecutionException; // Fila cheia
+import java.util.concurrent.ThreadPoolExecutor;         // Pool de tamanho fixo
+import java.util.concurrent.TimeUnit;                   // Unidade dos tempos
+import java.util.concurrent.TimeoutException;           // Espera esgotada
+import java.util.concurrent.atomic.LongAdder;           // Contadores sem contenção
+
+// Importações Spring Security
+import org.springframework.security.crypto.password.PasswordEncoder;  // Interface decorada
+
+/**
+ * PASSWORD ENCODER COM EXECUTOR PRÓPRIO E LIMITADO
+ *
+ * Decorator de outro PasswordEncoder (BCrypt): encode e matches rodam em um
+ * pool de threads dedicado, do tamanho do número de núcleos, em vez de
+ * consumir CPU na thread do Tomcat.
+ *
+ * POR QUE:
+ * - Um hash BCrypt (custo 10) leva ~50-100 ms de CPU
+ * - Numa rajada de login (credential stuffing) todas as threads do Tomcat
+ *   ficam calculando hash → até CSS/JS e o dashboard param de responder
+ * - Aqui, no máximo "threads" hashes rodam ao mesmo tempo; o resto espera
+ *   numa fila de tamanho fixo
+ *
+ * ADMISSÃO E REJEIÇÃO:
+ * - Fila cheia → PasswordHashingBusyException na hora (HTTP 503)
+ * - Espera maior que max-wait → mesma exceção (cliente não fica preso)
+ * - Quem espera só fica bloqueado (sem CPU); as demais requisições seguem
+ *
+ * upgradeEncoding não calcula hash → roda direto na thread chamadora.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;      // Quem realmente calcula o hash
+    private final ThreadPoolExecutor executor;   // Threads de hashing + fila de admissão
+    private final long maxWaitMillis;            // Espera máxima por um resultado
+
+    // CONTADORES
+    private final LongAdder rejected = new LongAdder();  // Recusados por fila cheia
+    private final LongAdder timedOut = new LongAdder();  // Desistências por tempo
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param delegate Encoder real (ex: BCryptPasswordEncoder)
+     * @param threads Hashes simultâneos; 0 ou menos = número de núcleos
+     * @param queueCapacity Pedidos que podem esperar na fila
+     * @param maxWaitMillis Espera máxima (fila + cálculo) em milissegundos
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMillis) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        this.executor = new ThreadPoolExecutor(
+            size, size,                                  // Tamanho fixo
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),     // Fila limitada
+            Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.AbortPolicy());       // Fila cheia → RejectedExecutionException
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * EXECUTAR NO POOL E ESPERAR O RESULTADO
+     *
+     * @throws PasswordHashingBusyException fila cheia ou espera esgotada
+     */
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Fila de hash de senhas cheia");
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);  // Se ainda estava na fila, nem chega a rodar
+            timedOut.increment();
+            throw new PasswordHashingBusyException("Tempo de espera do hash de senha esgotado");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Espera do hash de senha interrompida");
+        } catch (ExecutionException e) {
+            // Erro do próprio encoder → propaga como se tivesse rodado aqui
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * ENCERRAR AS THREADS (chamado pelo Spring no shutdown do contexto)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * CONTADORES ATUAIS
+     *
+     * @return Stats snapshot
+     */
+    public Stats stats() {
+        return new Stats(executor.getMaximumPoolSize(), executor.getActiveCount(),
+            executor.getQueue().size(), rejected.sum(), timedOut.sum());
+    }
+
+    /**
+     * SNAPSHOT DOS CONTADORES
+     *
+     * @param threads Tamanho do pool
+     * @param active Hashes sendo calculados agora
+     * @param queued Pedidos esperando na fila
+     * @param rejected Recusados por fila cheia (desde o início)
+     * @param timedOut Desistências por tempo (desde o início)
+     */
+    public record Stats(int threads, int active, int queued, long rejected, long timedOut) {
+    }
+}
@@ -0,0 +1,54 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Spring
+import org.springframework.security.core.session.SessionInformation;  // Sessão registrada
+import org.springframework.security.core.session.SessionRegistry;     // Sessões HTTP por usuário
+import org.springframework.stereotype.Component;                      // Componente gerenciado pelo Spring
+import org.springframework.transaction.event.TransactionPhase;        // Fase da transação
+import org.springframework.transaction.event.TransactionalEventListener;  // Evento depois do commit
+
+// Importações das nossas classes
+import com.login.login.domain.AuthUser;                               // Principal do login por formulário
+import com.login.login.service.UserSessionsInvalidatedEvent;          // Senha redefinida, conta desabilitada, etc.
+
+/**
+ * EXPIRAR AS SESSÕES HTTP DO USUÁRIO
+ *
+ * Revogar refresh tokens e access tokens não basta: o login por formulário
+ * guarda o SecurityContext na HttpSession, e cada navegador continuaria
+ * logado pela própria sessão.
+ *
+ * Ao receber UserSessionsInvalidatedEvent, marca como expiradas todas as
+ * sessões do usuário no SessionRegistry. Na próxima requisição de cada uma,
+ * o ConcurrentSessionFilter faz o logout e redireciona para o login.
+ *
+ * Depois do commit (com fallback sem transação): um rollback não derruba
+ * ninguém à toa.
+ */
+@Component
+public class HttpSessionRevoker {
+
+    private final SessionRegistry sessionRegistry;
+
+    /**
+     * @param sessionRegistry Sessões registradas no login (SecurityConfig)
+     */
+    public HttpSessionRevoker(SessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    /**
+     * ESCUTAR INVALIDAÇÃO DE SESSÕES
+     *
+     * O principal registrado é o AuthUser do login (record: cópias com hash
+     * novo ou bloqueio não são "equals") → procura pelo id.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionsInvalidated(UserSessionsInvalidatedEvent event) {
+        sessionRegistry.getAllPrincipals().stream()
+            .filter(principal -> principal instanceof AuthUser user && event.userId().equals(user.id()))
+            .flatMap(principal -> sessionRegistry.getAllSessions(principal, false).stream())
+            .forEach(SessionInformation::expireNow);
+    }
+}
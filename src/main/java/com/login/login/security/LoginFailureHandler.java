@@ -0,0 +1,62 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.io.IOException;
+
+// Importações Spring Security
+import org.springframework.security.core.AuthenticationException;                          // Motivo da falha
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;       // Contrato do handler
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;  // Redirect padrão
+
+// Importações Jakarta Servlet
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * HANDLER DE FALHA DO LOGIN POR FORMULÁRIO
+ *
+ * - Credenciais inválidas → redirect para failureUrl (comportamento de sempre)
+ * - PasswordHashingBusyException → HTTP 503 + Retry-After
+ *   (o servidor está ocupado; a senha pode estar certa)
+ */
+public class LoginFailureHandler implements AuthenticationFailureHandler {
+
+    /**
+     * Segundos sugeridos ao cliente antes de tentar de novo
+     */
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AuthenticationFailureHandler invalidCredentials;  // Redirect para a página de login
+
+    /**
+     * @param failureUrl Para onde redirecionar quando as credenciais são inválidas
+     */
+    public LoginFailureHandler(String failureUrl) {
+        this.invalidCredentials = new SimpleUrlAuthenticationFailureHandler(failureUrl);
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        if (isBusy(exception)) {
+            response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        invalidCredentials.onAuthenticationFailure(request, response, exception);
+    }
+
+    /**
+     * A falha veio do executor de hash saturado?
+     *
+     * DaoAuthenticationProvider embrulha erros da busca do usuário (onde também
+     * calcula um hash "dummy") em InternalAuthenticationServiceException →
+     * olhamos a causa também.
+     */
+    private static boolean isBusy(AuthenticationException exception) {
+        return exception instanceof PasswordHashingBusyException
+            || exception.getCause() instanceof PasswordHashingBusyException;
+    }
+}
@@ -0,0 +1,184 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.time.Duration;  // Janela e expiração das entradas
+import java.util.Locale;    // Normalização do username
+
+// Importações Caffeine (mapa limitado em memória)
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;  // Injeção de configuração
+import org.springframework.context.event.EventListener;     // Eventos de login
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;  // Senha errada
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;               // Login ok
+import org.springframework.security.core.Authentication;                                           // Dados do login
+import org.springframework.security.web.authentication.WebAuthenticationDetails;                   // IP do cliente
+import org.springframework.stereotype.Component;            // Componente gerenciado pelo Spring
+
+/**
+ * LIMITE DE TENTATIVAS DE LOGIN (POR IP E POR CONTA)
+ *
+ * Conta falhas de login em janelas deslizantes (SlidingWindowCounter):
+ * - por IP do cliente → barra quem testa muitas contas
+ * - por username (email) → barra quem testa muitas senhas numa conta
+ *
+ * QUEM USA:
+ * - LoginThrottleFilter: recusa POST /login acima do limite ANTES do
+ *   AuthenticationManager (sem findByEmail, sem BCrypt)
+ * - UserDetailsService (SecurityConfig): marca User.locked →
+ *   isAccountNonLocked() = false enquanto a conta estiver acima do limite
+ *
+ * ALIMENTADO POR EVENTOS do Spring Security:
+ * - AuthenticationFailureBadCredentialsEvent → +1 no IP e no username
+ *   (inclui usuário inexistente: o provider esconde como "bad credentials")
+ * - AuthenticationSuccessEvent → zera o contador do username
+ *
+ * MEMÓRIA: contadores ficam em caches Caffeine limitados (max-keys) e
+ * somem após duas janelas sem uso. Caffeine já é particionado
+ * internamente; cada contador é atualizado por CAS, sem lock.
+ *
+ * LIMITAÇÃO: estado por instância. Em cluster, cada nó limita sozinho.
+ */
+@Component
+public class LoginThrottle {
+
+    private final long windowMillis;
+    private final long maxFailuresPerUser;
+    private final long maxFailuresPerIp;
+
+    private final Cache<String, SlidingWindowCounter> byUser;  // email normalizado → falhas
+    private final Cache<String, SlidingWindowCounter> byIp;    // IP → falhas
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param windowSeconds app.security.login-throttle.window-seconds
+     * @param maxFailuresPerUser app.security.login-throttle.max-failures-per-user
+     * @param maxFailuresPerIp app.security.login-throttle.max-failures-per-ip
+     * @param maxKeys app.security.login-throttle.max-keys (por cache)
+     */
+    public LoginThrottle(@Value("${app.security.login-throttle.window-seconds:300}") long windowSeconds,
+                         @Value("${app.security.login-throttle.max-failures-per-user:5}") long maxFailuresPerUser,
+                         @Value("${app.security.login-throttle.max-failures-per-ip:50}") long maxFailuresPerIp,
+                         @Value("${app.security.login-throttle.max-keys:100000}") long maxKeys) {
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.byUser = newCache(maxKeys);
+        this.byIp = newCache(maxKeys);
+    }
+
+    private Cache<String, SlidingWindowCounter> newCache(long maxKeys) {
+        return Caffeine.newBuilder()
+            .maximumSize(maxKeys)                                   // Memória previsível
+            .expireAfterAccess(Duration.ofMillis(windowMillis * 2)) // Depois disso a contagem já é zero
+            .build();
+    }
+
+    /**
+     * A TENTATIVA DEVE SER RECUSADA?
+     *
+     * @param ip IP do cliente (pode ser null)
+     * @param username Username enviado no formulário (pode ser null)
+     * @return true se o IP ou a conta já passou do limite
+     */
+    public boolean isBlocked(String ip, String username) {
+        long now = System.currentTimeMillis();
+        return over(byIp, ip, maxFailuresPerIp, now)
+            || over(byUser, normalize(username), maxFailuresPerUser, now);
+    }
+
+    /**
+     * A CONTA ESTÁ BLOQUEADA (acima do limite de falhas)?
+     *
+     * @param username Email do usuário
+     * @return true enquanto as falhas recentes estiverem acima do limite
+     */
+    public boolean isLocked(String username) {
+        return over(byUser, normalize(username), maxFailuresPerUser, System.currentTimeMillis());
+    }
+
+    /**
+     * REGISTRAR UMA FALHA DE LOGIN
+     *
+     * @param ip IP do cliente (pode ser null)
+     * @param username Username tentado (pode ser null)
+     */
+    public void recordFailure(String ip, String username) {
+        long now = System.currentTimeMillis();
+        increment(byIp, ip, now);
+        increment(byUser, normalize(username), now);
+    }
+
+    /**
+     * LOGIN OK → ZERA AS FALHAS DA CONTA
+     *
+     * O contador do IP continua: um atacante com uma conta própria não
+     * "limpa" o IP logando nela entre tentativas.
+     *
+     * @param username Email do usuário
+     */
+    public void recordSuccess(String username) {
+        var key = normalize(username);
+        if (key != null) {
+            byUser.invalidate(key);
+        }
+    }
+
+    /**
+     * Segundos sugeridos para o cliente esperar (Retry-After)
+     */
+    public long retryAfterSeconds() {
+        return Duration.ofMillis(windowMillis).toSeconds();
+    }
+
+    // ========== EVENTOS DO SPRING SECURITY ==========
+
+    /**
+     * ESCUTAR SENHA ERRADA / USUÁRIO INEXISTENTE
+     */
+    @EventListener
+    public void onFailure(AuthenticationFailureBadCredentialsEvent event) {
+        recordFailure(remoteAddress(event.getAuthentication()), event.getAuthentication().getName());
+    }
+
+    /**
+     * ESCUTAR LOGIN COM SUCESSO
+     */
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        recordSuccess(event.getAuthentication().getName());
+    }
+
+    // ========== AUXILIARES ==========
+
+    private boolean over(Cache<String, SlidingWindowCounter> cache, String key, long max, long now) {
+        if (key == null) return false;
+        var counter = cache.getIfPresent(key);
+        return counter != null && counter.estimate(now) >= max;
+    }
+
+    private void increment(Cache<String, SlidingWindowCounter> cache, String key, long now) {
+        if (key != null) {
+            cache.get(key, k -> new SlidingWindowCounter(windowMillis)).increment(now);
+        }
+    }
+
+    /**
+     * Email sem espaços e em minúsculas → "A@x.com " e "a@x.com" contam juntos
+     */
+    private static String normalize(String username) {
+        if (username == null) return null;
+        var trimmed = username.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static String remoteAddress(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details
+            ? details.getRemoteAddress()
+            : null;
+    }
+}
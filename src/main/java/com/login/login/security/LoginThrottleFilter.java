@@ -0,0 +1,61 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.io.IOException;
+
+// Importações Spring
+import org.springframework.http.HttpStatus;                   // 429 Too Many Requests
+import org.springframework.web.filter.OncePerRequestFilter;  // Executa uma vez por requisição
+
+// Importações Jakarta Servlet
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * FILTRO DE LIMITE DE TENTATIVAS NO POST /login
+ *
+ * Fica ANTES do UsernamePasswordAuthenticationFilter:
+ * acima do limite (LoginThrottle), responde HTTP 429 + Retry-After sem
+ * chegar ao AuthenticationManager → nenhuma consulta ao banco e nenhum
+ * hash BCrypt para tentativas já barradas.
+ *
+ * Demais requisições passam direto (shouldNotFilter).
+ */
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private final LoginThrottle throttle;
+    private final String loginProcessingUrl;  // URL do POST de login (SecurityConfig)
+    private final String usernameParameter;   // Campo do formulário com o email
+
+    /**
+     * @param throttle Contadores de falhas
+     * @param loginProcessingUrl Ex: "/login"
+     * @param usernameParameter Ex: "username"
+     */
+    public LoginThrottleFilter(LoginThrottle throttle, String loginProcessingUrl, String usernameParameter) {
+        this.throttle = throttle;
+        this.loginProcessingUrl = loginProcessingUrl;
+        this.usernameParameter = usernameParameter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Caminho sem o context path (servletPath pode vir vazio conforme o mapeamento do DispatcherServlet)
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return !("POST".equals(request.getMethod()) && loginProcessingUrl.equals(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (throttle.isBlocked(request.getRemoteAddr(), request.getParameter(usernameParameter))) {
+            response.setHeader("Retry-After", Long.toString(throttle.retryAfterSeconds()));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;  // Não chama a cadeia → sem autenticação
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,33 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Spring
+import org.springframework.http.HttpStatus;                                   // Código HTTP da resposta
+import org.springframework.security.authentication.AuthenticationServiceException;  // Falha do sistema (não de credencial)
+import org.springframework.web.bind.annotation.ResponseStatus;               // Mapeia a exceção para 503 no MVC
+
+/**
+ * EXECUTOR DE HASH DE SENHAS SATURADO
+ *
+ * Lançada pelo BoundedPasswordEncoder quando a fila de hashing está cheia
+ * ou a espera passou do limite.
+ *
+ * COMO VIRA HTTP 503:
+ * - Controllers (cadastro, reset): @ResponseStatus abaixo
+ * - Login por formulário: é uma AuthenticationException → chega ao
+ *   LoginFailureHandler, que responde 503 em vez de "senha inválida"
+ * - Os dois usam sendError → ERROR dispatch para /error, liberado no
+ *   SecurityConfig (senão o anônimo receberia 302 para o login)
+ *
+ * Não é erro de credencial: o usuário pode tentar de novo em instantes.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    /**
+     * @param message Motivo (fila cheia, tempo esgotado)
+     */
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
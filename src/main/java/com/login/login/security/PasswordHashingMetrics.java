@@ -0,0 +1,68 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Micrometer
+import io.micrometer.core.instrument.FunctionCounter;           // Contador lido de uma função
+import io.micrometer.core.instrument.Gauge;                     // Valor instantâneo
+import io.micrometer.core.instrument.MeterRegistry;             // Registro de métricas
+import io.micrometer.core.instrument.binder.MeterBinder;        // Registrado automaticamente pelo Actuator
+
+// Importações Spring
+import org.springframework.lang.NonNull;
+import org.springframework.security.crypto.password.PasswordEncoder;  // Bean do SecurityConfig
+import org.springframework.stereotype.Component;                      // Componente gerenciado pelo Spring
+
+/**
+ * MÉTRICAS DO HASHING DE SENHAS (BoundedPasswordEncoder)
+ *
+ * Junto com as do pool de conexões (hikaricp.connections.*, publicadas pelo
+ * Spring Boot) mostram QUAL recurso satura primeiro:
+ * - password.hashing.queued > 0 por muito tempo → CPU/BCrypt é o gargalo
+ * - hikaricp.connections.pending > 0 → faltam conexões (ou o banco está lento)
+ *
+ * Métricas:
+ * - password.hashing.threads   Tamanho do executor
+ * - password.hashing.active    Hashes sendo calculados agora
+ * - password.hashing.queued    Pedidos esperando na fila
+ * - password.hashing.rejected  Recusados por fila cheia (503)
+ * - password.hashing.timeouts  Desistências por max-wait (503)
+ *
+ * Lidas sob demanda de stats() → nada é contado em dobro.
+ */
+@Component
+public class PasswordHashingMetrics implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param passwordEncoder Encoder da aplicação (sem métricas se não for BoundedPasswordEncoder)
+     */
+    public PasswordHashingMetrics(PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (!(passwordEncoder instanceof BoundedPasswordEncoder encoder)) {
+            return;
+        }
+
+        Gauge.builder("password.hashing.threads", encoder, e -> e.stats().threads())
+            .description("Threads do executor de hashing de senhas")
+            .register(registry);
+        Gauge.builder("password.hashing.active", encoder, e -> e.stats().active())
+            .description("Hashes de senha sendo calculados")
+            .register(registry);
+        Gauge.builder("password.hashing.queued", encoder, e -> e.stats().queued())
+            .description("Pedidos de hash esperando na fila")
+            .register(registry);
+        FunctionCounter.builder("password.hashing.rejected", encoder, e -> e.stats().rejected())
+            .description("Pedidos de hash recusados por fila cheia")
+            .register(registry);
+        FunctionCounter.builder("password.hashing.timeouts", encoder, e -> e.stats().timedOut())
+            .description("Pedidos de hash que esgotaram a espera máxima")
+            .register(registry);
+    }
+}
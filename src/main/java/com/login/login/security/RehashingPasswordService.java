@@ -0,0 +1,75 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Spring Security
+import org.springframework.security.core.userdetails.UserDetails;                // Usuário autenticado
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;  // Gancho de rehash no login
+import org.springframework.stereotype.Service;                                    // Componente de serviço
+
+// Importações das nossas classes
+import com.login.login.domain.AuthUser;
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+// Importação de transação
+import jakarta.transaction.Transactional;
+
+/**
+ * REHASH DE SENHA NO LOGIN
+ *
+ * O DaoAuthenticationProvider chama este serviço depois de um login com
+ * sucesso quando PasswordEncoder.upgradeEncoding(hashGuardado) = true:
+ * - hash BCrypt com custo menor que o calibrado hoje
+ * - hash antigo sem prefixo {id}, ou de outro algoritmo que não o padrão
+ *
+ * Nesse momento a senha em texto plano é conhecida (acabou de ser
+ * conferida), então o provider gera o hash novo e nós só gravamos.
+ * Usuários migram aos poucos, sem "flag day" nem reset em massa.
+ *
+ * Registrado como bean → o Spring Security o conecta ao provider sozinho.
+ */
+@Service
+public class RehashingPasswordService implements UserDetailsPasswordService {
+
+    private final UserRepository users;
+
+    /**
+     * @param users Repositório de usuários
+     */
+    public RehashingPasswordService(UserRepository users) {
+        this.users = users;
+    }
+
+    /**
+     * GRAVAR O HASH ATUALIZADO
+     *
+     * Um único UPDATE (sem carregar o usuário de novo).
+     *
+     * @param user Usuário que acabou de autenticar
+     * @param newPassword Hash novo (já codificado pelo PasswordEncoder)
+     * @return O mesmo usuário com o hash novo (vira o principal da sessão)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (user instanceof AuthUser authUser) {
+            // Principal do login por formulário (projeção imutável) → cópia com o hash novo
+            // (o provider mantém o principal original na sessão; o hash dele não é usado de novo)
+            users.updatePassword(authUser.id(), newPassword);
+            return authUser.withPassword(newPassword);
+        }
+        if (user instanceof User entity && entity.getId() != null) {
+            users.updatePassword(entity.getId(), newPassword);
+            entity.setPassword(newPassword);
+            return entity;
+        }
+        // Outro tipo de UserDetails: localiza pelo username (email)
+        return users.findByEmail(user.getUsername())
+            .map(entity -> {
+                users.updatePassword(entity.getId(), newPassword);
+                entity.setPassword(newPassword);
+                return (UserDetails) entity;
+            })
+            .orElse(user);
+    }
+}
@@ -0,0 +1,92 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.time.Duration;  // Intervalos de recarga
+import java.util.Locale;    // Normalização do email
+
+// Importações Caffeine (mapa limitado em memória)
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;  // Injeção de configuração
+import org.springframework.stereotype.Component;            // Componente gerenciado pelo Spring
+
+/**
+ * LIMITE DE PEDIDOS DE RESET DE SENHA (POST /auth/forgot)
+ *
+ * Cada pedido aceito custa uma busca de usuário, um INSERT de
+ * PasswordResetToken e um email. Sem limite, um script gera linhas e
+ * tráfego SMTP à vontade.
+ *
+ * Dois TokenBuckets por pedido:
+ * - por IP → um cliente não dispara pedidos para muitos emails
+ * - por email → o mesmo endereço não recebe um email a cada clique
+ *   (cooldown: app.security.reset-throttle.email.refill-seconds)
+ *
+ * Pedido recusado NÃO muda a resposta da tela ("Se o email existir...")
+ * → o limite não revela quais emails estão cadastrados.
+ *
+ * MEMÓRIA: baldes em caches Caffeine limitados (max-keys); um balde
+ * parado há mais tempo que o necessário para encher de novo é descartado.
+ */
+@Component
+public class ResetRequestLimiter {
+
+    private final int emailCapacity;
+    private final long emailRefillMillis;
+    private final int ipCapacity;
+    private final long ipRefillMillis;
+
+    private final Cache<String, TokenBucket> byEmail;  // email normalizado → balde
+    private final Cache<String, TokenBucket> byIp;     // IP → balde
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param emailCapacity app.security.reset-throttle.email.capacity
+     * @param emailRefillSeconds app.security.reset-throttle.email.refill-seconds
+     * @param ipCapacity app.security.reset-throttle.ip.capacity
+     * @param ipRefillSeconds app.security.reset-throttle.ip.refill-seconds
+     * @param maxKeys app.security.reset-throttle.max-keys (por cache)
+     */
+    public ResetRequestLimiter(@Value("${app.security.reset-throttle.email.capacity:1}") int emailCapacity,
+                               @Value("${app.security.reset-throttle.email.refill-seconds:300}") long emailRefillSeconds,
+                               @Value("${app.security.reset-throttle.ip.capacity:5}") int ipCapacity,
+                               @Value("${app.security.reset-throttle.ip.refill-seconds:60}") long ipRefillSeconds,
+                               @Value("${app.security.reset-throttle.max-keys:100000}") long maxKeys) {
+        this.emailCapacity = emailCapacity;
+        this.emailRefillMillis = Duration.ofSeconds(emailRefillSeconds).toMillis();
+        this.ipCapacity = ipCapacity;
+        this.ipRefillMillis = Duration.ofSeconds(ipRefillSeconds).toMillis();
+        this.byEmail = newCache(maxKeys, emailCapacity * emailRefillMillis);
+        this.byIp = newCache(maxKeys, ipCapacity * ipRefillMillis);
+    }
+
+    private static Cache<String, TokenBucket> newCache(long maxKeys, long refillAllMillis) {
+        return Caffeine.newBuilder()
+            .maximumSize(maxKeys)                                  // Memória previsível
+            .expireAfterAccess(Duration.ofMillis(refillAllMillis)) // Parado esse tempo = balde cheio de novo
+            .build();
+    }
+
+    /**
+     * O PEDIDO PODE SEGUIR?
+     *
+     * IP é consultado primeiro: se o IP estourou, a ficha do email não é
+     * gasta (o dono do email não fica bloqueado por causa de um atacante).
+     *
+     * @param ip IP do cliente (pode ser null)
+     * @param email Email informado
+     * @return true se há ficha no IP e no email
+     */
+    public boolean tryAcquire(String ip, String email) {
+        long now = System.currentTimeMillis();
+        if (ip != null && !byIp.get(ip, k -> new TokenBucket(ipCapacity, ipRefillMillis)).tryAcquire(now)) {
+            return false;
+        }
+        var key = email.trim().toLowerCase(Locale.ROOT);  // "A@x.com " e "a@x.com" → mesmo balde
+        return byEmail.get(key, k -> new TokenBucket(emailCapacity, emailRefillMillis)).tryAcquire(now);
+    }
+}
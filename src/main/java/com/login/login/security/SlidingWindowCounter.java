@@ -0,0 +1,101 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.util.concurrent.atomic.AtomicLong;  // Estado inteiro num único long (CAS)
+
+/**
+ * CONTADOR DE JANELA DESLIZANTE SEM LOCK
+ *
+ * Aproxima "quantos eventos nos últimos N ms" com dois baldes:
+ * - balde atual (janela fixa em que "agora" está)
+ * - balde anterior, pesado pela fração dele que ainda cabe na janela
+ *
+ *   estimativa = atual + anterior × (tempo restante da janela anterior / janela)
+ *
+ * ESTADO EM UM ÚNICO AtomicLong (atualizado por compareAndSet):
+ *
+ *   | índice da janela (32 bits) | anterior (16 bits) | atual (16 bits) |
+ *
+ * Sem synchronized: threads concorrentes só repetem o CAS. Contagens
+ * saturam em 65535 (muito acima de qualquer limite de login).
+ */
+public final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;  // 0xFFFF
+
+    private final long windowMillis;                 // Tamanho da janela
+    private final AtomicLong state = new AtomicLong();  // Começa zerado (janela 0, contagens 0)
+
+    /**
+     * @param windowMillis Tamanho da janela em milissegundos (mínimo 1 s,
+     *                     para o índice da janela caber em 32 bits)
+     */
+    public SlidingWindowCounter(long windowMillis) {
+        if (windowMillis < 1000) {
+            throw new IllegalArgumentException("Janela mínima de 1000 ms: " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * REGISTRAR UM EVENTO
+     *
+     * @param nowMillis Instante atual (System.currentTimeMillis)
+     * @return Estimativa de eventos na janela, já contando este
+     */
+    public long increment(long nowMillis) {
+        long window = nowMillis / windowMillis;
+        while (true) {
+            long s = state.get();
+            long previous = previousFor(s, window);
+            long current = Math.min(currentFor(s, window) + 1, COUNT_MASK);
+            if (state.compareAndSet(s, pack(window, previous, current))) {
+                return estimate(previous, current, nowMillis, window);
+            }
+            // Outra thread mudou o estado → tenta de novo com o valor novo
+        }
+    }
+
+    /**
+     * ESTIMATIVA ATUAL (SÓ LEITURA)
+     *
+     * @param nowMillis Instante atual
+     * @return Estimativa de eventos na janela
+     */
+    public long estimate(long nowMillis) {
+        long window = nowMillis / windowMillis;
+        long s = state.get();
+        return estimate(previousFor(s, window), currentFor(s, window), nowMillis, window);
+    }
+
+    // ========== ESTADO EMPACOTADO ==========
+
+    /**
+     * Contagem do balde atual vista da janela "window"
+     */
+    private static long currentFor(long s, long window) {
+        return (s >>> 32) == window ? s & COUNT_MASK : 0;
+    }
+
+    /**
+     * Contagem do balde anterior vista da janela "window"
+     * (se o estado é da janela anterior, o "atual" dele virou o anterior)
+     */
+    private static long previousFor(long s, long window) {
+        long stored = s >>> 32;
+        if (stored == window) return (s >>> COUNT_BITS) & COUNT_MASK;
+        if (stored == window - 1) return s & COUNT_MASK;
+        return 0;  // Estado mais antigo que duas janelas → já não conta
+    }
+
+    private static long pack(long window, long previous, long current) {
+        return (window << 32) | (previous << COUNT_BITS) | current;
+    }
+
+    private long estimate(long previous, long current, long nowMillis, long window) {
+        long elapsed = nowMillis - window * windowMillis;  // Quanto da janela atual já passou
+        return current + previous * (windowMillis - elapsed) / windowMillis;
+    }
+}
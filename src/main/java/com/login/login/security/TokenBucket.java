@@ -0,0 +1,62 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.util.concurrent.atomic.AtomicLong;  // Estado em um único long (CAS)
+
+/**
+ * TOKEN BUCKET SEM LOCK
+ *
+ * Balde com até "capacity" fichas; uma ficha volta a cada "refillMillis".
+ * Cada pedido consome uma ficha; sem ficha → recusado.
+ *
+ * IMPLEMENTAÇÃO (GCRA - Generic Cell Rate Algorithm):
+ * em vez de guardar "fichas restantes" + "última recarga" (dois campos,
+ * precisaria de lock), guardamos só o instante teórico em que o balde
+ * estaria cheio de novo (TAT). Um único AtomicLong, atualizado por CAS:
+ *
+ *   tat = max(tat, agora)
+ *   se tat - agora > (capacity - 1) × refill → sem ficha (recusa)
+ *   senão → tat += refill (consome uma ficha)
+ *
+ * Mesmo comportamento de um token bucket: rajada de até "capacity"
+ * pedidos, depois um pedido a cada "refillMillis".
+ */
+public final class TokenBucket {
+
+    private final long refillMillis;    // Intervalo para recuperar uma ficha
+    private final long burstMillis;     // (capacity - 1) × refill: tolerância de rajada
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);  // Começa cheio
+
+    /**
+     * @param capacity Fichas máximas (rajada)
+     * @param refillMillis Tempo para recuperar uma ficha
+     */
+    public TokenBucket(int capacity, long refillMillis) {
+        if (capacity < 1 || refillMillis < 1) {
+            throw new IllegalArgumentException("capacity e refillMillis devem ser positivos");
+        }
+        this.refillMillis = refillMillis;
+        this.burstMillis = (capacity - 1) * refillMillis;
+    }
+
+    /**
+     * TENTAR CONSUMIR UMA FICHA
+     *
+     * @param nowMillis Instante atual (System.currentTimeMillis)
+     * @return true se havia ficha (pedido liberado)
+     */
+    public boolean tryAcquire(long nowMillis) {
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, nowMillis);
+            if (base - nowMillis > burstMillis) {
+                return false;  // Balde vazio: nenhuma escrita
+            }
+            if (tat.compareAndSet(current, base + refillMillis)) {
+                return true;
+            }
+            // Outra thread consumiu ao mesmo tempo → tenta de novo
+        }
+    }
+}
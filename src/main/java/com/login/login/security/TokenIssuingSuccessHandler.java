@@ -0,0 +1,49 @@
+// Pacote security - componentes de autenticação que não são configuração
+package com.login.login.security;
+
+// Importações Java
+import java.io.IOException;
+
+// Importações Spring Security
+import org.springframework.security.core.Authentication;                                  // Usuário autenticado
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;  // Redirect padrão
+
+// Importações das nossas classes
+import com.login.login.domain.AuthUser;    // Principal carregado pelo UserDetailsService
+import com.login.login.web.AuthCookies;    // Escreve ACCESS_TOKEN + REFRESH_TOKEN
+
+// Importações Jakarta Servlet
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * HANDLER DE SUCESSO DO LOGIN POR FORMULÁRIO
+ *
+ * Além do redirect de sempre (targetUrl), emite os cookies ACCESS_TOKEN e
+ * REFRESH_TOKEN → dali em diante o cliente renova o acesso em
+ * POST /auth/refresh, sem repetir o login (sem BCrypt).
+ */
+public class TokenIssuingSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
+
+    private final AuthCookies cookies;
+
+    /**
+     * @param cookies Emissão dos cookies de autenticação
+     * @param targetUrl Para onde ir após o login (sempre)
+     */
+    public TokenIssuingSuccessHandler(AuthCookies cookies, String targetUrl) {
+        super(targetUrl);
+        setAlwaysUseDefaultTargetUrl(true);  // Mesmo comportamento de defaultSuccessUrl(url, true)
+        this.cookies = cookies;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException, ServletException {
+        if (authentication.getPrincipal() instanceof AuthUser user) {
+            cookies.issue(response, user);
+        }
+        super.onAuthenticationSuccess(request, response, authentication);
+    }
+}
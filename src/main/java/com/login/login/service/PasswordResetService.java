@@ -2,17 +2,21 @@
 package com.login.login.service;
 
 // Importações Java
-import java.time.Instant;  // Para trabalhar com timestamps UTC
-import java.util.UUID;     // Para gerar tokens únicos
+import java.time.Instant;    // Para trabalhar com timestamps UTC
+import java.util.ArrayList;  // IDs do lote de limpeza
+import java.util.UUID;       // Para gerar tokens únicos
 
 // Importações Spring
 import org.springframework.beans.factory.annotation.Value;  // Injeta valores de configuração
+import org.springframework.context.ApplicationEventPublisher;  // Publica eventos da aplicação
+import org.springframework.context.i18n.LocaleContextHolder;   // Idioma da requisição atual
+import org.springframework.data.domain.PageRequest;            // Tamanho do lote de limpeza
 import org.springframework.security.crypto.password.PasswordEncoder;  // Interface para hash de senhas
 import org.springframework.stereotype.Service;  // Marca como componente de serviço
 
 // Importações das nossas classes
 import com.login.login.domain.PasswordResetToken;  // Entidade do token de reset
-import com.login.login.mail.MailService;           // Serviço de envio de emails
+import com.login.login.mail.MailOutbox;            // Fila persistente de emails
 import com.login.login.repo.PasswordResetTokenRepository;  // Repositório de tokens
 import com.login.login.repo.UserRepository;        // Repositório de usuários
 
@@ -27,7 +31,7 @@ import jakarta.transaction.Transactional;  // Controle de transações de banco
  * FLUXO COMPLETO:
  * 1. Usuário solicita reset informando email
  * 2. Sistema gera token único com expiração
- * 3. Token é enviado por email
+ * 3. Email com o token entra na outbox (enviado em background)
  * 4. Usuário clica no link e acessa formulário
  * 5. Usuário informa nova senha
  * 6. Sistema valida token e atualiza senha
@@ -52,7 +56,8 @@ public class PasswordResetService {
     private final UserRepository users;                    // Acesso aos usuários
     private final PasswordResetTokenRepository tokens;    // Acesso aos tokens de reset
     private final PasswordEncoder encoder;                // Hash de senhas (BCrypt)
-    private final MailService mail;                       // Envio de emails
+    private final MailOutbox mail;                        // Fila de emails (envio em background)
+    private final ApplicationEventPublisher events;       // Avisa que sessões antigas caíram
 
     /**
      * CONFIGURAÇÃO EXTERNA
@@ -81,13 +86,16 @@ public class PasswordResetService {
      * @param u UserRepository
      * @param t PasswordResetTokenRepository  
      * @param e PasswordEncoder
-     * @param m MailService
+     * @param m MailOutbox
+     * @param ev ApplicationEventPublisher
      */
-    public PasswordResetService (UserRepository u, PasswordResetTokenRepository t, PasswordEncoder e, MailService m) {
+    public PasswordResetService (UserRepository u, PasswordResetTokenRepository t, PasswordEncoder e, MailOutbox m,
+                                 ApplicationEventPublisher ev) {
         this.users = u;
         this.tokens = t;
         this.encoder = e;
         this.mail = m;
+        this.events = ev;
     }
 
     /**
@@ -95,6 +103,10 @@ public class PasswordResetService {
      * 
      * @Transactional - operação atômica (rollback em caso de erro)
      * 
+     * SEM SMTP AQUI: o email vai para a outbox na mesma transação do token
+     * e o MailOutboxDispatcher entrega depois. A requisição não segura
+     * conexão do banco nem thread do Tomcat esperando o servidor de email.
+     * 
      * SEGURANÇA - PROTEÇÃO CONTRA ENUMERAÇÃO:
      * - Não revela se email existe ou não
      * - Sempre retorna sucesso para o usuário
@@ -130,10 +142,10 @@ public class PasswordResetService {
         // SALVAR TOKEN NO BANCO
         tokens.save(prt);
 
-        // ENVIAR EMAIL COM LINK DE RESET
-        mail.sendResetEmail(user.getEmail(), prt.getToken());
-        //                                   ↑
-        //                          Link: /reset-password?token=abc123
+        // ENFILEIRAR EMAIL COM LINK DE RESET (commit junto com o token)
+        mail.enqueuePasswordReset(user.getEmail(), prt.getToken(), LocaleContextHolder.getLocale());
+        //                                                           ↑
+        //                                  Idioma capturado agora (dispatcher roda fora da requisição)
     }
     
     /**
@@ -148,6 +160,7 @@ public class PasswordResetService {
      * 2. Token não expirou
      * 3. Nova senha é hasheada
      * 4. Token marcado como usado
+     * 5. Tokens/sessões emitidos antes da troca são invalidados (evento)
      * 
      * @param token Token recebido via URL
      * @param newPassword Nova senha em texto plano
@@ -180,6 +193,31 @@ public class PasswordResetService {
         // SALVAR ALTERAÇÕES NO BANCO
         users.save(user);    // Atualiza senha do usuário
         tokens.save(prt);    // Marca token como usado
+
+        // INVALIDAR TOKENS JÁ EMITIDOS (quem roubou a senha antiga perde o acesso)
+        events.publishEvent(new UserSessionsInvalidatedEvent(user.getId()));
+    }
+
+    /**
+     * APAGAR UM LOTE DE TOKENS EXPIRADOS OU JÁ USADOS
+     * 
+     * Chamado em loop pelo PasswordResetTokenReaper; cada lote é uma
+     * transação curta (SELECT de IDs + um DELETE ... WHERE id IN).
+     * 
+     * 1. Expirados primeiro (índice em expires_at)
+     * 2. Se sobrar espaço no lote, os já usados que ainda não expiraram
+     * 
+     * @param now Momento de referência (o mesmo para a execução inteira)
+     * @param batchSize Máximo de linhas neste lote
+     * @return int linhas apagadas (menor que batchSize = nada mais a apagar)
+     */
+    @Transactional
+    public int purgeBatch(Instant now, int batchSize) {
+        var ids = new ArrayList<>(tokens.findExpiredIds(now, PageRequest.of(0, batchSize)));
+        if (ids.size() < batchSize) {
+            ids.addAll(tokens.findUsedIds(now, PageRequest.of(0, batchSize - ids.size())));
+        }
+        return ids.isEmpty() ? 0 : tokens.deleteByIdIn(ids);
     }
     
     /*
@@ -202,13 +240,6 @@ public class PasswordResetService {
      *     }
      * }
      * 
-     * @Scheduled(cron = "0 0 1 * * ?") // Todo dia às 1h da manhã
-     * @Transactional
-     * public void cleanupExpiredTokens() {
-     *     Instant oneDayAgo = Instant.now().minusSeconds(86400);
-     *     tokens.deleteByExpiresAtBefore(oneDayAgo);
-     * }
-     * 
      * public void requestWithRateLimit(String email) {
      *     // Verificar se não há muitas tentativas recentes do mesmo email
      *     long recentRequests = tokens.countByUserEmailAndCreatedAtAfter(
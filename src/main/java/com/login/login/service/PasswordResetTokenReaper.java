@@ -0,0 +1,112 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+// Importações Java
+import java.time.Duration;                          // Tempo gasto
+import java.time.Instant;                           // Momento de referência da limpeza
+import java.util.concurrent.atomic.AtomicReference; // Última execução
+import java.util.concurrent.atomic.LongAdder;       // Total apagado
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;   // Injeção de configuração
+import org.springframework.scheduling.annotation.Scheduled;  // Execução periódica
+import org.springframework.stereotype.Component;             // Componente gerenciado pelo Spring
+
+/**
+ * LIMPEZA PERIÓDICA DE TOKENS DE RESET
+ *
+ * A tabela password_reset_token só recebia INSERTs (e used=true): crescia
+ * para sempre, junto com o índice único de token.
+ *
+ * A cada app.security.reset-token-reaper.interval-ms:
+ * - Apaga tokens expirados ou já usados em lotes de batch-size linhas
+ *   (PasswordResetService.purgeBatch: um DELETE por lote, transação curta)
+ * - Repete enquanto os lotes vierem cheios, até max-batches por execução
+ *   (o restante fica para a próxima; nunca segura o banco por muito tempo)
+ * - Registra linhas apagadas e tempo gasto (log + lastRun/totalPurged)
+ */
+@Component
+public class PasswordResetTokenReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordResetTokenReaper.class);
+
+    private final PasswordResetService resets;
+    private final int batchSize;     // Linhas por DELETE
+    private final int maxBatches;    // Lotes por execução
+
+    private final LongAdder totalPurged = new LongAdder();
+    private final AtomicReference<Result> lastRun = new AtomicReference<>();
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param resets Serviço que apaga cada lote (transacional)
+     * @param batchSize app.security.reset-token-reaper.batch-size
+     * @param maxBatches app.security.reset-token-reaper.max-batches
+     */
+    public PasswordResetTokenReaper(PasswordResetService resets,
+                                    @Value("${app.security.reset-token-reaper.batch-size:500}") int batchSize,
+                                    @Value("${app.security.reset-token-reaper.max-batches:100}") int maxBatches) {
+        this.resets = resets;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * EXECUTAR UMA LIMPEZA
+     *
+     * @return Result linhas apagadas, lotes e tempo gasto
+     */
+    @Scheduled(fixedDelayString = "${app.security.reset-token-reaper.interval-ms:3600000}",
+               initialDelayString = "${app.security.reset-token-reaper.initial-delay-ms:60000}")
+    public Result purge() {
+        long start = System.nanoTime();
+        var now = Instant.now();  // Mesmo corte para todos os lotes
+
+        long purged = 0;
+        int batches = 0;
+        int deleted;
+        do {
+            deleted = resets.purgeBatch(now, batchSize);
+            purged += deleted;
+            batches++;
+        } while (deleted == batchSize && batches < maxBatches);  // Lote cheio → pode haver mais
+
+        var result = new Result(purged, batches, Duration.ofNanos(System.nanoTime() - start));
+        totalPurged.add(purged);
+        lastRun.set(result);
+        if (purged > 0) {
+            log.info("Tokens de reset removidos: {} em {} lote(s), {} ms",
+                purged, batches, result.elapsed().toMillis());
+        }
+        return result;
+    }
+
+    /**
+     * Linhas apagadas desde o início da aplicação
+     */
+    public long totalPurged() {
+        return totalPurged.sum();
+    }
+
+    /**
+     * Resultado da última execução (null se ainda não rodou)
+     */
+    public Result lastRun() {
+        return lastRun.get();
+    }
+
+    /**
+     * RESULTADO DE UMA EXECUÇÃO
+     *
+     * @param purged Linhas apagadas
+     * @param batches Lotes executados
+     * @param elapsed Tempo total
+     */
+    public record Result(long purged, int batches, Duration elapsed) {
+    }
+}
@@ -0,0 +1,281 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+// Importações Java
+import java.sql.Connection;                      // Metadados do banco
+import java.sql.SQLException;                    // Falha ao ler metadados
+import java.time.Duration;                       // Tempo gasto
+import java.time.Instant;                        // Momento de referência
+import java.time.YearMonth;                      // Mês de cada partição
+import java.time.ZoneOffset;                     // Limites das partições em UTC
+import java.time.format.DateTimeFormatter;       // Nome refresh_token_pAAAAMM
+import java.util.ArrayList;                      // Partições faltando
+import java.util.HashMap;                        // Partições existentes
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;                       // Nome fora do padrão
+import java.util.Set;
+import java.util.regex.Pattern;                  // Valida nomes antes do DDL
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;   // Injeção de configuração
+import org.springframework.jdbc.core.ConnectionCallback;     // Acesso aos metadados
+import org.springframework.jdbc.core.JdbcTemplate;           // DDL das partições
+import org.springframework.scheduling.annotation.Scheduled;  // Execução periódica
+import org.springframework.stereotype.Component;             // Componente gerenciado pelo Spring
+
+/**
+ * COMPACTAÇÃO DE REFRESH TOKENS EXPIRADOS
+ *
+ * Linhas de refresh_token não servem para nada depois de expires_at,
+ * mas nunca eram removidas.
+ *
+ * POSTGRESQL (tabela particionada por mês de expires_at, Flyway V5):
+ * - Partições cujo mês inteiro já expirou: DETACH PARTITION CONCURRENTLY
+ *   e depois DROP TABLE
+ *   → sem DELETE linha a linha: nada de tuplas mortas para o vacuum,
+ *     índices não crescem com o volume de logins
+ *   → DROP direto pegaria ACCESS EXCLUSIVE na tabela pai e travaria os
+ *     logins; o DETACH CONCURRENTLY só pega SHARE UPDATE EXCLUSIVE, e o DROP
+ *     de uma tabela já solta não toca na pai (PostgreSQL 14+)
+ *   → DETACH interrompido (detach pendente) é concluído com FINALIZE
+ * - Cria antes as partições dos próximos meses (months-ahead), para que
+ *   todo token emitido tenha onde cair
+ * - Sem partição DEFAULT: o PostgreSQL não aceita DETACH CONCURRENTLY com
+ *   ela. Se o compactor ficar parado além de months-ahead, os INSERTs de
+ *   login falhariam → missingPartitions alimenta o health check
+ *   (RefreshTokenPartitionHealthIndicator), que fica DOWN antes disso
+ *
+ * DEMAIS BANCOS (H2) ou tabela não particionada:
+ * - Um DELETE dos expirados (RefreshTokenService.purgeExpired)
+ *
+ * O modo é detectado na primeira execução (produto do banco +
+ * pg_partitioned_table).
+ */
+@Component
+public class RefreshTokenCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenCompactor.class);
+
+    /**
+     * Tabela particionada e prefixo das partições (refresh_token_p202610)
+     */
+    static final String TABLE = "refresh_token";
+    static final String PARTITION_PREFIX = TABLE + "_p";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{6})");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbc;
+    private final RefreshTokenService refreshTokens;
+    private final int monthsAhead;          // Partições futuras garantidas
+    private final Duration refreshTtl;      // Expiração mais distante de um token novo
+    private volatile Boolean partitioned;   // null = ainda não detectado
+
+    /**
+     * CONSTRUTOR
+     *
+     * months-ahead nunca fica abaixo do necessário para cobrir o TTL do
+     * refresh token (senão um INSERT cairia fora de qualquer partição).
+     *
+     * @param jdbc Acesso JDBC (DDL das partições)
+     * @param refreshTokens DELETE dos expirados (fallback)
+     * @param monthsAhead app.security.refresh-token-compactor.months-ahead
+     * @param refreshTtlDays app.jwt.refresh-ttl-days
+     */
+    public RefreshTokenCompactor(JdbcTemplate jdbc,
+                                 RefreshTokenService refreshTokens,
+                                 @Value("${app.security.refresh-token-compactor.months-ahead:2}") int monthsAhead,
+                                 @Value("${app.jwt.refresh-ttl-days:7}") long refreshTtlDays) {
+        this.jdbc = jdbc;
+        this.refreshTokens = refreshTokens;
+        this.monthsAhead = Math.max(monthsAhead, (int) (refreshTtlDays / 28) + 1);
+        this.refreshTtl = Duration.ofDays(refreshTtlDays);
+    }
+
+    /**
+     * EXECUTAR UMA COMPACTAÇÃO
+     *
+     * @return Result o que foi feito e quanto tempo levou
+     */
+    @Scheduled(fixedDelayString = "${app.security.refresh-token-compactor.interval-ms:3600000}",
+               initialDelayString = "${app.security.refresh-token-compactor.initial-delay-ms:120000}")
+    public Result compact() {
+        long start = System.nanoTime();
+        var now = Instant.now();
+
+        Result result;
+        if (isPartitioned()) {
+            var existing = partitions();
+            int created = createUpcoming(existing.keySet(), now);
+            int dropped = dropExpired(existing, now);
+            result = new Result(true, created, dropped, 0, Duration.ofNanos(System.nanoTime() - start));
+        } else {
+            int deleted = refreshTokens.purgeExpired(now);
+            result = new Result(false, 0, 0, deleted, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        if (result.partitionsDropped() > 0 || result.partitionsCreated() > 0 || result.rowsDeleted() > 0) {
+            log.info("Refresh tokens compactados: {} partição(ões) descartada(s), {} criada(s), {} linha(s) apagada(s), {} ms",
+                result.partitionsDropped(), result.partitionsCreated(), result.rowsDeleted(), result.elapsed().toMillis());
+        }
+        return result;
+    }
+
+    /**
+     * PARTIÇÕES FALTANDO PARA OS TOKENS EMITIDOS AGORA
+     *
+     * Meses do mês atual até o de (agora + refresh TTL) sem partição
+     * anexada: um login com expiração nesses meses teria o INSERT recusado.
+     *
+     * @param now Momento de referência
+     * @return List<YearMonth> vazia = tudo certo (ou tabela não particionada)
+     */
+    public List<YearMonth> missingPartitions(Instant now) {
+        var missing = new ArrayList<YearMonth>();
+        if (!isPartitioned()) {
+            return missing;
+        }
+        var existing = partitions();
+        var month = YearMonth.from(now.atZone(ZoneOffset.UTC));
+        var last = YearMonth.from(now.plus(refreshTtl).atZone(ZoneOffset.UTC));
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (existing.get(month) != Partition.ATTACHED) {
+                missing.add(month);
+            }
+        }
+        return missing;
+    }
+
+    // ========== POSTGRESQL ==========
+
+    private boolean isPartitioned() {
+        var detected = partitioned;
+        if (detected == null) {
+            detected = Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) RefreshTokenCompactor::isPostgres))
+                && jdbc.queryForObject("""
+                    select count(*) from pg_partitioned_table pt
+                    join pg_class c on c.oid = pt.partrelid
+                    where c.relname = ?""", Integer.class, TABLE) > 0;
+            partitioned = detected;
+        }
+        return detected;
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * Partições existentes por mês (nomes fora do padrão são ignorados)
+     *
+     * Inclui tabelas refresh_token_pAAAAMM já soltas da pai (DROP que não
+     * chegou a rodar depois do DETACH) para serem descartadas.
+     */
+    private Map<YearMonth, Partition> partitions() {
+        var months = new HashMap<YearMonth, Partition>();
+        jdbc.query("""
+            select c.relname, i.inhrelid is not null as attached, coalesce(i.inhdetachpending, false) as pending
+            from pg_class c
+            left join pg_inherits i on i.inhrelid = c.oid
+                and i.inhparent = (select p.oid from pg_class p
+                                   where p.relname = ? and p.relnamespace = c.relnamespace)
+            where c.relkind = 'r'
+              and c.relnamespace = current_schema()::regnamespace
+              and c.relname like ?""",
+            rs -> {
+                var state = !rs.getBoolean("attached") ? Partition.DETACHED
+                    : rs.getBoolean("pending") ? Partition.DETACH_PENDING
+                    : Partition.ATTACHED;
+                monthOf(rs.getString("relname")).ifPresent(month -> months.put(month, state));
+            },
+            TABLE, PARTITION_PREFIX.replace("_", "\\_") + "%");
+        return months;
+    }
+
+    private int createUpcoming(Set<YearMonth> existing, Instant now) {
+        int created = 0;
+        var current = YearMonth.from(now.atZone(ZoneOffset.UTC));
+        for (int i = 0; i <= monthsAhead; i++) {
+            var month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                jdbc.execute("create table if not exists %s partition of %s for values from ('%s') to ('%s')"
+                    .formatted(partitionName(month), TABLE, lowerBound(month), lowerBound(month.plusMonths(1))));
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private int dropExpired(Map<YearMonth, Partition> existing, Instant now) {
+        int dropped = 0;
+        for (var entry : existing.entrySet()) {
+            if (!isExpired(entry.getKey(), now)) {
+                continue;
+            }
+            var name = partitionName(entry.getKey());  // Nome montado por nós, não pelo usuário
+            switch (entry.getValue()) {
+                case ATTACHED -> jdbc.execute("alter table %s detach partition %s concurrently".formatted(TABLE, name));
+                case DETACH_PENDING -> jdbc.execute("alter table %s detach partition %s finalize".formatted(TABLE, name));
+                case DETACHED -> { }  // Já solta: só falta o DROP
+            }
+            jdbc.execute("drop table if exists " + name);
+            dropped++;
+        }
+        return dropped;
+    }
+
+    /**
+     * Estado de uma tabela refresh_token_pAAAAMM
+     */
+    private enum Partition {
+        ATTACHED,        // Partição da refresh_token
+        DETACH_PENDING,  // DETACH CONCURRENTLY interrompido
+        DETACHED         // Solta, aguardando DROP
+    }
+
+    // ========== NOMES E LIMITES (UTC) ==========
+
+    /**
+     * @return "refresh_token_pAAAAMM"
+     */
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + MONTH.format(month);
+    }
+
+    /**
+     * Mês de uma partição pelo nome (vazio se fora do padrão)
+     */
+    static Optional<YearMonth> monthOf(String partitionName) {
+        var m = PARTITION_NAME.matcher(partitionName);
+        return m.matches() ? Optional.of(YearMonth.parse(m.group(1), MONTH)) : Optional.empty();
+    }
+
+    /**
+     * O mês inteiro já expirou? (limite superior da partição ≤ agora)
+     */
+    static boolean isExpired(YearMonth month, Instant now) {
+        return !month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().isAfter(now);
+    }
+
+    private static String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";  // Literal timestamptz em UTC
+    }
+
+    /**
+     * RESULTADO DE UMA EXECUÇÃO
+     *
+     * @param partitioned true = modo partições (PostgreSQL), false = DELETE
+     * @param partitionsCreated Partições futuras criadas
+     * @param partitionsDropped Partições expiradas descartadas
+     * @param rowsDeleted Linhas apagadas (modo DELETE)
+     * @param elapsed Tempo total
+     */
+    public record Result(boolean partitioned, int partitionsCreated, int partitionsDropped,
+                         long rowsDeleted, Duration elapsed) {
+    }
+}
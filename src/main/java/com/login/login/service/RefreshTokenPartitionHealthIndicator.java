@@ -0,0 +1,49 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+// Importações Java
+import java.time.Instant;  // Momento de referência
+
+// Importações Spring Boot Actuator
+import org.springframework.boot.actuate.health.Health;            // Resultado do health check
+import org.springframework.boot.actuate.health.HealthIndicator;   // Registrado automaticamente em /actuator/health
+import org.springframework.stereotype.Component;                  // Componente gerenciado pelo Spring
+
+/**
+ * HEALTH CHECK DAS PARTIÇÕES DE REFRESH_TOKEN (POSTGRESQL)
+ *
+ * Sem partição DEFAULT (incompatível com DETACH CONCURRENTLY), um token cuja
+ * expiração cai num mês sem partição tem o INSERT recusado → o login falha.
+ * O RefreshTokenCompactor cria os meses seguintes com antecedência; se ele
+ * parar, este indicador fica DOWN enquanto ainda há margem para agir.
+ *
+ * Em /actuator/health como "refreshTokenPartition":
+ * - UP: partições do mês atual até o de (agora + refresh TTL) anexadas,
+ *   ou tabela não particionada (H2)
+ * - DOWN: detalhe "missing" com os meses faltando (AAAA-MM)
+ */
+@Component
+public class RefreshTokenPartitionHealthIndicator implements HealthIndicator {
+
+    private final RefreshTokenCompactor compactor;
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param compactor Quem sabe quais partições existem
+     */
+    public RefreshTokenPartitionHealthIndicator(RefreshTokenCompactor compactor) {
+        this.compactor = compactor;
+    }
+
+    @Override
+    public Health health() {
+        var missing = compactor.missingPartitions(Instant.now());
+        if (missing.isEmpty()) {
+            return Health.up().build();
+        }
+        return Health.down()
+            .withDetail("missing", missing.stream().map(Object::toString).toList())
+            .build();
+    }
+}
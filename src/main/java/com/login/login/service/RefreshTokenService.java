@@ -0,0 +1,266 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+// Importações Java
+import java.nio.charset.StandardCharsets;      // Bytes do token para o hash
+import java.security.MessageDigest;            // SHA-256
+import java.security.NoSuchAlgorithmException; // SHA-256 sempre existe na JVM
+import java.security.SecureRandom;             // Token imprevisível
+import java.time.Duration;                     // Tempo de vida
+import java.time.Instant;                      // Expiração (UTC)
+import java.util.Base64;                       // Token e hash em texto
+import java.util.Optional;                     // Rotação pode falhar
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;  // Injeta valores de configuração
+import org.springframework.context.event.EventListener;     // Escuta invalidação de sessões
+import org.springframework.stereotype.Service;              // Marca como componente de serviço
+
+// Importações das nossas classes
+import com.login.login.domain.AuthUser;                 // Usuário do login (projeção)
+import com.login.login.domain.RefreshToken;             // Entidade do refresh token
+import com.login.login.domain.User;                     // Dono do token
+import com.login.login.repo.RefreshTokenRepository;     // Repositório de refresh tokens
+import com.login.login.repo.UserRepository;             // Referência ao dono (sem SELECT)
+
+// Importação de transação
+import jakarta.transaction.Transactional;  // Controle de transações de banco
+
+/**
+ * SERVIÇO DE REFRESH TOKENS (ROTAÇÃO COM DETECÇÃO DE REUSO)
+ *
+ * Permite access tokens de vida curta sem obrigar o usuário a repetir o
+ * login por formulário (findByEmail + BCrypt) a cada expiração.
+ *
+ * TOKEN OPACO:
+ * - 32 bytes aleatórios (SecureRandom) em Base64 URL → vai no cookie
+ * - No banco fica só o SHA-256 (RefreshToken.tokenHash)
+ *   → vazamento do banco não entrega tokens utilizáveis
+ * - SHA-256 basta (não BCrypt): o token já tem 256 bits de entropia,
+ *   não há o que "adivinhar" por força bruta
+ *
+ * ROTAÇÃO (rotate):
+ * 1. Um SELECT pelo hash (índice único) já trazendo o usuário
+ * 2. UPDATE condicional revoga o token apresentado (só uma requisição vence)
+ * 3. INSERT do novo token na MESMA família
+ * Tudo na mesma transação → nunca fica "meio trocado".
+ *
+ * DETECÇÃO DE REUSO:
+ * Token revogado apresentado de novo (ou perdido na corrida do UPDATE)
+ * = existe uma cópia em outro lugar → revoga a família inteira.
+ * Ladrão e usuário legítimo perdem o refresh; o usuário faz login de novo.
+ *
+ * SESSÕES INVALIDADAS (UserSessionsInvalidatedEvent: senha redefinida,
+ * conta desabilitada, "sair de todos os dispositivos"):
+ * todos os tokens do usuário caem em um único UPDATE (revokeAll).
+ */
+@Service  // Componente Spring gerenciado pelo container de IoC
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    /**
+     * Bytes aleatórios por token (256 bits)
+     */
+    static final int TOKEN_BYTES = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();  // Thread-safe
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();  // Seguro em cookie
+
+    private final RefreshTokenRepository tokens;  // Acesso aos refresh tokens
+    private final UserRepository users;           // Referência ao dono do token
+    private final Duration ttl;                   // Vida de cada token
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param tokens Repositório de refresh tokens
+     * @param users Repositório de usuários (getReferenceById, sem SELECT)
+     * @param ttlDays app.jwt.refresh-ttl-days
+     */
+    public RefreshTokenService(RefreshTokenRepository tokens,
+                               UserRepository users,
+                               @Value("${app.jwt.refresh-ttl-days:7}") long ttlDays) {
+        this.tokens = tokens;
+        this.users = users;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    /**
+     * EMITIR REFRESH TOKEN (LOGIN)
+     *
+     * Abre uma família nova (RefreshToken.familyId padrão).
+     *
+     * @param user Usuário autenticado
+     * @return IssuedToken valor em texto (só existe aqui) + expiração
+     */
+    @Transactional
+    public IssuedToken issue(User user) {
+        return save(RefreshToken.builder().user(user));
+    }
+
+    /**
+     * EMITIR REFRESH TOKEN PARA O USUÁRIO DO LOGIN POR FORMULÁRIO
+     *
+     * O dono entra como referência (proxy só com o id): o INSERT precisa
+     * apenas do user_id, nenhum SELECT de users.
+     *
+     * @param user Usuário autenticado (projeção AuthUser)
+     * @return IssuedToken valor em texto (só existe aqui) + expiração
+     */
+    @Transactional
+    public IssuedToken issue(AuthUser user) {
+        return issue(users.getReferenceById(user.id()));
+    }
+
+    /**
+     * TROCAR REFRESH TOKEN POR UM NOVO
+     *
+     * Vazio quando o token é desconhecido, expirado, de usuário
+     * desabilitado ou reusado. Resultado vazio em vez de exceção: a
+     * revogação da família precisa ser gravada (exceção faria rollback).
+     *
+     * @param rawToken Valor recebido no cookie REFRESH_TOKEN (pode ser null)
+     * @return Optional<Rotation> usuário + novo refresh token
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        // 1. BUSCA ÚNICA PELO HASH (já com o usuário)
+        var current = tokens.findWithUserByTokenHash(hash(rawToken)).orElse(null);
+        if (current == null) {
+            return Optional.empty();  // Token desconhecido
+        }
+
+        // 2. REUSO: token já trocado antes
+        if (current.isRevoked()) {
+            revokeFamilyOnReuse(current);
+            return Optional.empty();
+        }
+
+        // 3. EXPIRADO OU USUÁRIO DESABILITADO
+        var user = current.getUser();
+        if (current.getExpiresAt().isBefore(Instant.now()) || !user.isEnabled()) {
+            tokens.revokeFamily(current.getFamilyId());
+            return Optional.empty();
+        }
+
+        // 4. REVOGAR O ATUAL (UPDATE condicional: perdeu a corrida = reuso)
+        if (tokens.revokeIfActive(current.getId()) == 0) {
+            revokeFamilyOnReuse(current);
+            return Optional.empty();
+        }
+
+        // 5. NOVO TOKEN NA MESMA FAMÍLIA
+        var next = save(RefreshToken.builder().user(user).familyId(current.getFamilyId()));
+        return Optional.of(new Rotation(user, next));
+    }
+
+    /**
+     * REVOGAR A FAMÍLIA DO TOKEN (LOGOUT)
+     *
+     * Token desconhecido é ignorado (logout nunca falha).
+     *
+     * @param rawToken Valor recebido no cookie REFRESH_TOKEN (pode ser null)
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        tokens.findByTokenHash(hash(rawToken))
+            .ifPresent(t -> tokens.revokeFamily(t.getFamilyId()));
+    }
+
+    /**
+     * REVOGAR TODOS OS REFRESH TOKENS DO USUÁRIO
+     *
+     * @param userId ID do usuário
+     * @return int tokens revogados agora
+     */
+    @Transactional
+    public int revokeAll(Long userId) {
+        return tokens.revokeAllByUserId(userId);
+    }
+
+    /**
+     * APAGAR TOKENS EXPIRADOS (um DELETE; fallback sem partições)
+     *
+     * @param now Momento de referência
+     * @return int linhas apagadas
+     */
+    @Transactional
+    public int purgeExpired(Instant now) {
+        return tokens.deleteExpired(now);
+    }
+
+    /**
+     * ESCUTAR INVALIDAÇÃO DE SESSÕES
+     *
+     * Evento síncrono → roda na transação de quem publicou (ex: reset de
+     * senha): senha nova e tokens revogados são gravados juntos.
+     */
+    @EventListener
+    @Transactional
+    public void onSessionsInvalidated(UserSessionsInvalidatedEvent event) {
+        revokeAll(event.userId());
+    }
+
+    // ========== AUXILIARES ==========
+
+    private IssuedToken save(RefreshToken.RefreshTokenBuilder builder) {
+        var raw = newToken();
+        var expiresAt = Instant.now().plus(ttl);
+        tokens.save(builder.tokenHash(hash(raw)).expiresAt(expiresAt).build());
+        return new IssuedToken(raw, expiresAt);
+    }
+
+    private void revokeFamilyOnReuse(RefreshToken token) {
+        int revoked = tokens.revokeFamily(token.getFamilyId());
+        log.warn("Reuso de refresh token detectado: família {} do usuário {} revogada ({} token(s) ativos)",
+            token.getFamilyId(), token.getUser().getId(), revoked);
+    }
+
+    private static String newToken() {
+        var bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);  // 43 caracteres
+    }
+
+    /**
+     * SHA-256 DO TOKEN EM BASE64 URL (43 caracteres, cabe em token_hash)
+     */
+    static String hash(String rawToken) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");  // Não é thread-safe → um por chamada
+            return ENCODER.encodeToString(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);  // Obrigatório em toda JVM
+        }
+    }
+
+    /**
+     * REFRESH TOKEN EMITIDO
+     *
+     * @param value Valor em texto (vai para o cookie; nunca é gravado)
+     * @param expiresAt Expiração
+     */
+    public record IssuedToken(String value, Instant expiresAt) {
+    }
+
+    /**
+     * RESULTADO DE UMA ROTAÇÃO
+     *
+     * @param user Dono do token (para emitir o novo access token)
+     * @param refreshToken Novo refresh token
+     */
+    public record Rotation(User user, IssuedToken refreshToken) {
+    }
+}
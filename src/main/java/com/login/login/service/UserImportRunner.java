@@ -0,0 +1,82 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+// Importações Java
+import java.nio.charset.StandardCharsets;  // Arquivo em UTF-8
+import java.nio.file.Files;                // Leitura em streaming
+import java.nio.file.Path;                 // Arquivo de origem
+import java.util.Locale;                   // Formato informado em qualquer caixa
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;                          // Injeção de configuração
+import org.springframework.boot.ApplicationArguments;                               // Argumentos da linha de comando
+import org.springframework.boot.ApplicationRunner;                                  // Roda após o startup
+import org.springframework.boot.SpringApplication;                                  // Encerramento ordenado
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;      // Só com arquivo informado
+import org.springframework.context.ConfigurableApplicationContext;                  // Contexto a encerrar
+import org.springframework.stereotype.Component;                                    // Componente gerenciado pelo Spring
+
+/**
+ * IMPORTAÇÃO DE USUÁRIOS PELA LINHA DE COMANDO
+ *
+ * Só existe quando app.import.users.file é informado:
+ *
+ *   java -jar login.jar --app.import.users.file=/dados/usuarios.csv \
+ *        --spring.main.web-application-type=none --app.import.users.exit=true
+ *
+ * Formato pela extensão (.csv, .jsonl) ou por app.import.users.format.
+ * Com exit=true a aplicação termina ao final (código 0 = sucesso).
+ */
+@Component
+@ConditionalOnProperty(name = "app.import.users.file")
+public class UserImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportRunner.class);
+
+    private final UserImporter importer;
+    private final ConfigurableApplicationContext context;
+    private final Path file;        // app.import.users.file
+    private final String format;    // app.import.users.format (vazio = pela extensão)
+    private final boolean exit;     // app.import.users.exit
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param importer Importação em lotes
+     * @param context Contexto encerrado ao final (exit=true)
+     * @param file app.import.users.file
+     * @param format app.import.users.format
+     * @param exit app.import.users.exit
+     */
+    public UserImportRunner(UserImporter importer,
+                            ConfigurableApplicationContext context,
+                            @Value("${app.import.users.file}") Path file,
+                            @Value("${app.import.users.format:}") String format,
+                            @Value("${app.import.users.exit:false}") boolean exit) {
+        this.importer = importer;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        var fileFormat = format.isBlank()
+            ? UserImporter.Format.fromFileName(file.getFileName().toString())
+            : UserImporter.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+
+        log.info("Importando usuários de {} ({})", file, fileFormat);
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            importer.importUsers(reader, fileFormat);
+        }
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,561 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+// Importações Java
+import java.io.BufferedReader;                   // Leitura linha a linha (streaming)
+import java.io.IOException;                      // Falha de leitura da origem
+import java.io.Reader;                           // Origem dos dados (arquivo, upload...)
+import java.sql.Connection;                      // Metadados do banco
+import java.sql.PreparedStatement;               // Parâmetros do INSERT em lote
+import java.sql.SQLException;
+import java.sql.Statement;                       // SUCCESS_NO_INFO
+import java.time.Duration;                       // Tempo gasto
+import java.util.ArrayList;                      // Lote atual
+import java.util.Collections;                    // Placeholders do IN
+import java.util.HashMap;                        // Colunas do cabeçalho CSV
+import java.util.List;
+import java.util.Locale;                         // Nomes de colunas/extensões
+import java.util.Map;
+import java.util.regex.Pattern;                  // Formato do hash BCrypt
+
+// Importações de log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;                          // Injeção de configuração
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;                  // Parâmetros do lote
+import org.springframework.jdbc.core.ConnectionCallback;                            // Acesso aos metadados
+import org.springframework.jdbc.core.JdbcTemplate;                                  // INSERTs em lote
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;   // nextval portátil
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+import org.springframework.stereotype.Service;                                      // Componente de serviço
+import org.springframework.transaction.PlatformTransactionManager;                 // Uma transação por lote
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Importações Jackson (JSONL)
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Importações das nossas classes
+import com.login.login.domain.User;  // Sequence e tamanho do bloco de ids
+
+/**
+ * IMPORTAÇÃO EM MASSA DE USUÁRIOS (MIGRAÇÃO DO SISTEMA LEGADO)
+ *
+ * UserService.createUser serve para um cadastro: BCrypt (~100 ms) + um
+ * INSERT por usuário. Para milhões de contas isso levaria dias.
+ *
+ * AQUI:
+ * - Leitura em streaming (CSV ou JSONL, linha a linha): só o lote atual
+ *   fica em memória, não o arquivo
+ * - Senhas chegam JÁ em BCrypt (hash do legado) → gravadas como estão,
+ *   nenhum hash é calculado. Hash fora do formato BCrypt = linha inválida.
+ *   Custos antigos são atualizados no próximo login (RehashingPasswordService).
+ * - INSERTs em lotes JDBC (batch-size linhas, uma transação por lote)
+ * - Email duplicado (em qualquer caixa) resolvido pelo índice único
+ *   uk_users_email_normalized, sem SELECT por linha:
+ *   PostgreSQL → um INSERT ... SELECT FROM unnest(arrays) por lote,
+ *     ON CONFLICT (email_normalized) DO NOTHING RETURNING id
+ *   Demais (H2) → INSERT ... SELECT ... WHERE NOT EXISTS (mesmo índice)
+ *   Linha não inserida = duplicado (já cadastrado ou repetido no arquivo)
+ * - Contagem pelo resultado real de cada linha, não pelo update count do
+ *   lote: com reWriteBatchedInserts (perfil prod) o driver do PostgreSQL
+ *   junta o lote num INSERT só e responde SUCCESS_NO_INFO para todas as
+ *   linhas. No PostgreSQL o RETURNING devolve os ids inseridos; nos demais,
+ *   SUCCESS_NO_INFO é resolvido consultando quais ids do lote existem
+ * - Conflito só no email: colisão de id (PK) continua sendo erro
+ * - Ids da mesma sequence das entidades (users_seq), reservados em blocos
+ *   de User.ID_ALLOCATION_SIZE como o otimizador pooled do Hibernate:
+ *   um nextval a cada 50 usuários, sem colidir com cadastros simultâneos
+ * - Progresso no log a cada progress-every linhas (linhas/s)
+ *
+ * FORMATOS (colunas/campos: email, password, name, enabled opcional):
+ * - CSV: primeira linha é o cabeçalho (password_hash também aceito);
+ *   campos entre aspas com "" para aspas literais
+ * - JSONL: um objeto por linha, ex:
+ *   {"email":"a@b.com","password":"$2a$10$...","name":"Ana","enabled":true}
+ */
+@Service
+public class UserImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImporter.class);
+
+    /**
+     * Hash BCrypt: $2a$/$2b$/$2y$, custo 04-31, 53 caracteres (salt + hash)
+     */
+    static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]\\$(0[4-9]|[12]\\d|3[01])\\$[./A-Za-z0-9]{53}$");
+
+    /**
+     * Tamanho máximo de email e nome (varchar(255) em users)
+     */
+    static final int MAX_LENGTH = 255;
+
+    private static final ObjectMapper JSON = new ObjectMapper();  // Thread-safe após configurado
+
+    private static final String INSERT_POSTGRES = """
+        insert into users (id, email, email_normalized, name, password, enabled)
+        select * from unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::boolean[])
+        on conflict (email_normalized) do nothing
+        returning id""";
+
+    private static final String INSERT_PORTABLE = """
+        insert into users (id, email, email_normalized, name, password, enabled)
+        select ?, ?, ?, ?, ?, ?
+        where not exists (select 1 from users where email_normalized = ?)""";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int batchSize;         // Linhas por INSERT em lote
+    private final long progressEvery;    // Linhas entre logs de progresso
+    private volatile Dialect dialect;    // null = ainda não detectado
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param jdbc Acesso JDBC (INSERTs em lote)
+     * @param transactionManager Uma transação curta por lote
+     * @param batchSize app.import.users.batch-size
+     * @param progressEvery app.import.users.progress-every
+     */
+    public UserImporter(JdbcTemplate jdbc,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.import.users.batch-size:1000}") int batchSize,
+                        @Value("${app.import.users.progress-every:100000}") long progressEvery) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.progressEvery = Math.max(1, progressEvery);
+    }
+
+    /**
+     * IMPORTAR USUÁRIOS
+     *
+     * Cada lote é confirmado sozinho: se a importação parar no meio, os
+     * lotes gravados ficam, e rodar o mesmo arquivo de novo só conta as
+     * linhas já importadas como duplicadas.
+     *
+     * @param source Origem (não é fechada aqui)
+     * @param format CSV ou JSONL
+     * @return Result contagens e tempo gasto
+     * @throws IOException falha de leitura da origem
+     */
+    public Result importUsers(Reader source, Format format) throws IOException {
+        long start = System.nanoTime();
+        var reader = source instanceof BufferedReader br ? br : new BufferedReader(source);
+        var parser = format == Format.CSV ? new CsvParser() : new JsonLinesParser();
+        var ids = new IdBlock(incrementer());
+        var batch = new ArrayList<Row>(batchSize);
+        var counts = new Counts();
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || parser.isHeader(line)) {
+                continue;
+            }
+            counts.read++;
+            try {
+                batch.add(parser.parse(line).validated());
+            } catch (IllegalArgumentException e) {
+                counts.invalid++;
+                log.debug("Linha {} ignorada: {}", lineNumber, e.getMessage());  // Nunca loga o hash
+            }
+            if (batch.size() == batchSize) {
+                flush(batch, ids, counts, start);
+            }
+        }
+        flush(batch, ids, counts, start);
+
+        var result = counts.toResult(Duration.ofNanos(System.nanoTime() - start));
+        log.info("Importação concluída: {} linha(s), {} inserida(s), {} duplicada(s), {} inválida(s), {} lote(s), {} ms ({} linhas/s)",
+            result.read(), result.imported(), result.duplicates(), result.invalid(), result.batches(),
+            result.elapsed().toMillis(), Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    // ========== LOTES ==========
+
+    private void flush(List<Row> batch, IdBlock ids, Counts counts, long start) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        var rows = List.copyOf(batch);
+        batch.clear();
+
+        int inserted = tx.execute(status -> insert(rows, ids));
+        counts.imported += inserted;
+        counts.duplicates += rows.size() - inserted;  // Conflito no índice único → nada inserido
+        counts.batches++;
+
+        if (counts.read / progressEvery > counts.lastProgress) {
+            counts.lastProgress = counts.read / progressEvery;
+            var partial = counts.toResult(Duration.ofNanos(System.nanoTime() - start));
+            log.info("Importação em andamento: {} linha(s) lidas, {} inserida(s), {} linhas/s",
+                partial.read(), partial.imported(), Math.round(partial.rowsPerSecond()));
+        }
+    }
+
+    /**
+     * INSERE O LOTE
+     *
+     * @return int linhas realmente inseridas (o resto é duplicado)
+     */
+    private int insert(List<Row> rows, IdBlock ids) {
+        var idsOfBatch = new Long[rows.size()];
+        for (int i = 0; i < idsOfBatch.length; i++) {
+            idsOfBatch[i] = ids.next();
+        }
+        return dialect() == Dialect.POSTGRES ? insertPostgres(rows, idsOfBatch) : insertPortable(rows, idsOfBatch);
+    }
+
+    /**
+     * POSTGRESQL: UM INSERT POR LOTE, ids inseridos pelo RETURNING
+     *
+     * Não depende do update count do driver (nem de reWriteBatchedInserts).
+     */
+    private int insertPostgres(List<Row> rows, Long[] idsOfBatch) {
+        int n = rows.size();
+        var emails = new String[n];
+        var normalized = new String[n];
+        var names = new String[n];
+        var passwords = new String[n];
+        var enabled = new Boolean[n];
+        for (int i = 0; i < n; i++) {
+            var row = rows.get(i);
+            emails[i] = row.email();
+            normalized[i] = User.normalizeEmail(row.email());
+            names[i] = row.name();
+            passwords[i] = row.passwordHash();
+            enabled[i] = row.enabled();
+        }
+        var inserted = jdbc.query(connection -> {
+            var ps = connection.prepareStatement(INSERT_POSTGRES);
+            ps.setArray(1, connection.createArrayOf("bigint", idsOfBatch));
+            ps.setArray(2, connection.createArrayOf("varchar", emails));
+            ps.setArray(3, connection.createArrayOf("varchar", normalized));
+            ps.setArray(4, connection.createArrayOf("varchar", names));
+            ps.setArray(5, connection.createArrayOf("varchar", passwords));
+            ps.setArray(6, connection.createArrayOf("boolean", enabled));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+        return inserted.size();
+    }
+
+    /**
+     * DEMAIS BANCOS: LOTE JDBC COM WHERE NOT EXISTS
+     *
+     * Update count 1 = inserida, 0 = duplicada. SUCCESS_NO_INFO (driver que
+     * reescreve o lote) → confere no banco quais desses ids existem.
+     */
+    private int insertPortable(List<Row> rows, Long[] idsOfBatch) {
+        int[] updated = jdbc.batchUpdate(INSERT_PORTABLE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var row = rows.get(i);
+                ps.setLong(1, idsOfBatch[i]);
+                ps.setString(2, row.email());
+                ps.setString(3, User.normalizeEmail(row.email()));
+                ps.setString(4, row.name());
+                ps.setString(5, row.passwordHash());
+                ps.setBoolean(6, row.enabled());
+                ps.setString(7, User.normalizeEmail(row.email()));  // WHERE NOT EXISTS (... email_normalized = ?)
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        int inserted = 0;
+        var unknown = new ArrayList<Long>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(idsOfBatch[i]);
+            } else if (updated[i] > 0) {
+                inserted++;
+            }
+        }
+        return inserted + countExisting(unknown);
+    }
+
+    /**
+     * Quantos destes ids estão em users (ids do lote são únicos da sequence)
+     */
+    private int countExisting(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        var sql = "select count(*) from users where id in (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        Integer found = jdbc.queryForObject(sql, Integer.class, ids.toArray());
+        return found == null ? 0 : found;
+    }
+
+    // ========== BANCO ==========
+
+    private Dialect dialect() {
+        var detected = dialect;
+        if (detected == null) {
+            detected = Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) UserImporter::isPostgres))
+                ? Dialect.POSTGRES : Dialect.PORTABLE;
+            dialect = detected;
+        }
+        return detected;
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private DataFieldMaxValueIncrementer incrementer() {
+        var dataSource = jdbc.getDataSource();
+        return dialect() == Dialect.POSTGRES
+            ? new PostgresSequenceMaxValueIncrementer(dataSource, User.ID_SEQUENCE)
+            : new H2SequenceMaxValueIncrementer(dataSource, User.ID_SEQUENCE);
+    }
+
+    private enum Dialect {
+        POSTGRES,
+        PORTABLE
+    }
+
+    /**
+     * BLOCO DE IDS (mesma regra do otimizador pooled do Hibernate)
+     *
+     * nextval devolve o TOPO do bloco: ids de valor-49 até valor.
+     * Sequence recém-criada devolve 1 → bloco só com o id 1.
+     */
+    static final class IdBlock {
+        private final DataFieldMaxValueIncrementer sequence;
+        private long next = 1;
+        private long hi = 0;
+
+        IdBlock(DataFieldMaxValueIncrementer sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            if (next > hi) {
+                hi = sequence.nextLongValue();
+                next = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1);
+            }
+            return next++;
+        }
+    }
+
+    // ========== FORMATOS ==========
+
+    /**
+     * FORMATO DO ARQUIVO
+     */
+    public enum Format {
+        CSV,
+        JSONL;
+
+        /**
+         * Formato pela extensão (.csv, .jsonl, .ndjson)
+         *
+         * @throws IllegalArgumentException extensão desconhecida
+         */
+        public static Format fromFileName(String fileName) {
+            var name = fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return JSONL;
+            }
+            throw new IllegalArgumentException("Formato não reconhecido: " + fileName + " (use .csv ou .jsonl)");
+        }
+    }
+
+    /**
+     * UMA LINHA DA ORIGEM
+     */
+    private interface LineParser {
+
+        /**
+         * A linha é o cabeçalho? (só CSV, só a primeira)
+         */
+        boolean isHeader(String line);
+
+        /**
+         * @throws IllegalArgumentException linha malformada
+         */
+        Row parse(String line);
+    }
+
+    /**
+     * CSV COM CABEÇALHO (ordem das colunas livre)
+     */
+    private static final class CsvParser implements LineParser {
+        private Map<String, Integer> columns;  // null até ler o cabeçalho
+
+        @Override
+        public boolean isHeader(String line) {
+            if (columns != null) {
+                return false;
+            }
+            columns = new HashMap<>();
+            var names = split(line);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            columns.putIfAbsent("password", columns.get("password_hash"));
+            if (columns.get("email") == null || columns.get("password") == null || columns.get("name") == null) {
+                throw new IllegalArgumentException("Cabeçalho CSV precisa das colunas email, password e name");
+            }
+            return true;
+        }
+
+        @Override
+        public Row parse(String line) {
+            var fields = split(line);
+            var enabled = field(fields, "enabled");
+            return new Row(field(fields, "email"), field(fields, "password"), field(fields, "name"),
+                enabled == null || enabled.isBlank() || Boolean.parseBoolean(enabled.trim()));
+        }
+
+        private String field(List<String> fields, String column) {
+            var index = columns.get(column);
+            return index != null && index < fields.size() ? fields.get(index) : null;
+        }
+
+        /**
+         * Separa por vírgula respeitando aspas ("a,b" e "" = aspas literal)
+         */
+        static List<String> split(String line) {
+            var fields = new ArrayList<String>();
+            var current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Aspas não fechadas");
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * JSONL: UM OBJETO POR LINHA
+     */
+    private static final class JsonLinesParser implements LineParser {
+
+        @Override
+        public boolean isHeader(String line) {
+            return false;
+        }
+
+        @Override
+        public Row parse(String line) {
+            JsonNode node;
+            try {
+                node = JSON.readTree(line);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("JSON inválido");
+            }
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("Esperado um objeto JSON por linha");
+            }
+            var password = node.hasNonNull("password") ? node.get("password") : node.get("passwordHash");
+            return new Row(text(node.get("email")), text(password), text(node.get("name")),
+                !node.hasNonNull("enabled") || node.get("enabled").asBoolean(true));
+        }
+
+        private static String text(JsonNode node) {
+            return node == null || node.isNull() ? null : node.asText();
+        }
+    }
+
+    /**
+     * USUÁRIO LIDO DA ORIGEM
+     *
+     * @param email Email (login)
+     * @param passwordHash Hash BCrypt do legado
+     * @param name Nome
+     * @param enabled Conta ativa
+     */
+    record Row(String email, String passwordHash, String name, boolean enabled) {
+
+        /**
+         * Mesmas regras das colunas de users; hash precisa ser BCrypt
+         *
+         * @throws IllegalArgumentException com o motivo (sem o hash)
+         */
+        Row validated() {
+            var e = email == null ? "" : email.trim();
+            var n = name == null ? "" : name.trim();
+            var p = passwordHash == null ? "" : passwordHash.trim();
+            if (e.isEmpty() || e.length() > MAX_LENGTH || e.indexOf('@') <= 0) {
+                throw new IllegalArgumentException("email inválido");
+            }
+            if (n.isEmpty() || n.length() > MAX_LENGTH) {
+                throw new IllegalArgumentException("nome inválido");
+            }
+            if (!BCRYPT.matcher(p).matches()) {
+                throw new IllegalArgumentException("senha não está em BCrypt");
+            }
+            return new Row(e, p, n, enabled);
+        }
+    }
+
+    /**
+     * Contadores mutáveis da importação em andamento
+     */
+    private static final class Counts {
+        long read;
+        long imported;
+        long duplicates;
+        long invalid;
+        int batches;
+        long lastProgress;
+
+        Result toResult(Duration elapsed) {
+            return new Result(read, imported, duplicates, invalid, batches, elapsed);
+        }
+    }
+
+    /**
+     * RESULTADO DE UMA IMPORTAÇÃO
+     *
+     * @param read Linhas de dados lidas (sem cabeçalho e linhas em branco)
+     * @param imported Usuários inseridos
+     * @param duplicates Emails já cadastrados (ou repetidos no arquivo)
+     * @param invalid Linhas recusadas (formato, campos ou hash não-BCrypt)
+     * @param batches Lotes enviados ao banco
+     * @param elapsed Tempo total
+     */
+    public record Result(long read, long imported, long duplicates, long invalid, int batches, Duration elapsed) {
+
+        /**
+         * Vazão (linhas lidas por segundo)
+         */
+        public double rowsPerSecond() {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds > 0 ? read / seconds : read;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+// Importações Java
+import java.time.Duration;                          // TTL das entradas
+import java.util.Optional;                          // Resultado que pode não existir
+import java.util.concurrent.CompletionException;    // Erro da carga assíncrona
+import java.util.concurrent.Executors;              // Virtual threads para a carga
+
+// Importações Caffeine (cache em memória)
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;  // Injeção de configuração
+import org.springframework.stereotype.Service;              // Componente de serviço
+import org.springframework.transaction.event.TransactionPhase;             // Fase da transação
+import org.springframework.transaction.event.TransactionalEventListener;   // Escuta após o commit
+
+// Importações das nossas classes
+import com.login.login.jwt.JwtPrincipal;
+import com.login.login.repo.UserRepository;
+
+/**
+ * CACHE DE PRINCIPAIS (USUÁRIOS) PARA O FILTRO JWT
+ *
+ * Fica na frente de UserRepository.findPrincipalById no modo padrão do
+ * JwtAuthenticationFilter (principal carregado do banco).
+ *
+ * Guarda JwtPrincipal (record imutável, sem hash de senha), não a entidade
+ * User: a mesma instância é o principal de várias requisições simultâneas.
+ * Contas desabilitadas não são carregadas (a query filtra enabled).
+ *
+ * CARACTERÍSTICAS:
+ * - Limitado em tamanho (app.jwt.principal-cache.max-size) → memória previsível
+ * - Entradas expiram após app.jwt.principal-cache.ttl-seconds
+ * - Invalidado quando a senha muda ou a conta é desabilitada
+ *   (UserSessionsInvalidatedEvent), DEPOIS do commit: invalidar dentro da
+ *   transação deixava uma requisição recarregar a linha antiga
+ *   (enabled=true) antes do commit e cacheá-la pelo TTL inteiro
+ * - Contadores de hit/miss/eviction para dimensionar o tamanho
+ *   em relação ao número de usuários ativos
+ *
+ * CARGA FORA DO LOCK (VIRTUAL THREADS):
+ * Cache síncrono com loader roda a consulta dentro do lock do
+ * ConcurrentHashMap (synchronized) → em virtual thread, espera do pool de
+ * conexões ou do socket do banco prende a carrier thread (pinning).
+ * Aqui o lock só instala um CompletableFuture; a consulta roda numa virtual
+ * thread e quem pediu espera o future fora de qualquer monitor.
+ * Pedidos simultâneos do mesmo ID continuam gerando UMA consulta.
+ *
+ * OBS: usuários inexistentes ou desabilitados não são cacheados (Caffeine
+ * ignora null), então esses IDs voltam ao banco a cada requisição.
+ */
+@Service
+public class UserPrincipalCache {
+
+    private final UserRepository users;  // Origem dos dados (banco)
+    private final AsyncCache<Long, JwtPrincipal> cache;
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param users Repositório de usuários
+     * @param maxSize Número máximo de usuários em memória
+     * @param ttlSeconds Tempo de vida de cada entrada em segundos
+     */
+    public UserPrincipalCache(UserRepository users,
+                              @Value("${app.jwt.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${app.jwt.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.users = users;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)                            // Limite de entradas
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds)) // TTL
+            .recordStats()                                   // Liga contadores
+            .executor(Executors.newVirtualThreadPerTaskExecutor())  // Consulta ao banco fora do lock
+            .buildAsync();
+    }
+
+    /**
+     * BUSCAR PRINCIPAL POR ID (CACHE → BANCO)
+     *
+     * @param id ID do usuário (claim "sub")
+     * @return Optional<JwtPrincipal> vazio se o usuário não existe ou está desabilitado
+     */
+    public Optional<JwtPrincipal> findById(Long id) {
+        try {
+            return Optional.ofNullable(cache.get(id, key -> users.findPrincipalById(key).orElse(null)).join());
+        } catch (CompletionException e) {
+            // Erro do banco → propaga como se a consulta tivesse rodado aqui
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /**
+     * REMOVER USUÁRIO DO CACHE
+     *
+     * @param id ID do usuário
+     */
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * ESCUTAR INVALIDAÇÃO DE SESSÕES (senha redefinida, conta desabilitada)
+     *
+     * AFTER_COMMIT: só descarta quando o banco já mostra a mudança, então a
+     * próxima carga lê a linha nova. fallbackExecution = publicado fora de
+     * transação → invalida na hora.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionsInvalidated(UserSessionsInvalidatedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * CONTADORES DO CACHE
+     *
+     * Use para comparar tamanho do cache com usuários ativos:
+     * - muitas evictions + hit rate baixo → aumentar max-size
+     * - size sempre bem abaixo de max-size → dá para reduzir
+     *
+     * @return Counters snapshot atual
+     */
+    public Counters stats() {
+        var sync = cache.synchronous();
+        var s = sync.stats();
+        return new Counters(s.hitCount(), s.missCount(), s.evictionCount(), sync.estimatedSize());
+    }
+
+    /**
+     * SNAPSHOT DOS CONTADORES
+     *
+     * @param hits Buscas atendidas pelo cache
+     * @param misses Buscas que foram ao banco
+     * @param evictions Entradas removidas por tamanho ou TTL
+     * @param size Entradas atuais (estimativa)
+     */
+    public record Counters(long hits, long misses, long evictions, long size) {
+    }
+}
@@ -1,6 +1,15 @@
 // Pacote service - contém a lógica de negócio da aplicação
 package com.login.login.service;
 
+// Importações Java
+import java.util.Locale;  // Comparação de nomes de constraint sem depender do locale padrão
+import java.util.Set;     // Constraints de email único
+import java.util.regex.Pattern;  // Identificadores na mensagem do driver
+
+// Importações Spring
+import org.springframework.context.ApplicationEventPublisher;         // Publica eventos da aplicação
+import org.springframework.dao.DataIntegrityViolationException;      // Violação de constraint traduzida pelo Spring
+
 // Importações Spring Security
 import org.springframework.security.crypto.password.PasswordEncoder;  // Interface para hash de senhas
 import org.springframework.stereotype.Service;                        // Marca como componente de serviço
@@ -9,8 +18,11 @@ import org.springframework.stereotype.Service;                        // Marca c
 import com.login.login.domain.User;           // Entidade usuário
 import com.login.login.repo.UserRepository;   // Repositório para acesso a dados
 
-// Importação de transação
-import jakarta.transaction.Transactional;  // Controle de transação de banco de dados
+// Importação do Hibernate (nome da constraint violada)
+import org.hibernate.exception.ConstraintViolationException;
+
+// Importação de transação (Spring: suporta readOnly)
+import org.springframework.transaction.annotation.Transactional;  // Controle de transação de banco de dados
 
 /**
  * SERVIÇO DE USUÁRIOS
@@ -37,6 +49,15 @@ import jakarta.transaction.Transactional;  // Controle de transação de banco d
 @Service  // Marca como componente Spring de serviço (será gerenciado pelo container)
 public class UserService {
     
+    /**
+     * CONSTRAINTS DE EMAIL ÚNICO (comparação exata, não por prefixo)
+     */
+    private static final Set<String> EMAIL_CONSTRAINTS =
+        Set.of(User.EMAIL_UNIQUE_CONSTRAINT, User.EMAIL_NORMALIZED_UNIQUE_CONSTRAINT);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z0-9_.]+");     // Nome, com schema opcional
+    private static final Pattern H2_INDEX_SUFFIX = Pattern.compile("_index_\\w+$");  // H2: UK_USERS_EMAIL_INDEX_4
+
     /**
      * DEPENDÊNCIAS INJETADAS
      * 
@@ -46,6 +67,7 @@ public class UserService {
      */
     private final UserRepository userRepository;    // Para operações de banco
     private final PasswordEncoder passwordEncoder;  // Para hash de senhas
+    private final ApplicationEventPublisher events; // Para avisar caches/tokens quando a conta muda
 
     /**
      * CONSTRUTOR COM INJEÇÃO DE DEPENDÊNCIA
@@ -53,6 +75,7 @@ public class UserService {
      * Spring automaticamente injeta as dependências:
      * - UserRepository: implementação criada pelo Spring Data JPA
      * - PasswordEncoder: BCryptPasswordEncoder configurado no SecurityConfig
+     * - ApplicationEventPublisher: fornecido pelo próprio contexto Spring
      * 
      * VANTAGENS DA INJEÇÃO POR CONSTRUTOR:
      * - Dependências obrigatórias (final)
@@ -60,9 +83,11 @@ public class UserService {
      * - Imutável após construção
      * - Falha rápido se dependência não existe
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher events) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.events = events;
     }
 
     /**
@@ -77,6 +102,15 @@ public class UserService {
      * 2. Senha deve ser hasheada antes de salvar
      * 3. Usuário criado deve ter status ativo
      * 
+     * UMA ÚNICA IDA AO BANCO:
+     * - Não há SELECT prévio por email: o INSERT é enviado direto (saveAndFlush)
+     * - A unicidade é garantida pelas constraints uk_users_email e
+     *   uk_users_email_normalized
+     * - Se o email já existe, o banco recusa o INSERT e traduzimos a violação
+     *   para a mesma mensagem de antes ("Email já cadastrado")
+     * - Sem janela de corrida: dois cadastros simultâneos do mesmo email não
+     *   passam ambos por um "SELECT vazio" antes de inserir
+     * 
      * @param email Email do usuário (usado como username)
      * @param password Senha em texto plano (será hasheada)
      * @param name Nome completo do usuário
@@ -85,13 +119,6 @@ public class UserService {
      */
     @Transactional
     public User createUser(String email, String password, String name) {
-        // VALIDAÇÃO DE REGRA DE NEGÓCIO: Email único
-        if (userRepository.findByEmail(email).isPresent()) {
-            throw new IllegalArgumentException("Email já cadastrado");
-        }
-        //                                    ↑
-        //               Optional.isPresent() retorna true se encontrou usuário
-
         // CRIAR NOVO USUÁRIO
         // User.ofnew() é factory method que cria usuário com valores padrão
         // passwordEncoder.encode() aplica BCrypt com salt automático
@@ -100,24 +127,116 @@ public class UserService {
         //           BCrypt transforma "senha123" → "$2a$10$N9qo8uLOickgx2ZMRZoMye..."
 
         // SALVAR NO BANCO DE DADOS
-        return userRepository.save(user);
-        //     ↑
-        //   JPA faz INSERT e retorna entidade com ID gerado
+        try {
+            return userRepository.saveAndFlush(user);
+            //     ↑
+            //   flush força o INSERT agora → violação aparece aqui, não no commit
+        } catch (DataIntegrityViolationException e) {
+            // VALIDAÇÃO DE REGRA DE NEGÓCIO: Email único (pela constraint do banco)
+            if (isEmailConflict(e)) {
+                throw new IllegalArgumentException("Email já cadastrado");
+            }
+            throw e;  // Outra violação (NOT NULL, etc.) → não é "email duplicado"
+        }
+    }
+
+    /**
+     * A VIOLAÇÃO FOI DA CONSTRAINT DE EMAIL ÚNICO?
+     * 
+     * Preferimos o nome da constraint extraído pelo Hibernate; se o dialeto
+     * não souber extraí-lo, procuramos o nome na mensagem do driver.
+     */
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return isEmailConstraint(cve.getConstraintName());
+            }
+        }
+        var message = e.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return false;
+        }
+        var identifiers = IDENTIFIER.matcher(message.toLowerCase(Locale.ROOT));
+        while (identifiers.find()) {
+            if (isEmailConstraint(identifiers.group())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * O NOME É DE UMA DAS CONSTRAINTS DE EMAIL?
+     * 
+     * Sem diferenciar maiúsculas (H2 reporta UK_USERS_EMAIL), sem o schema
+     * (PUBLIC.) e sem o sufixo do índice que o H2 cria para a constraint.
+     * 
+     * @param constraintName Nome informado pelo Hibernate ou pelo driver
+     * @return true se for uk_users_email ou uk_users_email_normalized
+     */
+    static boolean isEmailConstraint(String constraintName) {
+        var name = constraintName.toLowerCase(Locale.ROOT).replace("\"", "");
+        name = name.substring(name.lastIndexOf('.') + 1);
+        return EMAIL_CONSTRAINTS.contains(name)
+            || EMAIL_CONSTRAINTS.contains(H2_INDEX_SUFFIX.matcher(name).replaceFirst(""));
     }
 
     /**
      * VERIFICAR SE EMAIL JÁ EXISTE
      * 
      * Método auxiliar para validações.
-     * Usado antes de tentar criar usuário.
+     * Consulta de existência (existsByEmail): resolvida pelo índice único,
+     * sem carregar o usuário.
+     * 
+     * readOnly = true → pode ser atendida pela réplica de leitura
+     * (DataSourceRoutingConfig).
      * 
      * @param email Email a ser verificado
      * @return boolean true se email já está cadastrado, false se disponível
      */
+    @Transactional(readOnly = true)
     public boolean emailExists(String email) {
-        return userRepository.findByEmail(email).isPresent();
-        //     ↑                                  ↑
-        //  Repository         Optional.isPresent() → boolean
+        return userRepository.existsByEmail(email);
+    }
+    
+    /**
+     * DESABILITAR CONTA DE USUÁRIO
+     * 
+     * Marca enabled = false (login passa a ser recusado) e publica
+     * UserSessionsInvalidatedEvent para que caches e tokens já emitidos
+     * deixem de reconhecer o usuário imediatamente.
+     * 
+     * @param userId ID do usuário
+     * @throws IllegalArgumentException se o usuário não existe
+     */
+    @Transactional
+    public void disableUser(Long userId) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        user.setEnabled(false);
+        userRepository.save(user);
+
+        events.publishEvent(new UserSessionsInvalidatedEvent(userId));
+    }
+
+    /**
+     * SAIR DE TODOS OS DISPOSITIVOS
+     * 
+     * Publica UserSessionsInvalidatedEvent: refresh tokens revogados em um
+     * único UPDATE (RefreshTokenService), access tokens já emitidos
+     * recusados (TokenRevocationRegistry), sessões HTTP de todos os
+     * navegadores expiradas (HttpSessionRevoker) e cache do usuário descartado.
+     * 
+     * @param email Email do usuário logado (authentication.getName())
+     * @throws IllegalArgumentException se o usuário não existe
+     */
+    @Transactional
+    public void logoutEverywhere(String email) {
+        User user = userRepository.findByEmail(email)
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        events.publishEvent(new UserSessionsInvalidatedEvent(user.getId()));
     }
     
     /*
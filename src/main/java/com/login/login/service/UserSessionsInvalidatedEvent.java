@@ -0,0 +1,25 @@
+// Pacote service - serviços com lógica de negócio
+package com.login.login.service;
+
+/**
+ * EVENTO: SESSÕES DO USUÁRIO INVALIDADAS
+ *
+ * Publicado (ApplicationEventPublisher) sempre que tokens/sessões já emitidos
+ * para um usuário deixam de valer:
+ * - Senha redefinida (PasswordResetService.reset)
+ * - Conta desabilitada (UserService.disableUser)
+ * - "Sair de todos os dispositivos" (UserService.logoutEverywhere)
+ *
+ * Quem escuta (@EventListener) decide o que invalidar, sem que o serviço
+ * que publica precise conhecer cada componente.
+ *
+ * Publicado de forma síncrona, dentro da transação de quem publica.
+ * Caches que recarregam do banco (UserPrincipalCache) escutam com
+ * @TransactionalEventListener(AFTER_COMMIT) para não recarregar a linha
+ * antiga antes do commit.
+ * Sessões HTTP do login por formulário: HttpSessionRevoker (SessionRegistry).
+ *
+ * @param userId ID do usuário afetado
+ */
+public record UserSessionsInvalidatedEvent(Long userId) {
+}
@@ -0,0 +1,134 @@
+// Pacote web - utilitários para a camada de apresentação
+package com.login.login.web;
+
+// Importações Java
+import java.time.Duration;  // Max-Age do refresh token
+import java.time.Instant;   // Expiração do refresh token
+
+// Importações Spring
+import org.springframework.beans.factory.annotation.Value;         // Injeção de configuração
+import org.springframework.security.core.Authentication;           // Usuário do logout (não usado)
+import org.springframework.security.web.authentication.logout.LogoutHandler;  // Participa do /auth/logout
+import org.springframework.stereotype.Component;                   // Componente gerenciado pelo Spring
+
+// Importações das nossas classes
+import com.login.login.domain.AuthUser;                         // Dono dos tokens (login por formulário)
+import com.login.login.jwt.JwtService;                          // Access token (JWT)
+import com.login.login.service.RefreshTokenService;             // Refresh token (opaco, rotacionado)
+import com.login.login.service.RefreshTokenService.IssuedToken; // Valor + expiração
+
+// Importações Jakarta Servlet
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * COOKIES DE AUTENTICAÇÃO (ACCESS_TOKEN + REFRESH_TOKEN)
+ *
+ * Ponto único que escreve e apaga os dois cookies:
+ * - Login por formulário → issue (TokenIssuingSuccessHandler)
+ * - POST /auth/refresh → refresh (AuthPageController)
+ * - POST /auth/logout → logout (LogoutHandler no SecurityConfig)
+ *
+ * ACCESS_TOKEN: JWT curto, Path=/, SameSite=app.cookies.same-site
+ * REFRESH_TOKEN: opaco, Path=/auth (só vai para /auth/refresh e
+ * /auth/logout, nunca nas demais requisições), SameSite=Strict
+ */
+@Component
+public class AuthCookies implements LogoutHandler {
+
+    /**
+     * Caminho do cookie REFRESH_TOKEN (rotas de refresh e logout)
+     */
+    static final String REFRESH_COOKIE_PATH = "/auth";
+
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokens;
+    private final int accessMaxAgeSeconds;  // = TTL do JWT
+    private final String domain;            // app.cookies.domain
+    private final boolean secure;           // app.cookies.secure
+    private final String sameSite;          // app.cookies.same-site (ACCESS_TOKEN)
+
+    /**
+     * CONSTRUTOR
+     *
+     * @param jwtService Emissão do access token
+     * @param refreshTokens Emissão/rotação/revogação do refresh token
+     * @param accessTtlMin app.jwt.access-token.ttl-min
+     * @param domain app.cookies.domain (vazio = domínio atual)
+     * @param secure app.cookies.secure
+     * @param sameSite app.cookies.same-site
+     */
+    public AuthCookies(JwtService jwtService,
+                       RefreshTokenService refreshTokens,
+                       @Value("${app.jwt.access-token.ttl-min}") long accessTtlMin,
+                       @Value("${app.cookies.domain:}") String domain,
+                       @Value("${app.cookies.secure:true}") boolean secure,
+                       @Value("${app.cookies.same-site:Lax}") String sameSite) {
+        this.jwtService = jwtService;
+        this.refreshTokens = refreshTokens;
+        this.accessMaxAgeSeconds = (int) Duration.ofMinutes(accessTtlMin).toSeconds();
+        this.domain = domain;
+        this.secure = secure;
+        this.sameSite = sameSite;
+    }
+
+    /**
+     * LOGIN: NOVO ACCESS TOKEN + NOVA FAMÍLIA DE REFRESH
+     *
+     * @param res Resposta que recebe os cookies
+     * @param user Usuário autenticado
+     */
+    public void issue(HttpServletResponse res, AuthUser user) {
+        write(res, jwtService.createAcessToken(user), refreshTokens.issue(user));
+    }
+
+    /**
+     * REFRESH: TROCA O COOKIE REFRESH_TOKEN POR UM PAR NOVO
+     *
+     * Token inválido/reusado → apaga os dois cookies.
+     *
+     * @param req Requisição com o cookie REFRESH_TOKEN
+     * @param res Resposta que recebe os cookies
+     * @return true se os tokens foram renovados
+     */
+    public boolean refresh(HttpServletRequest req, HttpServletResponse res) {
+        var rotation = refreshTokens.rotate(CookieUtils.findCookieValue(req, CookieUtils.REFRESH_TOKEN_COOKIE));
+        if (rotation.isEmpty()) {
+            clear(res);
+            return false;
+        }
+        write(res, jwtService.createAcessToken(rotation.get().user()), rotation.get().refreshToken());
+        return true;
+    }
+
+    /**
+     * LOGOUT: REVOGA A FAMÍLIA DO REFRESH E APAGA OS COOKIES
+     */
+    @Override
+    public void logout(HttpServletRequest req, HttpServletResponse res, Authentication authentication) {
+        refreshTokens.revoke(CookieUtils.findCookieValue(req, CookieUtils.REFRESH_TOKEN_COOKIE));
+        clear(res);
+    }
+
+    /**
+     * APAGAR OS DOIS COOKIES (Max-Age=0)
+     */
+    public void clear(HttpServletResponse res) {
+        add(res, CookieUtils.ACCESS_TOKEN_COOKIE, "", 0, "/", sameSite);
+        add(res, CookieUtils.REFRESH_TOKEN_COOKIE, "", 0, REFRESH_COOKIE_PATH, "Strict");
+    }
+
+    // ========== AUXILIARES ==========
+
+    private void write(HttpServletResponse res, String accessToken, IssuedToken refresh) {
+        add(res, CookieUtils.ACCESS_TOKEN_COOKIE, accessToken, accessMaxAgeSeconds, "/", sameSite);
+        int refreshMaxAge = (int) Math.max(0, Duration.between(Instant.now(), refresh.expiresAt()).toSeconds());
+        add(res, CookieUtils.REFRESH_TOKEN_COOKIE, refresh.value(), refreshMaxAge, REFRESH_COOKIE_PATH, "Strict");
+    }
+
+    private void add(HttpServletResponse res, String name, String value, int maxAge, String path, String site) {
+        var cookie = CookieUtils.build(name, value, maxAge, domain, secure, site);
+        cookie.setPath(path);
+        CookieUtils.addWithSameSite(res, cookie, site);
+    }
+}
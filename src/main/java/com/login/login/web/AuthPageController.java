@@ -10,6 +10,14 @@ import com.login.login.dto.ResetFormDto;       // DTO para formulário de reset
 import com.login.login.service.PasswordResetService;  // Serviço de reset de senha
 import com.login.login.service.UserService;           // Serviço de usuários
 
+// Importações de segurança
+import com.login.login.security.PasswordHashingBusyException;  // Hashing saturado (fila cheia → 503)
+import com.login.login.security.ResetRequestLimiter;           // Limite de pedidos de reset
+
+// Importações Spring HTTP
+import org.springframework.http.HttpStatus;       // 401 no refresh recusado
+import org.springframework.http.ResponseEntity;   // Resposta sem view (refresh)
+
 // Importações Spring Security
 import org.springframework.security.core.Authentication;  // Interface para usuário autenticado
 
@@ -20,8 +28,10 @@ import org.springframework.validation.BindingResult;                     // Para
 import org.springframework.web.bind.annotation.*;                        // Anotações de mapeamento HTTP
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;   // Para flash attributes em redirects
 
-// Importação de validação
-import jakarta.validation.Valid;  // Para validação automática de DTOs
+// Importações Jakarta
+import jakarta.servlet.http.HttpServletRequest;   // IP do cliente / cookies
+import jakarta.servlet.http.HttpServletResponse;  // Cookies renovados
+import jakarta.validation.Valid;                 // Para validação automática de DTOs
 
 /**
  * CONTROLLER DE PÁGINAS DE AUTENTICAÇÃO
@@ -31,6 +41,7 @@ import jakarta.validation.Valid;  // Para validação automática de DTOs
  * - Registro/Cadastro (GET/POST)  
  * - Esqueci senha (GET/POST)
  * - Reset de senha (GET/POST)
+ * - Renovação dos tokens (POST /auth/refresh)
  * 
  * PADRÃO MVC:
  * Controller → Service → Repository → Database
@@ -64,6 +75,8 @@ public class AuthPageController {
      */
     private final UserService userService;                // Para criar usuários
     private final PasswordResetService passwordResetService;  // Para reset de senhas
+    private final ResetRequestLimiter resetRequestLimiter;    // Limite de pedidos de reset
+    private final AuthCookies authCookies;                    // Cookies ACCESS_TOKEN/REFRESH_TOKEN
 
     /**
      * CONSTRUTOR COM INJEÇÃO DE DEPENDÊNCIA
@@ -73,10 +86,15 @@ public class AuthPageController {
      * 
      * @param userService Serviço para operações de usuário
      * @param passwordResetService Serviço para reset de senhas
+     * @param resetRequestLimiter Limite de pedidos em /auth/forgot
+     * @param authCookies Renovação dos cookies de token
      */
-    public AuthPageController(UserService userService, PasswordResetService passwordResetService) {
+    public AuthPageController(UserService userService, PasswordResetService passwordResetService,
+                              ResetRequestLimiter resetRequestLimiter, AuthCookies authCookies) {
         this.userService = userService;
         this.passwordResetService = passwordResetService;
+        this.resetRequestLimiter = resetRequestLimiter;
+        this.authCookies = authCookies;
     }
   
     /**
@@ -246,6 +264,10 @@ public class AuthPageController {
             //               Campo    Categoria     Mensagem do service
             return "auth/register";  // Volta para formulário com erro
             
+        } catch (PasswordHashingBusyException e) {
+            // HASHING SATURADO: não é erro do formulário → deixa virar HTTP 503
+            throw e;
+            
         } catch (Exception e) {
             // ERRO INTERNO DO SERVIDOR
             model.addAttribute("error", "Erro interno do servidor");
@@ -267,15 +289,22 @@ public class AuthPageController {
      * - Não revela se email existe ou não no sistema
      * - Previne ataques para descobrir emails cadastrados
      * 
+     * LIMITE DE PEDIDOS (ResetRequestLimiter):
+     * - Token bucket por IP e por email
+     * - Pedido acima do limite recebe a MESMA resposta de sucesso
+     *   (não revela nada), mas não gera token nem email
+     * 
      * @param email String email informado no formulário
      * @param model Model para mostrar erros
      * @param redirectAttributes Para flash message de sucesso
+     * @param request Requisição HTTP (IP do cliente para o limite)
      * @return String view ou redirect
      */
     @PostMapping("/forgot")
     public String forgotPost(@RequestParam String email, 
                            Model model,
-                           RedirectAttributes redirectAttributes) {
+                           RedirectAttributes redirectAttributes,
+                           HttpServletRequest request) {
         //                 ↑           ↑
         //            Parâmetro HTTP   Campo do form
         
@@ -288,9 +317,15 @@ public class AuthPageController {
 
             // PROCESSAR SOLICITAÇÃO DE RESET
             // IMPORTANTE: Service não revela se email existe!
-            passwordResetService.request(email.trim());
-            //                            ↑
-            //                    Remove espaços extras
+            // LIMITE: acima do limite (IP ou email) o pedido é ignorado em silêncio
+            //         → sem busca no banco, sem token novo, sem email
+            // IP: getRemoteAddr() já é o do cliente atrás do balanceador
+            //     (server.forward-headers-strategy=native no perfil prod)
+            if (resetRequestLimiter.tryAcquire(request.getRemoteAddr(), email)) {
+                passwordResetService.request(email.trim());
+                //                            ↑
+                //                    Remove espaços extras
+            }
             
             // MENSAGEM DE SUCESSO AMBÍGUA (SEGURANÇA)
             redirectAttributes.addFlashAttribute("success", 
@@ -369,6 +404,10 @@ public class AuthPageController {
             model.addAttribute("error", e.getMessage());  // Mensagem específica do service
             return "auth/reset";  // Volta para formulário com erro
             
+        } catch (PasswordHashingBusyException e) {
+            // HASHING SATURADO: não é erro do formulário → deixa virar HTTP 503
+            throw e;
+            
         } catch (Exception e) {
             // ERRO INTERNO DO SERVIDOR
             model.addAttribute("token", token);      // Manter token na view
@@ -377,6 +416,31 @@ public class AuthPageController {
         }
     }
     
+    /**
+     * RENOVAR TOKENS (POST)
+     * 
+     * Troca o cookie REFRESH_TOKEN por um par novo (ACCESS_TOKEN +
+     * REFRESH_TOKEN) sem login por formulário: um SELECT pelo hash, um
+     * UPDATE e um INSERT (RefreshTokenService.rotate), nenhum BCrypt.
+     * 
+     * ROTA: POST /auth/refresh
+     * 
+     * RESPOSTAS:
+     * - 204 No Content + Set-Cookie → tokens renovados
+     * - 401 Unauthorized + cookies apagados → token ausente, expirado ou
+     *   reusado (reuso revoga a família inteira)
+     * 
+     * @param request Requisição com o cookie REFRESH_TOKEN
+     * @param response Resposta que recebe os novos cookies
+     * @return ResponseEntity sem corpo
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh(HttpServletRequest request, HttpServletResponse response) {
+        return authCookies.refresh(request, response)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+    
     /*
      * MÉTODOS ADICIONAIS QUE PODERÍAMOS IMPLEMENTAR:
      * 
@@ -3,6 +3,7 @@ package com.login.login.web;
 
 // Importações Jakarta Servlet (novo nome do javax.servlet)
 import jakarta.servlet.http.Cookie;             // Classe para cookies HTTP
+import jakarta.servlet.http.HttpServletRequest;   // Interface para requisição HTTP
 import jakarta.servlet.http.HttpServletResponse;  // Interface para resposta HTTP
 
 /**
@@ -30,6 +31,21 @@ import jakarta.servlet.http.HttpServletResponse;  // Interface para resposta HTT
  */
 public class CookieUtils {
     
+    /**
+     * NOME DO COOKIE COM O ACCESS TOKEN (JWT)
+     */
+    public static final String ACCESS_TOKEN_COOKIE = "ACCESS_TOKEN";
+
+    /**
+     * NOME DO COOKIE COM O REFRESH TOKEN (opaco, ver RefreshTokenService)
+     */
+    public static final String REFRESH_TOKEN_COOKIE = "REFRESH_TOKEN";
+
+    /**
+     * PREFIXO DO HEADER AUTHORIZATION PARA TOKENS
+     */
+    private static final String BEARER_PREFIX = "Bearer ";
+
     /**
      * CONSTRUIR COOKIE SEGURO
      * 
@@ -127,33 +143,106 @@ public class CookieUtils {
         //    Nome do header    Valor completo
     }
     
-    /*
-     * MÉTODOS ADICIONAIS QUE PODERÍAMOS IMPLEMENTAR:
+    /**
+     * LER VALOR DE UM COOKIE DA REQUISIÇÃO (SEM ALOCAÇÕES INTERMEDIÁRIAS)
      * 
-     * public static Cookie createJwtCookie(String token, int maxAgeSeconds) {
-     *     return build("ACCESS_TOKEN", token, maxAgeSeconds, null, true, "Lax");
-     * }
+     * Caminho quente do filtro JWT: roda em toda requisição protegida.
      * 
-     * public static Cookie createRefreshCookie(String token, int maxAgeDays) {
-     *     return build("REFRESH_TOKEN", token, maxAgeDays * 24 * 60 * 60, null, true, "Strict");
-     * }
+     * ESTRATÉGIA:
+     * 1. Header "Cookie" bruto → varre a String procurando "nome=" no início
+     *    de um par; só o valor encontrado vira uma nova String
+     *    (evita que o container monte um Cookie[] com todos os cookies)
+     * 2. Sem header (ex: requisição encapsulada) → laço simples no Cookie[]
      * 
-     * public static void deleteCookie(HttpServletResponse res, String name) {
-     *     Cookie cookie = new Cookie(name, "");
-     *     cookie.setMaxAge(0);  // Expira imediatamente
-     *     cookie.setPath("/");
-     *     res.addCookie(cookie);
-     * }
+     * Nada de Stream, lambda ou Optional por requisição.
      * 
-     * public static Optional<String> getCookieValue(HttpServletRequest req, String name) {
-     *     if (req.getCookies() != null) {
-     *         return Arrays.stream(req.getCookies())
-     *             .filter(c -> name.equals(c.getName()))
-     *             .map(Cookie::getValue)
-     *             .findFirst();
-     *     }
-     *     return Optional.empty();
-     * }
+     * @param req HttpServletRequest
+     * @param name Nome do cookie
+     * @return String valor do cookie ou null se não existir
+     */
+    public static String findCookieValue(HttpServletRequest req, String name) {
+        var header = req.getHeader("Cookie");
+        if (header != null) {
+            return scanCookieHeader(header, name);
+        }
+
+        var cookies = req.getCookies();
+        if (cookies != null) {
+            for (Cookie c : cookies) {  // Laço sobre array: sem iterator
+                if (name.equals(c.getName())) {
+                    return c.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * VARRER HEADER "Cookie" BRUTO
+     * 
+     * Formato (RFC 6265): "nome1=valor1; nome2=valor2"
+     * 
+     * @param header Valor do header Cookie
+     * @param name Nome procurado
+     * @return String valor (sem aspas) ou null
+     */
+    static String scanCookieHeader(String header, String name) {
+        int len = header.length();
+        int nameLen = name.length();
+        int i = 0;
+        while (i < len) {
+            // PULAR ESPAÇOS NO INÍCIO DO PAR
+            while (i < len && header.charAt(i) == ' ') i++;
+
+            int end = header.indexOf(';', i);
+            if (end < 0) end = len;
+
+            // PAR COMEÇA COM "nome=" ?
+            if (end - i > nameLen
+                    && header.charAt(i + nameLen) == '='
+                    && header.regionMatches(i, name, 0, nameLen)) {
+                int start = i + nameLen + 1;
+                int stop = end;
+                while (stop > start && header.charAt(stop - 1) == ' ') stop--;  // Espaços finais
+                if (stop - start >= 2 && header.charAt(start) == '"' && header.charAt(stop - 1) == '"') {
+                    start++;  // Valor entre aspas
+                    stop--;
+                }
+                return header.substring(start, stop);  // Única alocação: o próprio valor
+            }
+            i = end + 1;  // Próximo par
+        }
+        return null;
+    }
+
+    /**
+     * RESOLVER ACCESS TOKEN DA REQUISIÇÃO
+     * 
+     * ORDEM:
+     * 1. Cookie ACCESS_TOKEN (navegador)
+     * 2. Header "Authorization: Bearer <token>" (clientes de API)
+     * 
+     * @param req HttpServletRequest
+     * @return String token JWT ou null se ausente
+     */
+    public static String resolveAccessToken(HttpServletRequest req) {
+        var token = findCookieValue(req, ACCESS_TOKEN_COOKIE);
+        if (token != null) {
+            return token;
+        }
+
+        var auth = req.getHeader("Authorization");
+        if (auth != null && auth.length() > BEARER_PREFIX.length()
+                && auth.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            //          ↑
+            // "bearer" sem diferenciar maiúsculas (RFC 7235)
+            return auth.substring(BEARER_PREFIX.length()).trim();
+        }
+        return null;
+    }
+
+    /*
+     * MÉTODOS ADICIONAIS QUE PODERÍAMOS IMPLEMENTAR:
      * 
      * EXEMPLO DE USO COMPLETO:
      * 
@@ -3,11 +3,20 @@ package com.login.login.web;
 
 // Importações Spring Security
 import org.springframework.security.core.Authentication;  // Interface para usuário autenticado
+import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;  // Encerra a sessão atual
 
 // Importações Spring MVC
 import org.springframework.stereotype.Controller;  // Marca como controller MVC
 import org.springframework.ui.Model;              // Para passar dados para view
 import org.springframework.web.bind.annotation.GetMapping;  // Para mapeamento HTTP GET
+import org.springframework.web.bind.annotation.PostMapping; // Para mapeamento HTTP POST
+
+// Importação do serviço de usuários
+import com.login.login.service.UserService;  // "Sair de todos os dispositivos"
+
+// Importações Jakarta Servlet
+import jakarta.servlet.http.HttpServletRequest;   // Sessão atual
+import jakarta.servlet.http.HttpServletResponse;  // Cookies apagados
 
 /**
  * CONTROLLER DO DASHBOARD
@@ -17,6 +26,7 @@ import org.springframework.web.bind.annotation.GetMapping;  // Para mapeamento H
  * PÁGINAS CONTROLADAS:
  * - Dashboard principal (área do usuário logado)
  * - Página inicial / (redireciona conforme autenticação)
+ * - "Sair de todos os dispositivos" (POST /dashboard/logout-everywhere)
  * 
  * DIFERENÇA PARA AuthPageController:
  * - AuthPageController: páginas públicas (login, registro, reset)
@@ -30,6 +40,20 @@ import org.springframework.web.bind.annotation.GetMapping;  // Para mapeamento H
 @Controller  // Componente Spring MVC (retorna views, não JSON)
 public class DashboardController {
 
+    private final UserService userService;  // Invalida as sessões do usuário
+    private final AuthCookies authCookies;  // Apaga os cookies deste navegador
+
+    /**
+     * CONSTRUTOR COM INJEÇÃO DE DEPENDÊNCIA
+     * 
+     * @param userService Serviço de usuários
+     * @param authCookies Cookies ACCESS_TOKEN/REFRESH_TOKEN
+     */
+    public DashboardController(UserService userService, AuthCookies authCookies) {
+        this.userService = userService;
+        this.authCookies = authCookies;
+    }
+
     /**
      * PÁGINA DO DASHBOARD (ÁREA LOGADA)
      * 
@@ -106,6 +130,30 @@ public class DashboardController {
         // HTTP 302 redirect (browser faz nova requisição)
     }
     
+    /**
+     * SAIR DE TODOS OS DISPOSITIVOS (POST)
+     * 
+     * ROTA: POST /dashboard/logout-everywhere
+     * 
+     * 1. UserService.logoutEverywhere → todos os refresh tokens do usuário
+     *    revogados em um único UPDATE + access tokens já emitidos recusados
+     *    + sessões HTTP de outros navegadores expiradas (HttpSessionRevoker)
+     * 2. Encerra a sessão deste navegador e apaga os cookies
+     * 
+     * @param request Requisição (sessão atual)
+     * @param response Resposta (cookies apagados)
+     * @param authentication Usuário logado
+     * @return String redirect para o login
+     */
+    @PostMapping("/dashboard/logout-everywhere")
+    public String logoutEverywhere(HttpServletRequest request, HttpServletResponse response,
+                                   Authentication authentication) {
+        userService.logoutEverywhere(authentication.getName());
+        new SecurityContextLogoutHandler().logout(request, response, authentication);
+        authCookies.clear(response);
+        return "redirect:/auth/login?logout";
+    }
+    
     /*
      * MÉTODOS ADICIONAIS QUE PODERÍAMOS IMPLEMENTAR:
      * 
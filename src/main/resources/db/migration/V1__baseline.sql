@@ -0,0 +1,64 @@
+-- =============================================================================
+-- V1 - SCHEMA BASE
+-- =============================================================================
+-- Espelha o schema que o Hibernate gera a partir das entidades (ddl-auto).
+-- SQL portátil: PostgreSQL (produção) e H2 em MODE=PostgreSQL (testes).
+-- Alterações de schema daqui em diante: sempre em um novo V<n>__*.sql,
+-- nunca editando uma migration já aplicada.
+-- =============================================================================
+
+-- USUÁRIOS (email único: constraint nomeada, UserService depende do nome)
+create table users (
+    id          bigint generated by default as identity,
+    email       varchar(255) not null,
+    name        varchar(255) not null,
+    password    varchar(255) not null,
+    enabled     boolean      not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+-- TOKENS DE RESET DE SENHA
+create table password_reset_token (
+    id          bigint generated by default as identity,
+    token       varchar(255)                not null unique,
+    user_id     bigint                      not null,
+    expires_at  timestamp(6) with time zone not null,
+    used        boolean                     not null,
+    primary key (id),
+    constraint fk_password_reset_token_user foreign key (user_id) references users (id)
+);
+
+-- REFRESH TOKENS (guardamos apenas o hash)
+create table refresh_token (
+    id          bigint generated by default as identity,
+    token_hash  varchar(200)                not null unique,
+    user_id     bigint                      not null,
+    expires_at  timestamp(6) with time zone not null,
+    revoked     boolean                     not null,
+    primary key (id),
+    constraint fk_refresh_token_user foreign key (user_id) references users (id)
+);
+
+-- OUTBOX DE EMAILS (MailOutbox / MailOutboxDispatcher)
+create table mail_outbox (
+    id               bigint generated by default as identity,
+    kind             varchar(32)                 not null,
+    recipient        varchar(255)                not null,
+    payload          varchar(255)                not null,
+    locale           varchar(35),
+    status           varchar(16)                 not null,
+    attempts         integer                     not null,
+    next_attempt_at  timestamp(6) with time zone not null,
+    claim_token      varchar(36),
+    claimed_at       timestamp(6) with time zone,
+    created_at       timestamp(6) with time zone not null,
+    sent_at          timestamp(6) with time zone,
+    last_error       varchar(500),
+    primary key (id),
+    constraint ck_mail_outbox_kind   check (kind in ('PASSWORD_RESET')),
+    constraint ck_mail_outbox_status check (status in ('PENDING', 'SENDING', 'SENT', 'FAILED'))
+);
+
+create index ix_mail_outbox_due   on mail_outbox (status, next_attempt_at);  -- Busca de lotes
+create index ix_mail_outbox_claim on mail_outbox (claim_token);              -- Linhas reivindicadas
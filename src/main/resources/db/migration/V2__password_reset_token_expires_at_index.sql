@@ -0,0 +1,8 @@
+-- =============================================================================
+-- V2 - ÍNDICE DE EXPIRAÇÃO DOS TOKENS DE RESET
+-- =============================================================================
+-- O PasswordResetTokenReaper apaga em lotes os tokens com expires_at < agora.
+-- Sem este índice, cada lote seria um full scan da tabela.
+-- =============================================================================
+
+create index ix_password_reset_token_expires_at on password_reset_token (expires_at);
@@ -0,0 +1,15 @@
+-- =============================================================================
+-- V3 - FAMÍLIA DOS REFRESH TOKENS
+-- =============================================================================
+-- RefreshTokenService.rotate troca cada refresh token por outro da mesma
+-- família; reuso de um token revogado revoga a família inteira
+-- (UPDATE ... WHERE family_id = ? → índice abaixo).
+--
+-- Linhas já existentes viram uma família cada.
+-- =============================================================================
+
+alter table refresh_token add column family_id varchar(36);
+update refresh_token set family_id = cast(id as varchar(36)) where family_id is null;
+alter table refresh_token alter column family_id set not null;
+
+create index ix_refresh_token_family_id on refresh_token (family_id);
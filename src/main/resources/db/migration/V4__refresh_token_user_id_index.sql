@@ -0,0 +1,10 @@
+-- =============================================================================
+-- V4 - ÍNDICE DE USUÁRIO DOS REFRESH TOKENS
+-- =============================================================================
+-- RefreshTokenRepository.revokeAllByUserId revoga todas as sessões de um
+-- usuário (senha redefinida, "sair de todos os dispositivos") com um único
+-- UPDATE ... WHERE user_id = ?. Sem este índice, cada chamada seria um
+-- full scan da tabela.
+-- =============================================================================
+
+create index ix_refresh_token_user_id on refresh_token (user_id);
@@ -0,0 +1,25 @@
+-- =============================================================================
+-- V7 - EMAIL NORMALIZADO (BUSCA SEM DIFERENCIAR MAIÚSCULAS)
+-- =============================================================================
+-- Login, cadastro, "esqueci a senha" e o UserDetailsService buscam o usuário
+-- pelo email digitado. Com a coluna email pura, "Ana@X.com" e "ana@x.com"
+-- eram contas diferentes (a constraint uk_users_email não via duplicado) e
+-- lower(email) na query não usaria índice nenhum.
+--
+-- email_normalized = trim + minúsculas, preenchido pela entidade User
+-- (User.normalizeEmail) e usado por UserRepository.findByEmail/existsByEmail:
+-- uma busca pelo índice único, qualquer que seja a caixa digitada.
+--
+-- ATENÇÃO: se o banco já tiver emails que só diferem na caixa, a constraint
+-- abaixo falha e a migração para. Encontre os casos antes com:
+--   select lower(trim(email)), count(*) from users
+--   group by lower(trim(email)) having count(*) > 1;
+-- =============================================================================
+
+alter table users add column email_normalized varchar(255);
+
+update users set email_normalized = lower(trim(email));
+
+alter table users alter column email_normalized set not null;
+
+alter table users add constraint uk_users_email_normalized unique (email_normalized);
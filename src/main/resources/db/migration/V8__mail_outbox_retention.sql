@@ -0,0 +1,17 @@
+-- =============================================================================
+-- V8 - RETENÇÃO DA OUTBOX DE EMAILS
+-- =============================================================================
+-- mail_outbox só recebia INSERTs: linhas SENT e FAILED ficavam para sempre,
+-- com o token de reset em texto no payload.
+--
+-- - payload passa a aceitar null: o MailOutbox apaga o token quando a linha
+--   chega em SENT ou FAILED (e aqui limpamos as que já estão nesse estado)
+-- - O MailOutboxReaper apaga em lotes as linhas SENT/FAILED criadas antes da
+--   retenção; sem o índice, cada lote seria um full scan da tabela
+-- =============================================================================
+
+alter table mail_outbox alter column payload drop not null;
+
+update mail_outbox set payload = null where status in ('SENT', 'FAILED');
+
+create index ix_mail_outbox_finished on mail_outbox (status, created_at);
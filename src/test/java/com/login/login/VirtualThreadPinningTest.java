@@ -0,0 +1,217 @@
+package com.login.login;
+
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.login.login.domain.PendingMail;
+import com.login.login.domain.User;
+import com.login.login.mail.MailOutbox;
+import com.login.login.mail.MailOutboxDispatcher;
+import com.login.login.mail.MailService;
+import com.login.login.mail.MailTemplates;
+import com.login.login.mail.SmtpTransportPool;
+import com.login.login.repo.UserRepository;
+import com.login.login.service.UserPrincipalCache;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TESTE DE PINNING DE VIRTUAL THREADS (JFR)
+ *
+ * Com spring.threads.virtual.enabled=true as requisições rodam em virtual
+ * threads. Se uma delas bloquear (I/O, espera de lock) DENTRO de um bloco
+ * synchronized, a carrier thread fica presa junto (pinning) e o servidor
+ * perde capacidade. O JFR registra cada caso como jdk.VirtualThreadPinned.
+ *
+ * Cenários testados:
+ * - Caminho JDBC (cache do filtro JWT + busca do login) com o pool de
+ *   conexões saturado → nenhum pinning
+ * - Caminho SMTP pelo MailOutboxDispatcher → nenhum pinning (envio em
+ *   threads de plataforma)
+ * - Controle: SMTP direto numa virtual thread FAZ pinning
+ *   (SMTPTransport.sendMessage é synchronized) → o detector funciona
+ */
+@SpringBootTest(properties = {
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.hikari.maximum-pool-size=2",  // Força virtual threads a esperar conexão
+    "spring.datasource.url=jdbc:h2:mem:pinning"      // Contexto próprio → banco próprio (create-drop)
+})
+@DisplayName("Virtual Thread Pinning Tests")
+class VirtualThreadPinningTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Não deve prender carrier threads no caminho JDBC")
+    void shouldNotPinOnJdbcPath() throws Exception {
+        // Given - mais usuários que conexões, todos fora do cache
+        var users = new ArrayList<User>();
+        for (int i = 0; i < 50; i++) {
+            users.add(userRepository.save(User.ofnew("pinning-" + i + "@example.com", "{noop}x", "Pinning " + i)));
+        }
+        var lookups = users.stream()
+            .map(user -> (Callable<Object>) () -> {
+                principalCache.findById(user.getId()).orElseThrow();                 // Filtro JWT
+                return userRepository.findAuthUserByEmail(user.getEmail()).orElseThrow();  // Login
+            })
+            .toList();
+
+        // When - as 2 conexões ocupadas: toda busca espera o pool (park)
+        var pinned = pinnedEventsDuring(() -> {
+            var held = new ArrayList<Connection>(List.of(dataSource.getConnection(), dataSource.getConnection()));
+            runOnVirtualThreads(lookups, () -> {
+                Thread.sleep(200);
+                for (var connection : held) {
+                    connection.close();
+                }
+            });
+        });
+
+        // Then
+        assertThat(pinned).as(describe(pinned)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Não deve prender carrier threads ao enviar a outbox")
+    void shouldNotPinOnMailDispatch() throws Exception {
+        // Given
+        var sender = greenMailSender();
+        var pool = new SmtpTransportPool(sender, 2, 30);
+        var outbox = mock(MailOutbox.class);
+        when(outbox.claimBatch()).thenReturn(List.of(resetMail(1), resetMail(2), resetMail(3), resetMail(4)));
+        var dispatcher = new MailOutboxDispatcher(outbox, new MailService(sender, new MailTemplates(), pool));
+
+        try {
+            // When - dispatch() numa virtual thread, como no agendador em modo virtual
+            var pinned = pinnedEventsDuring(() -> runOnVirtualThreads(List.of(dispatcher::dispatch), () -> { }));
+
+            // Then
+            assertThat(pinned).as(describe(pinned)).isEmpty();
+            assertThat(greenMail.getReceivedMessages()).hasSize(4);
+            verify(outbox, times(4)).markSent(anyLong());
+        } finally {
+            dispatcher.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Controle: SMTP direto numa virtual thread prende a carrier thread")
+    void shouldDetectPinningOfSmtpOnVirtualThread() throws Exception {
+        // Given
+        var sender = greenMailSender();
+        var pool = new SmtpTransportPool(sender, 1, 30);
+        var message = new MailService(sender, new MailTemplates(), pool).buildResetEmail("controle@example.com", "token");
+
+        try {
+            // When
+            var pinned = pinnedEventsDuring(() -> runOnVirtualThreads(List.of(() -> pool.sendBatch(List.of(message))), () -> { }));
+
+            // Then
+            assertThat(pinned).isNotEmpty();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // ========== AUXILIARES ==========
+
+    private static JavaMailSenderImpl greenMailSender() {
+        var sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private static PendingMail resetMail(long id) {
+        return PendingMail.builder()
+            .id(id)
+            .kind(PendingMail.Kind.PASSWORD_RESET)
+            .recipient("pinning-" + id + "@example.com")
+            .payload("token-" + id)
+            .status(PendingMail.Status.SENDING)
+            .nextAttemptAt(Instant.now())
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    /**
+     * RODAR AS TAREFAS EM VIRTUAL THREADS (whileRunning roda logo após disparar)
+     */
+    private static void runOnVirtualThreads(List<Callable<Object>> tasks, Work whileRunning) throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<Object>>();
+            for (var task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            whileRunning.run();
+            for (var future : futures) {
+                future.get();  // Propaga falhas das tarefas
+            }
+        }
+    }
+
+    interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * EVENTOS jdk.VirtualThreadPinned (qualquer duração) DURANTE work
+     */
+    private static List<RecordedEvent> pinnedEventsDuring(Work work) throws Exception {
+        var file = Files.createTempFile("pinning", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String describe(List<RecordedEvent> events) {
+        return events.stream()
+            .map(event -> event.getStackTrace() == null ? "(sem stack)" : event.getStackTrace().getFrames().stream()
+                .limit(12)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .collect(Collectors.joining("\n    ", "Pinned:\n    ", "")))
+            .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.login.login.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES PARA HIKARI POOL SIZER
+ *
+ * Cenários testados:
+ * - Fórmula: núcleos × (1 − hashing-share) × (1 + db-wait-ratio), com piso e teto
+ * - Parâmetros inválidos
+ * - Pool sem tamanho configurado recebe o calculado; tamanho explícito é mantido
+ */
+@DisplayName("Hikari Pool Sizer Tests")
+class HikariPoolSizerTest {
+
+    @Test
+    @DisplayName("Deve calcular o tamanho pelos núcleos e pela fração de hashing")
+    void shouldSizeFromCoresAndHashingShare() {
+        assertThat(HikariPoolSizer.recommendedSize(8, 0.5, 1.0, 4, 40)).isEqualTo(8);
+        assertThat(HikariPoolSizer.recommendedSize(16, 0.5, 1.0, 4, 40)).isEqualTo(16);
+        assertThat(HikariPoolSizer.recommendedSize(8, 0.0, 1.0, 4, 40)).isEqualTo(16);   // Sem hashing
+        assertThat(HikariPoolSizer.recommendedSize(8, 0.7, 1.0, 4, 40)).isEqualTo(5);    // Login-heavy (4.8 → 5)
+        assertThat(HikariPoolSizer.recommendedSize(8, 0.5, 3.0, 4, 40)).isEqualTo(16);   // Banco mais lento
+    }
+
+    @Test
+    @DisplayName("Deve respeitar piso e teto")
+    void shouldClampToLimits() {
+        assertThat(HikariPoolSizer.recommendedSize(2, 0.5, 1.0, 4, 40)).isEqualTo(4);
+        assertThat(HikariPoolSizer.recommendedSize(64, 0.0, 1.0, 4, 40)).isEqualTo(40);
+        assertThat(HikariPoolSizer.recommendedSize(8, 1.0, 1.0, 4, 40)).isEqualTo(4);    // Só hashing
+    }
+
+    @Test
+    @DisplayName("Deve recusar parâmetros inválidos")
+    void shouldRejectInvalidParameters() {
+        assertThatThrownBy(() -> HikariPoolSizer.recommendedSize(8, 1.5, 1.0, 4, 40))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HikariPoolSizer.recommendedSize(8, 0.5, -1.0, 4, 40))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HikariPoolSizer.recommendedSize(8, 0.5, 1.0, 10, 5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve dimensionar só pools sem tamanho explícito")
+    void shouldOnlySizeUnconfiguredPools() {
+        // Given
+        var environment = new MockEnvironment()
+            .withProperty("app.datasource.replica.hikari.maximum-pool-size", "3");
+        var sizer = new HikariPoolSizer(environment, 0.5, 1.0, 7, 7);  // Piso = teto → sempre 7
+        var unconfigured = new HikariDataSource();
+        var configured = new HikariDataSource();
+        configured.setMaximumPoolSize(3);  // Como o binding de app.datasource.replica.hikari.* deixaria
+
+        // When
+        sizer.postProcessAfterInitialization(unconfigured, "primaryDataSource");
+        sizer.postProcessAfterInitialization(configured, "replicaDataSource");
+
+        // Then
+        assertThat(unconfigured.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(configured.getMaximumPoolSize()).isEqualTo(3);
+    }
+}
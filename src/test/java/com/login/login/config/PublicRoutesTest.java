@@ -0,0 +1,42 @@
+package com.login.login.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA PUBLIC ROUTES
+ *
+ * Cenários testados:
+ * - Página inicial e prefixos públicos (com e sem subcaminho)
+ * - Rotas protegidas e prefixos "parecidos" (/authx, /jsx)
+ * - Patterns expostos ao SecurityConfig
+ */
+@DisplayName("Public Routes Tests")
+class PublicRoutesTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/", "/auth", "/auth/", "/auth/login", "/auth/reset/abc",
+        "/css/app.css", "/js/app.js", "/images/logo.png"})
+    @DisplayName("Deve reconhecer rotas públicas")
+    void shouldMatchPublicRoutes(String path) {
+        assertThat(PublicRoutes.isPublic(path)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "/dashboard", "/authx", "/jsx/app.js", "/au", "/api/users", "/imagesx", "auth/login"})
+    @DisplayName("Não deve reconhecer rotas protegidas")
+    void shouldNotMatchProtectedRoutes(String path) {
+        assertThat(PublicRoutes.isPublic(path)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve expor os patterns usados no SecurityConfig")
+    void shouldExposeSecurityPatterns() {
+        assertThat(PublicRoutes.PATTERNS)
+            .containsExactly("/auth/**", "/css/**", "/js/**", "/images/**", "/");
+    }
+}
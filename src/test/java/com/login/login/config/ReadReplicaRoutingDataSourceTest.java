@@ -0,0 +1,71 @@
+package com.login.login.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES PARA READ REPLICA ROUTING DATA SOURCE
+ *
+ * Dois bancos H2 em memória fazem o papel de primário e réplica; cada um
+ * responde o próprio nome (DATABASE()).
+ *
+ * Cenários testados:
+ * - Transação read-only → réplica
+ * - Transação de escrita e SQL fora de transação → primário
+ */
+@DisplayName("Read Replica Routing DataSource Tests")
+class ReadReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        var primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        var replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+
+        // Mesma montagem do DataSourceRoutingConfig
+        var dataSource = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica));
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String database() {
+        return jdbc.queryForObject("select database()", String.class);
+    }
+
+    @Test
+    @DisplayName("Deve enviar transação read-only para a réplica")
+    void shouldRouteReadOnlyTransactionToReplica() {
+        // When
+        String database = readOnly.execute(status -> database());
+
+        // Then
+        assertThat(database).isEqualToIgnoringCase("routing_replica");
+    }
+
+    @Test
+    @DisplayName("Deve enviar escrita e SQL sem transação para o primário")
+    void shouldRouteWritesAndNonTransactionalToPrimary() {
+        // When
+        String inTransaction = readWrite.execute(status -> database());
+        String withoutTransaction = database();
+
+        // Then
+        assertThat(inTransaction).isEqualToIgnoringCase("routing_primary");
+        assertThat(withoutTransaction).isEqualToIgnoringCase("routing_primary");
+    }
+}
@@ -0,0 +1,189 @@
+package com.login.login.jwt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+import com.login.login.service.UserPrincipalCache;
+
+import jakarta.servlet.http.Cookie;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TESTES UNITÁRIOS PARA JWT AUTHENTICATION FILTER
+ *
+ * Cenários testados:
+ * - Modo padrão: principal carregado do banco
+ * - Modo claims-trusted: principal montado dos claims, sem banco
+ * - Tokens revogados não autenticam
+ * - Token inválido mantém requisição anônima
+ * - Rotas públicas pulam o filtro; rotas protegidas passam por ele
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JWT Authentication Filter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "dGVzdFNlY3JldEtleTEyMzQ1Njc4OTBhYmNkZWZnaGlqa2xtbm9wcXJzdHV2d3h5eg==";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtService jwtService;
+    private TokenRevocationRegistry revocations;
+    private UserPrincipalCache userCache;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, "test-app", 30L);
+        revocations = new TokenRevocationRegistry(30L);
+        userCache = new UserPrincipalCache(userRepository, 100, 60);
+        testUser = User.builder()
+            .id(1L)
+            .email("test@example.com")
+            .name("Test User")
+            .password("hashed")
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        var req = new MockHttpServletRequest("GET", "/dashboard");
+        req.setServletPath("/dashboard");
+        req.setCookies(new Cookie("ACCESS_TOKEN", token));
+        return req;
+    }
+
+    @Test
+    @DisplayName("Deve autenticar carregando usuário do banco no modo padrão")
+    void shouldAuthenticateFromDatabaseByDefault() throws Exception {
+        // Given
+        var filter = new JwtAuthenticationFilter(jwtService, userCache, revocations, false);
+        var principal = new JwtPrincipal(1L, "test@example.com", "Test User");
+        when(userRepository.findPrincipalById(1L)).thenReturn(Optional.of(principal));
+
+        // When
+        filter.doFilterInternal(requestWithToken(jwtService.createAcessToken(testUser)),
+            new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getPrincipal()).isSameAs(principal);
+        assertThat(auth.getName()).isEqualTo("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Deve autenticar pelos claims sem consultar o banco no modo claims-trusted")
+    void shouldAuthenticateFromClaimsWithoutDatabase() throws Exception {
+        // Given
+        var filter = new JwtAuthenticationFilter(jwtService, userCache, revocations, true);
+
+        // When
+        filter.doFilterInternal(requestWithToken(jwtService.createAcessToken(testUser)),
+            new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getPrincipal()).isInstanceOf(JwtPrincipal.class);
+        assertThat(auth.getName()).isEqualTo("test@example.com");
+        assertThat(auth.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar token emitido antes da revogação")
+    void shouldRejectRevokedToken() throws Exception {
+        // Given
+        var filter = new JwtAuthenticationFilter(jwtService, userCache, revocations, true);
+        var token = jwtService.createAcessToken(testUser);
+        revocations.revokeAll(1L);
+
+        // When
+        filter.doFilterInternal(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve seguir anônimo com token inválido e continuar a cadeia")
+    void shouldStayAnonymousWithInvalidToken() throws Exception {
+        // Given
+        var filter = new JwtAuthenticationFilter(jwtService, userCache, revocations, false);
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilterInternal(requestWithToken("invalid.token.here"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+        verify(userRepository, never()).findPrincipalById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve autenticar rota protegida pelo doFilter (shouldNotFilter = false)")
+    void shouldRunOnProtectedRoute() throws Exception {
+        // Given
+        var filter = new JwtAuthenticationFilter(jwtService, userCache, revocations, true);
+
+        // When
+        filter.doFilter(requestWithToken(jwtService.createAcessToken(testUser)),
+            new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve pular o filtro em rota pública")
+    void shouldSkipPublicRoute() throws Exception {
+        // Given
+        var filter = new JwtAuthenticationFilter(jwtService, userCache, revocations, true);
+        var req = requestWithToken(jwtService.createAcessToken(testUser));
+        req.setServletPath("/auth/login");
+
+        // When
+        filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve autenticar pelo header Authorization: Bearer")
+    void shouldAuthenticateFromBearerHeader() throws Exception {
+        // Given
+        var filter = new JwtAuthenticationFilter(jwtService, userCache, revocations, true);
+        var req = new MockHttpServletRequest("GET", "/api/me");
+        req.setServletPath("/api/me");
+        req.addHeader("Authorization", "Bearer " + jwtService.createAcessToken(testUser));
+
+        // When
+        filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+}
@@ -0,0 +1,73 @@
+package com.login.login.jwt;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.login.login.domain.User;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * BENCHMARK JMH - PARSER JWT POR REQUISIÇÃO vs PARSER COMPARTILHADO
+ *
+ * Compara:
+ * - rebuildParserPerToken: caminho antigo (Jwts.parser().verifyWith(key).build() a cada token)
+ * - sharedParser: caminho atual (JwtService.subjectToUserId com parser pré-construído)
+ * - verifiedCache: mesmo token repetido com app.jwt.verified-cache.enabled=true
+ *
+ * COMO RODAR (parses/s + bytes alocados por parse via -prof gc):
+ * ./mvnw -Pbenchmark -DskipTests test-compile exec:exec -Djmh.args="JwtParserBenchmark -prof gc"
+ *
+ * Métrica de alocação: gc.alloc.rate.norm (bytes/op)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParserBenchmark {
+
+    private static final String SECRET = "dGVzdFNlY3JldEtleTEyMzQ1Njc4OTBhYmNkZWZnaGlqa2xtbm9wcXJzdHV2d3h5eg==";
+
+    private SecretKey key;
+    private JwtService jwtService;
+    private JwtService cachedJwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        jwtService = new JwtService(SECRET, "bench", 30L);
+        cachedJwtService = new JwtService(SECRET, "bench", 30L, new VerifiedTokenCache(1000));
+        token = jwtService.createAcessToken(User.builder()
+            .id(42L)
+            .email("bench@example.com")
+            .name("Bench User")
+            .build());
+    }
+
+    @Benchmark
+    public Long rebuildParserPerToken() {
+        // Caminho antigo: parser novo a cada token
+        var jws = Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        return Long.valueOf(jws.getPayload().getSubject());
+    }
+
+    @Benchmark
+    public Long sharedParser() {
+        // Caminho atual: parser construído uma vez no JwtService
+        return jwtService.subjectToUserId(token);
+    }
+
+    @Benchmark
+    public Long verifiedCache() {
+        // Token repetido: busca no cache em vez de Base64/JSON/HMAC
+        return cachedJwtService.subjectToUserId(token);
+    }
+}
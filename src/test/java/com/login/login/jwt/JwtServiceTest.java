@@ -71,6 +71,24 @@ class JwtServiceTest {
         assertThat(userId).isEqualTo(testUser.getId());
     }
 
+    @Test
+    @DisplayName("Deve devolver claims do token validado")
+    void shouldReturnVerifiedClaims() {
+        // Given
+        String token = jwtService.createAcessToken(testUser);
+
+        // When
+        VerifiedToken verified = jwtService.verify(token);
+
+        // Then
+        assertThat(verified.userId()).isEqualTo(1L);
+        assertThat(verified.email()).isEqualTo("test@example.com");
+        assertThat(verified.name()).isEqualTo("Test User");
+        assertThat(verified.roles()).containsExactly("ROLE_USER");
+        assertThat(verified.issuedAt()).isNotNull();
+        assertThat(verified.expiresAt()).isAfter(verified.issuedAt());
+    }
+
     @Test
     @DisplayName("Deve falhar ao extrair ID de token inválido")
     void shouldFailToExtractIdFromInvalidToken() {
@@ -147,4 +165,42 @@ class JwtServiceTest {
         assertThatThrownBy(() -> jwtService.subjectToUserId(malformedToken))
             .isInstanceOf(JwtException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve responder token repetido do cache de tokens verificados")
+    void shouldServeRepeatedTokenFromVerifiedCache() {
+        // Given
+        var cache = new VerifiedTokenCache(100);
+        var cachedService = new JwtService(
+            "dGVzdFNlY3JldEtleTEyMzQ1Njc4OTBhYmNkZWZnaGlqa2xtbm9wcXJzdHV2d3h5eg==", "test-app", 30L, cache);
+        String token = cachedService.createAcessToken(testUser);
+
+        // When
+        VerifiedToken first = cachedService.verify(token);
+        VerifiedToken second = cachedService.verify(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve reaproveitar cache para token forjado com a mesma assinatura")
+    void shouldNotServeForgedTokenWithCopiedSignature() {
+        // Given
+        var cachedService = new JwtService(
+            "dGVzdFNlY3JldEtleTEyMzQ1Njc4OTBhYmNkZWZnaGlqa2xtbm9wcXJzdHV2d3h5eg==", "test-app", 30L,
+            new VerifiedTokenCache(100));
+        String token = cachedService.createAcessToken(testUser);
+        cachedService.verify(token);
+
+        String[] parts = token.split("\\.");
+        String otherPayload = jwtService.createAcessToken(User.builder()
+            .id(2L).email("other@example.com").name("Other").build()).split("\\.")[1];
+        String forged = parts[0] + "." + otherPayload + "." + parts[2];
+
+        // When & Then
+        assertThatThrownBy(() -> cachedService.verify(forged))
+            .isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,155 @@
+package com.login.login.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+import jakarta.mail.internet.MimeMessage;
+
+import com.login.login.domain.PendingMail;
+
+/**
+ * TESTES UNITÁRIOS PARA MAIL OUTBOX DISPATCHER
+ * 
+ * Cenários testados:
+ * - Fila vazia não envia nada
+ * - Envio com sucesso marca SENT
+ * - Falha de SMTP agenda nova tentativa (markFailed)
+ * - Lote dividido entre as conexões do pool
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mail Outbox Dispatcher Tests")
+class MailOutboxDispatcherTest {
+
+    @Mock
+    private MailOutbox outbox;
+
+    @Mock
+    private MailService mailService;
+
+    @Mock
+    private MimeMessage message;
+
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new MailOutboxDispatcher(outbox, mailService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private PendingMail resetMail(long id, String to) {
+        return PendingMail.builder()
+            .id(id)
+            .kind(PendingMail.Kind.PASSWORD_RESET)
+            .recipient(to)
+            .payload("token-" + id)
+            .locale("fr-FR")
+            .status(PendingMail.Status.SENDING)
+            .nextAttemptAt(Instant.now())
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Não deve enviar nada com a fila vazia")
+    void shouldDoNothingWhenQueueIsEmpty() {
+        // Given
+        when(outbox.claimBatch()).thenReturn(List.of());
+
+        // When
+        int processed = dispatcher.dispatch();
+
+        // Then
+        assertThat(processed).isZero();
+        verifyNoInteractions(mailService);
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote e marcar cada email como enviado")
+    void shouldSendBatchAndMarkSent() {
+        // Given
+        when(outbox.claimBatch()).thenReturn(List.of(resetMail(1L, "a@example.com"), resetMail(2L, "b@example.com")));
+        when(mailService.connections()).thenReturn(1);
+        when(mailService.buildResetEmail(anyString(), anyString(), any())).thenReturn(message);
+        when(mailService.sendAll(anyList())).thenReturn(new Exception[2]);
+
+        // When
+        int processed = dispatcher.dispatch();
+
+        // Then
+        assertThat(processed).isEqualTo(2);
+        verify(mailService).buildResetEmail("a@example.com", "token-1", Locale.forLanguageTag("fr-FR"));
+        verify(mailService).buildResetEmail("b@example.com", "token-2", Locale.forLanguageTag("fr-FR"));
+        verify(mailService, times(1)).sendAll(List.of(message, message));  // Uma conexão, um lote
+        verify(outbox).markSent(1L);
+        verify(outbox).markSent(2L);
+        verify(outbox, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar falha apenas do email recusado")
+    void shouldMarkFailedOnlyForRejectedMail() {
+        // Given
+        var error = new IllegalStateException("relay down");
+        when(outbox.claimBatch()).thenReturn(List.of(resetMail(1L, "a@example.com"), resetMail(2L, "b@example.com")));
+        when(mailService.connections()).thenReturn(1);
+        when(mailService.buildResetEmail(anyString(), anyString(), any())).thenReturn(message);
+        when(mailService.sendAll(anyList())).thenReturn(new Exception[] { error, null });
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(outbox).markFailed(1L, error);
+        verify(outbox).markSent(2L);
+    }
+
+    @Test
+    @DisplayName("Deve registrar falha quando a mensagem não pode ser montada")
+    void shouldMarkFailedWhenMessageCannotBeBuilt() {
+        // Given
+        when(outbox.claimBatch()).thenReturn(List.of(resetMail(1L, "invalid")));
+        when(mailService.buildResetEmail(anyString(), anyString(), any())).thenThrow(new IllegalStateException("bad address"));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(outbox).markFailed(eq(1L), any(IllegalStateException.class));
+        verify(mailService, never()).sendAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve dividir o lote entre as conexões do pool")
+    void shouldSplitBatchAcrossConnections() {
+        // Given
+        when(outbox.claimBatch()).thenReturn(List.of(
+            resetMail(1L, "a@example.com"), resetMail(2L, "b@example.com"), resetMail(3L, "c@example.com")));
+        when(mailService.connections()).thenReturn(2);
+        when(mailService.buildResetEmail(anyString(), anyString(), any())).thenReturn(message);
+        when(mailService.sendAll(anyList())).thenAnswer(inv -> new Exception[inv.<List<?>>getArgument(0).size()]);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(mailService, times(2)).sendAll(anyList());  // 2 conexões → 2 partes (2 + 1)
+        verify(outbox, times(3)).markSent(anyLong());
+    }
+}
@@ -0,0 +1,115 @@
+package com.login.login.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * TESTES UNITÁRIOS PARA MAIL OUTBOX REAPER
+ * 
+ * Cenários testados:
+ * - Corte pela retenção (agora - retention-days)
+ * - Lote incompleto encerra a execução
+ * - Lotes cheios continuam até esvaziar
+ * - Teto de lotes por execução
+ * - Totais acumulados entre execuções
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mail Outbox Reaper Tests")
+class MailOutboxReaperTest {
+
+    @Mock
+    private MailOutbox outbox;
+
+    private MailOutboxReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        reaper = new MailOutboxReaper(outbox, 7, 100, 3);
+    }
+
+    @Test
+    @DisplayName("Deve apagar só o que passou da retenção")
+    void shouldUseRetentionCutoff() {
+        // Given
+        var before = Instant.now().minus(Duration.ofDays(7));
+
+        // When
+        reaper.purge();
+
+        // Then
+        var cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(outbox).purgeBatch(cutoff.capture(), eq(100));
+        assertThat(cutoff.getValue()).isBetween(before, Instant.now().minus(Duration.ofDays(7)));
+    }
+
+    @Test
+    @DisplayName("Deve parar no primeiro lote incompleto")
+    void shouldStopOnPartialBatch() {
+        // Given
+        when(outbox.purgeBatch(any(), eq(100))).thenReturn(40);
+
+        // When
+        var result = reaper.purge();
+
+        // Then
+        assertThat(result.purged()).isEqualTo(40);
+        assertThat(result.batches()).isEqualTo(1);
+        verify(outbox, times(1)).purgeBatch(any(), eq(100));
+    }
+
+    @Test
+    @DisplayName("Deve continuar enquanto os lotes vierem cheios")
+    void shouldContinueWhileBatchesAreFull() {
+        // Given
+        when(outbox.purgeBatch(any(), eq(100))).thenReturn(100, 100, 0);
+
+        // When
+        var result = reaper.purge();
+
+        // Then
+        assertThat(result.purged()).isEqualTo(200);
+        assertThat(result.batches()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o máximo de lotes por execução")
+    void shouldRespectMaxBatches() {
+        // Given
+        when(outbox.purgeBatch(any(), eq(100))).thenReturn(100);
+
+        // When
+        var result = reaper.purge();
+
+        // Then
+        assertThat(result.purged()).isEqualTo(300);
+        assertThat(result.batches()).isEqualTo(3);
+        verify(outbox, times(3)).purgeBatch(any(), eq(100));
+    }
+
+    @Test
+    @DisplayName("Deve acumular o total apagado e guardar a última execução")
+    void shouldAccumulateTotals() {
+        // Given
+        when(outbox.purgeBatch(any(), eq(100))).thenReturn(10, 5);
+
+        // When
+        reaper.purge();
+        var last = reaper.purge();
+
+        // Then
+        assertThat(reaper.totalPurged()).isEqualTo(15);
+        assertThat(reaper.lastRun()).isEqualTo(last);
+        assertThat(last.elapsed().isNegative()).isFalse();
+    }
+}
@@ -0,0 +1,169 @@
+package com.login.login.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import com.login.login.domain.PendingMail;
+import com.login.login.repo.PendingMailRepository;
+
+/**
+ * TESTES UNITÁRIOS PARA MAIL OUTBOX
+ * 
+ * Cenários testados:
+ * - Enfileiramento com idioma capturado
+ * - Backoff exponencial limitado
+ * - Falha agenda nova tentativa ou marca FAILED após max-attempts
+ * - Payload (token) apagado ao chegar em SENT ou FAILED
+ * - Limpeza em lote só de SENT/FAILED
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mail Outbox Tests")
+class MailOutboxTest {
+
+    @Mock
+    private PendingMailRepository pendingMailRepository;
+
+    private MailOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        // batch 50, 3 tentativas, backoff 30s..120s, stale 300s
+        outbox = new MailOutbox(pendingMailRepository, 50, 3, 30, 120, 300);
+    }
+
+    private PendingMail sendingMail(int attempts) {
+        return PendingMail.builder()
+            .id(1L)
+            .kind(PendingMail.Kind.PASSWORD_RESET)
+            .recipient("test@example.com")
+            .payload("token")
+            .status(PendingMail.Status.SENDING)
+            .attempts(attempts)
+            .claimToken("claim")
+            .nextAttemptAt(Instant.now())
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Deve enfileirar email de reset pronto para envio")
+    void shouldEnqueuePasswordReset() {
+        // When
+        outbox.enqueuePasswordReset("test@example.com", "token-123", Locale.forLanguageTag("pt-BR"));
+
+        // Then
+        var captor = ArgumentCaptor.forClass(PendingMail.class);
+        verify(pendingMailRepository).save(captor.capture());
+        var mail = captor.getValue();
+        assertThat(mail.getKind()).isEqualTo(PendingMail.Kind.PASSWORD_RESET);
+        assertThat(mail.getPayload()).isEqualTo("token-123");
+        assertThat(mail.getLocale()).isEqualTo("pt-BR");
+        assertThat(mail.getStatus()).isEqualTo(PendingMail.Status.PENDING);
+        assertThat(mail.getNextAttemptAt()).isBeforeOrEqualTo(Instant.now());
+    }
+
+    @Test
+    @DisplayName("Deve dobrar o backoff a cada tentativa até o limite")
+    void shouldDoubleBackoffUpToLimit() {
+        assertThat(outbox.backoffFor(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(outbox.backoffFor(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(outbox.backoffFor(3)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(outbox.backoffFor(10)).isEqualTo(Duration.ofSeconds(120));
+    }
+
+    @Test
+    @DisplayName("Deve agendar nova tentativa após falha")
+    void shouldRescheduleAfterFailure() {
+        // Given
+        var mail = sendingMail(0);
+        when(pendingMailRepository.findById(1L)).thenReturn(Optional.of(mail));
+
+        // When
+        outbox.markFailed(1L, new IllegalStateException("relay down"));
+
+        // Then
+        assertThat(mail.getStatus()).isEqualTo(PendingMail.Status.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getClaimToken()).isNull();
+        assertThat(mail.getNextAttemptAt()).isAfter(Instant.now().plusSeconds(25));
+        assertThat(mail.getLastError()).contains("relay down");
+        assertThat(mail.getPayload()).isEqualTo("token");  // Ainda precisa para a próxima tentativa
+    }
+
+    @Test
+    @DisplayName("Deve apagar o payload ao marcar SENT")
+    void shouldClearPayloadWhenSent() {
+        // Given
+        var mail = sendingMail(0);
+        when(pendingMailRepository.findById(1L)).thenReturn(Optional.of(mail));
+
+        // When
+        outbox.markSent(1L);
+
+        // Then
+        assertThat(mail.getStatus()).isEqualTo(PendingMail.Status.SENT);
+        assertThat(mail.getSentAt()).isNotNull();
+        assertThat(mail.getPayload()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve marcar FAILED ao atingir o máximo de tentativas")
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        var mail = sendingMail(2);
+        when(pendingMailRepository.findById(1L)).thenReturn(Optional.of(mail));
+
+        // When
+        outbox.markFailed(1L, new IllegalStateException("relay down"));
+
+        // Then
+        assertThat(mail.getStatus()).isEqualTo(PendingMail.Status.FAILED);
+        assertThat(mail.getAttempts()).isEqualTo(3);
+        assertThat(mail.getPayload()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve apagar em lote só emails SENT e FAILED anteriores ao corte")
+    void shouldPurgeFinishedBatch() {
+        // Given
+        var cutoff = Instant.now();
+        when(pendingMailRepository.findFinishedIds(
+                eq(List.of(PendingMail.Status.SENT, PendingMail.Status.FAILED)), eq(cutoff), any()))
+            .thenReturn(List.of(1L, 2L));
+        when(pendingMailRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        // When
+        int deleted = outbox.purgeBatch(cutoff, 10);
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve executar DELETE quando não há nada a apagar")
+    void shouldSkipDeleteWhenNothingToPurge() {
+        // Given
+        when(pendingMailRepository.findFinishedIds(any(), any(), any())).thenReturn(List.of());
+
+        // When
+        int deleted = outbox.purgeBatch(Instant.now(), 10);
+
+        // Then
+        assertThat(deleted).isZero();
+        verify(pendingMailRepository, never()).deleteByIdIn(any());
+    }
+}
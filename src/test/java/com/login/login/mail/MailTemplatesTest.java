@@ -0,0 +1,107 @@
+package com.login.login.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Locale;
+
+import jakarta.mail.internet.MimeMultipart;
+
+/**
+ * TESTES UNITÁRIOS PARA MAIL TEMPLATES
+ * 
+ * Cenários testados:
+ * - Templates pt/en/fr carregados com assunto e link substituído
+ * - Escolha do idioma (variante regional e fallback para pt)
+ * - Escape do link na versão HTML
+ * - MailService monta email multipart (texto + HTML)
+ */
+@DisplayName("Mail Templates Tests")
+class MailTemplatesTest {
+
+    private final MailTemplates templates = new MailTemplates();
+
+    private static String renderText(MailTemplate template, String link) {
+        var out = new StringBuilder();
+        template.renderText(out, link);
+        return out.toString();
+    }
+
+    private static String renderHtml(MailTemplate template, String link) {
+        var out = new StringBuilder();
+        template.renderHtml(out, link);
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("Deve carregar os templates de reset em pt, en e fr")
+    void shouldLoadAllLanguages() {
+        assertThat(templates.get(MailTemplates.RESET, Locale.forLanguageTag("pt-BR")).subject())
+            .isEqualTo("Redefinição de senha");
+        assertThat(templates.get(MailTemplates.RESET, Locale.ENGLISH).subject())
+            .isEqualTo("Password reset");
+        assertThat(templates.get(MailTemplates.RESET, Locale.FRANCE).subject())
+            .isEqualTo("Réinitialisation du mot de passe");
+    }
+
+    @Test
+    @DisplayName("Deve usar pt para idioma sem tradução ou nulo")
+    void shouldFallBackToPortuguese() {
+        var pt = templates.get(MailTemplates.RESET, Locale.forLanguageTag("pt"));
+
+        assertThat(templates.get(MailTemplates.RESET, Locale.GERMAN)).isSameAs(pt);
+        assertThat(templates.get(MailTemplates.RESET, null)).isSameAs(pt);
+    }
+
+    @Test
+    @DisplayName("Deve substituir apenas o link no corpo texto")
+    void shouldRenderTextWithLink() {
+        // Given
+        var template = templates.get(MailTemplates.RESET, Locale.ENGLISH);
+
+        // When
+        var text = renderText(template, "http://localhost:8080/auth/reset/abc");
+
+        // Then
+        assertThat(text)
+            .startsWith("Hello,")
+            .contains("http://localhost:8080/auth/reset/abc")
+            .doesNotContain("{{link}}")
+            .doesNotContain("Subject:");
+    }
+
+    @Test
+    @DisplayName("Deve escapar o link na versão HTML")
+    void shouldEscapeLinkInHtml() {
+        // Given
+        var template = templates.get(MailTemplates.RESET, Locale.forLanguageTag("pt"));
+
+        // When
+        var html = renderHtml(template, "http://x/reset?a=1&b=\"2\"");
+
+        // Then
+        assertThat(html)
+            .contains("href=\"http://x/reset?a=1&amp;b=&quot;2&quot;\"")
+            .doesNotContain("{{link}}");
+    }
+
+    @Test
+    @DisplayName("Deve montar email multipart no idioma pedido")
+    void shouldBuildMultipartEmailInRequestedLanguage() throws Exception {
+        // Given
+        var mailService = new MailService(new JavaMailSenderImpl(), templates, null);
+        var field = MailService.class.getDeclaredField("baseUrl");
+        field.setAccessible(true);
+        field.set(mailService, "http://localhost:8080");
+
+        // When
+        var message = mailService.buildResetEmail("test@example.com", "abc", Locale.FRENCH);
+        message.saveChanges();
+
+        // Then
+        assertThat(message.getSubject()).isEqualTo("Réinitialisation du mot de passe");
+        assertThat(message.getContent()).isInstanceOf(MimeMultipart.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.login.login.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * TESTES DE INTEGRAÇÃO PARA SMTP TRANSPORT POOL
+ * 
+ * Usa GreenMail como servidor SMTP em processo.
+ * 
+ * Cenários testados:
+ * - Lote inteiro enviado por uma única conexão
+ * - Conexão reaproveitada entre lotes
+ * - Conexão derrubada pelo servidor é substituída
+ */
+@DisplayName("SMTP Transport Pool Tests")
+class SmtpTransportPoolTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private JavaMailSenderImpl sender;
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() {
+        sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        pool = new SmtpTransportPool(sender, 1, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private MimeMessage message(String to) throws Exception {
+        var helper = new MimeMessageHelper(sender.createMimeMessage());
+        helper.setFrom("noreply@example.com");
+        helper.setTo(to);
+        helper.setSubject("Redefinição de senha");
+        helper.setText("link", false);
+        return helper.getMimeMessage();
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote inteiro por uma única conexão")
+    void shouldSendBatchOverSingleConnection() throws Exception {
+        // When
+        var results = pool.sendBatch(List.of(message("a@example.com"), message("b@example.com"), message("c@example.com")));
+
+        // Then
+        assertThat(results).containsOnlyNulls();
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+
+        var stats = pool.stats();
+        assertThat(stats.connectionsOpened()).isEqualTo(1);
+        assertThat(stats.messagesSent()).isEqualTo(3);
+        assertThat(stats.messagesOnReusedConnection()).isEqualTo(2);
+        assertThat(stats.maxLatencyNanos()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a conexão entre lotes")
+    void shouldReuseConnectionAcrossBatches() throws Exception {
+        // When
+        pool.sendBatch(List.of(message("a@example.com")));
+        pool.sendBatch(List.of(message("b@example.com")));
+
+        // Then
+        var stats = pool.stats();
+        assertThat(stats.connectionsOpened()).isEqualTo(1);
+        assertThat(stats.reuseRate()).isEqualTo(0.5);
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve abrir nova conexão quando o servidor derruba a antiga")
+    void shouldReconnectAfterServerRestart() throws Exception {
+        // Given
+        pool.sendBatch(List.of(message("a@example.com")));
+        greenMail.reset();  // Derruba conexões abertas
+
+        // When
+        var results = pool.sendBatch(List.of(message("b@example.com")));
+
+        // Then
+        assertThat(results).containsOnlyNulls();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(pool.stats().connectionsOpened()).isEqualTo(2);
+    }
+}
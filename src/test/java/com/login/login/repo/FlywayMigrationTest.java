@@ -0,0 +1,86 @@
+package com.login.login.repo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES DAS MIGRAÇÕES FLYWAY (src/main/resources/db/migration)
+ * 
+ * Em dev o schema vem do Hibernate (create-drop); aqui o Flyway cria o
+ * schema e o Hibernate só VALIDA (ddl-auto=validate) → qualquer diferença
+ * entre as entidades e os scripts SQL quebra o teste.
+ * 
+ * H2 em modo PostgreSQL, o mais próximo do banco de produção.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.datasource.url=jdbc:h2:mem:flyway;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Flyway Migration Tests")
+class FlywayMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Deve aplicar todas as migrações")
+    void shouldApplyAllMigrations() {
+        // When
+        Integer applied = jdbc.queryForObject(
+            "select count(*) from \"flyway_schema_history\" where \"success\" = true", Integer.class);
+
+        // Then
+        assertThat(applied).isGreaterThanOrEqualTo(6);  // V5 e V6 vêm de db/vendor/h2
+    }
+
+    @Test
+    @DisplayName("Deve criar o índice de expires_at em password_reset_token")
+    void shouldCreateExpiresAtIndex() {
+        // When
+        Integer found = jdbc.queryForObject(
+            "select count(*) from information_schema.indexes where index_name = 'ix_password_reset_token_expires_at'",
+            Integer.class);
+
+        // Then
+        assertThat(found).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar payload nulo e criar o índice de limpeza em mail_outbox")
+    void shouldPrepareMailOutboxRetention() {
+        // When
+        String nullable = jdbc.queryForObject("""
+            select is_nullable from information_schema.columns
+            where table_name = 'mail_outbox' and column_name = 'payload'""", String.class);
+        Integer index = jdbc.queryForObject(
+            "select count(*) from information_schema.indexes where index_name = 'ix_mail_outbox_finished'",
+            Integer.class);
+
+        // Then
+        assertThat(nullable).isEqualTo("YES");
+        assertThat(index).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve criar as sequences de ids com incremento igual ao allocationSize")
+    void shouldCreatePooledIdSequences() {
+        // When
+        var increments = jdbc.queryForList("""
+            select increment from information_schema.sequences
+            where sequence_name in ('users_seq', 'password_reset_token_seq', 'refresh_token_seq')""",
+            Long.class);
+
+        // Then
+        assertThat(increments).hasSize(3).containsOnly(50L);
+    }
+}
@@ -6,10 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import static org.assertj.core.api.Assertions.*;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -239,4 +241,71 @@ class PasswordResetTokenRepositoryTest {
         assertThat(passwordResetTokenRepository.existsById(tokenId)).isTrue();
         assertThat(passwordResetTokenRepository.existsById(999L)).isFalse();
     }
-}
\ No newline at end of file
+
+    private PasswordResetToken token(Instant expiresAt, boolean used) {
+        return entityManager.persist(PasswordResetToken.builder()
+            .token(UUID.randomUUID().toString())
+            .user(testUser)
+            .expiresAt(expiresAt)
+            .used(used)
+            .build());
+    }
+
+    @Test
+    @DisplayName("Deve listar IDs expirados respeitando o tamanho do lote")
+    void shouldFindExpiredIdsInBatches() {
+        // Given
+        var now = Instant.now();
+        token(now.minus(2, ChronoUnit.HOURS), false);
+        token(now.minus(1, ChronoUnit.HOURS), true);
+        token(now.minus(1, ChronoUnit.MINUTES), false);
+        token(now.plus(1, ChronoUnit.HOURS), false);
+        entityManager.flush();
+
+        // When
+        List<Long> all = passwordResetTokenRepository.findExpiredIds(now, PageRequest.of(0, 10));
+        List<Long> batch = passwordResetTokenRepository.findExpiredIds(now, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(all).hasSize(3);
+        assertThat(batch).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve listar IDs usados ainda não expirados")
+    void shouldFindUsedIds() {
+        // Given
+        var now = Instant.now();
+        var used = token(now.plus(1, ChronoUnit.HOURS), true);
+        token(now.plus(1, ChronoUnit.HOURS), false);
+        token(now.minus(1, ChronoUnit.HOURS), true);  // Expirado: já coberto por findExpiredIds
+        entityManager.flush();
+
+        // When
+        List<Long> ids = passwordResetTokenRepository.findUsedIds(now, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(ids).containsExactly(used.getId());
+    }
+
+    @Test
+    @DisplayName("Deve apagar um lote de IDs com um único DELETE")
+    void shouldDeleteByIdIn() {
+        // Given
+        var now = Instant.now();
+        var a = token(now.minus(1, ChronoUnit.HOURS), false);
+        var b = token(now.minus(1, ChronoUnit.HOURS), false);
+        var keep = token(now.plus(1, ChronoUnit.HOURS), false);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int deleted = passwordResetTokenRepository.deleteByIdIn(List.of(a.getId(), b.getId()));
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(passwordResetTokenRepository.findAll())
+            .extracting(PasswordResetToken::getId)
+            .containsExactly(keep.getId());
+    }
+}
@@ -0,0 +1,135 @@
+package com.login.login.repo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import com.login.login.domain.PendingMail;
+import com.login.login.domain.PendingMail.Status;
+
+/**
+ * TESTES DE INTEGRAÇÃO PARA PENDING MAIL REPOSITORY
+ * 
+ * Testa as consultas usadas para drenar a outbox de emails.
+ * 
+ * Cenários testados:
+ * - Apenas emails PENDING e vencidos entram no lote
+ * - Reivindicação condicional não pega a mesma linha duas vezes
+ * - Linhas presas em SENDING voltam para a fila
+ * - Limpeza apaga só SENT/FAILED anteriores ao corte
+ */
+@DataJpaTest
+@DisplayName("Pending Mail Repository Tests")
+class PendingMailRepositoryTest {
+
+    @Autowired
+    private PendingMailRepository pendingMailRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private PendingMail persist(Status status, Instant nextAttemptAt) {
+        return persist(status, nextAttemptAt, Instant.now());
+    }
+
+    private PendingMail persist(Status status, Instant nextAttemptAt, Instant createdAt) {
+        return entityManager.persistAndFlush(PendingMail.builder()
+            .kind(PendingMail.Kind.PASSWORD_RESET)
+            .recipient("test@example.com")
+            .payload(status == Status.SENT || status == Status.FAILED ? null : "token")
+            .status(status)
+            .nextAttemptAt(nextAttemptAt)
+            .createdAt(createdAt)
+            .build());
+    }
+
+    @Test
+    @DisplayName("Deve buscar apenas emails pendentes já vencidos")
+    void shouldFindOnlyDuePendingMails() {
+        // Given
+        var now = Instant.now();
+        var due = persist(Status.PENDING, now.minus(1, ChronoUnit.MINUTES));
+        persist(Status.PENDING, now.plus(10, ChronoUnit.MINUTES));  // Backoff ainda correndo
+        persist(Status.SENT, now.minus(1, ChronoUnit.MINUTES));     // Já entregue
+
+        // When
+        var ids = pendingMailRepository.findDueIds(Status.PENDING, now, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(ids).containsExactly(due.getId());
+    }
+
+    @Test
+    @DisplayName("Não deve reivindicar a mesma linha duas vezes")
+    void shouldClaimRowOnlyOnce() {
+        // Given
+        var now = Instant.now();
+        var mail = persist(Status.PENDING, now.minus(1, ChronoUnit.MINUTES));
+        var ids = List.of(mail.getId());
+
+        // When
+        int first = pendingMailRepository.claim(ids, "claim-1", now, Status.PENDING, Status.SENDING);
+        int second = pendingMailRepository.claim(ids, "claim-2", now, Status.PENDING, Status.SENDING);
+        entityManager.clear();
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(pendingMailRepository.findByClaimToken("claim-1")).hasSize(1);
+        assertThat(pendingMailRepository.findByClaimToken("claim-2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve devolver à fila linhas presas em SENDING")
+    void shouldRequeueStaleClaims() {
+        // Given
+        var now = Instant.now();
+        var mail = persist(Status.PENDING, now.minus(1, ChronoUnit.MINUTES));
+        pendingMailRepository.claim(List.of(mail.getId()), "claim-1",
+            now.minus(10, ChronoUnit.MINUTES), Status.PENDING, Status.SENDING);
+
+        // When
+        int requeued = pendingMailRepository.requeueStale(now.minus(5, ChronoUnit.MINUTES), Status.SENDING, Status.PENDING);
+        entityManager.clear();
+
+        // Then
+        assertThat(requeued).isEqualTo(1);
+        assertThat(pendingMailRepository.findById(mail.getId()))
+            .get()
+            .extracting(PendingMail::getStatus)
+            .isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("Deve apagar só emails SENT/FAILED criados antes do corte")
+    void shouldPurgeOnlyFinishedMailsBeforeCutoff() {
+        // Given
+        var now = Instant.now();
+        var old = now.minus(8, ChronoUnit.DAYS);
+        var cutoff = now.minus(7, ChronoUnit.DAYS);
+        var sent = persist(Status.SENT, old, old);
+        var failed = persist(Status.FAILED, old, old);
+        var pending = persist(Status.PENDING, old, old);   // Ainda na fila, mesmo antigo
+        var recent = persist(Status.SENT, now, now);       // Dentro da retenção
+
+        // When
+        var ids = pendingMailRepository.findFinishedIds(List.of(Status.SENT, Status.FAILED), cutoff, PageRequest.of(0, 10));
+        int deleted = pendingMailRepository.deleteByIdIn(ids);
+        entityManager.clear();
+
+        // Then
+        assertThat(ids).containsExactlyInAnyOrder(sent.getId(), failed.getId());
+        assertThat(deleted).isEqualTo(2);
+        assertThat(pendingMailRepository.findAll())
+            .extracting(PendingMail::getId)
+            .containsExactlyInAnyOrder(pending.getId(), recent.getId());
+    }
+}
@@ -278,4 +278,94 @@ class RefreshTokenRepositoryTest {
         assertThat(token1.get().getUser().getId()).isEqualTo(testUser.getId());
         assertThat(token2.get().getUser().getId()).isEqualTo(anotherUser.getId());
     }
-}
\ No newline at end of file
+
+    private RefreshToken familyToken(String hash, String familyId) {
+        return entityManager.persist(RefreshToken.builder()
+            .user(testUser)
+            .tokenHash(hash)
+            .familyId(familyId)
+            .expiresAt(Instant.now().plus(7, ChronoUnit.DAYS))
+            .build());
+    }
+
+    @Test
+    @DisplayName("Deve buscar token por hash já com o usuário carregado")
+    void shouldFindTokenWithUserByHash() {
+        // Given
+        refreshTokenRepository.save(testToken);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Optional<RefreshToken> found = refreshTokenRepository.findWithUserByTokenHash(testToken.getTokenHash());
+
+        // Then
+        assertThat(found).isPresent();
+        assertThat(org.hibernate.Hibernate.isInitialized(found.get().getUser())).isTrue();
+        assertThat(found.get().getUser().getEmail()).isEqualTo(testUser.getEmail());
+    }
+
+    @Test
+    @DisplayName("Deve revogar só uma vez com o UPDATE condicional")
+    void shouldRevokeIfActiveOnlyOnce() {
+        // Given
+        var token = familyToken("hash-once", "family-a");
+        entityManager.flush();
+
+        // When
+        int first = refreshTokenRepository.revokeIfActive(token.getId());
+        int second = refreshTokenRepository.revokeIfActive(token.getId());
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve revogar todos os tokens ativos da família")
+    void shouldRevokeWholeFamily() {
+        // Given
+        familyToken("hash-a1", "family-a");
+        familyToken("hash-a2", "family-a");
+        familyToken("hash-b1", "family-b");
+        entityManager.flush();
+
+        // When
+        int revoked = refreshTokenRepository.revokeFamily("family-a");
+        entityManager.clear();
+
+        // Then
+        assertThat(revoked).isEqualTo(2);
+        assertThat(refreshTokenRepository.findByTokenHash("hash-a1")).get().extracting(RefreshToken::isRevoked).isEqualTo(true);
+        assertThat(refreshTokenRepository.findByTokenHash("hash-b1")).get().extracting(RefreshToken::isRevoked).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Deve revogar todos os tokens do usuário com um único UPDATE")
+    void shouldRevokeAllByUserId() {
+        // Given
+        familyToken("hash-u1", "family-a");
+        familyToken("hash-u2", "family-b");
+        User other = entityManager.persist(User.builder()
+            .email("other@example.com")
+            .name("Other")
+            .password("password456")
+            .build());
+        entityManager.persist(RefreshToken.builder()
+            .user(other)
+            .tokenHash("hash-other")
+            .expiresAt(Instant.now().plus(7, ChronoUnit.DAYS))
+            .build());
+        entityManager.flush();
+
+        // When
+        int revoked = refreshTokenRepository.revokeAllByUserId(testUser.getId());
+        entityManager.clear();
+
+        // Then
+        assertThat(revoked).isEqualTo(2);
+        assertThat(refreshTokenRepository.findByTokenHash("hash-u1")).get().extracting(RefreshToken::isRevoked).isEqualTo(true);
+        assertThat(refreshTokenRepository.findByTokenHash("hash-u2")).get().extracting(RefreshToken::isRevoked).isEqualTo(true);
+        assertThat(refreshTokenRepository.findByTokenHash("hash-other")).get().extracting(RefreshToken::isRevoked).isEqualTo(false);
+    }
+}
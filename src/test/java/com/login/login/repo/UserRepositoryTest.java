@@ -1,8 +1,11 @@
 
 package com.login.login.repo;
 
+import com.login.login.domain.AuthUser;
 import com.login.login.domain.User;
 import com.login.login.repo.UserRepository;
+import com.login.login.service.UserService;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.Optional;
@@ -108,10 +112,8 @@ class UserRepositoryTest {
         entityManager.flush();
 
         // Act & Assert
-        assertThat(userRepository.findByEmail("TEST1@EXAMPLE.COM")).isEmpty(); // H2 é case-sensitive por padrão
+        assertThat(userRepository.findByEmail("TEST1@EXAMPLE.COM")).isPresent(); // Busca pela coluna email_normalized
         assertThat(userRepository.findByEmail("test1@example.com")).isPresent();
-        
-        // Para teste case-insensitive real, seria necessário configurar collation no banco
     }
 
     @Test
@@ -136,11 +138,115 @@ class UserRepositoryTest {
 
         // Assert
         assertThatThrownBy(() -> {
-            userRepository.save(user2);
-            entityManager.flush();
+            userRepository.saveAndFlush(user2);  // Id por sequence: o INSERT só sai no flush
         }).isInstanceOf(DataIntegrityViolationException.class);
     }
 
+    @Test
+    @DisplayName("Deve responder existsByEmail sem carregar o usuário")
+    void shouldCheckEmailExistence() {
+        // Arrange
+        entityManager.persistAndFlush(testUser1);
+
+        // Act & Assert
+        assertThat(userRepository.existsByEmail("test1@example.com")).isTrue();
+        assertThat(userRepository.existsByEmail("missing@example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar o usuário pelo email em qualquer caixa")
+    void shouldFindByEmailIgnoringCase() {
+        // Arrange
+        entityManager.persistAndFlush(User.ofnew("Mixed.Case@Example.com", "hashedPassword", "Mixed"));
+        entityManager.clear();
+
+        // Act
+        Optional<User> found = userRepository.findByEmail("  MIXED.case@example.COM ");
+
+        // Assert
+        assertThat(found).isPresent();
+        assertThat(found.get().getEmail()).isEqualTo("Mixed.Case@Example.com");  // Email original preservado
+        assertThat(found.get().getEmailNormalized()).isEqualTo("mixed.case@example.com");
+        assertThat(userRepository.existsByEmail("mixed.CASE@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve carregar a projeção do login sem entidade gerenciada")
+    void shouldLoadAuthUserProjection() {
+        // Arrange
+        User saved = entityManager.persistAndFlush(User.ofnew("Proj@Example.com", "hashedPassword", "Proj"));
+        entityManager.clear();
+
+        // Act
+        Optional<AuthUser> found = userRepository.findAuthUserByEmail("proj@example.com");
+
+        // Assert
+        assertThat(found).isPresent();
+        assertThat(found.get().id()).isEqualTo(saved.getId());
+        assertThat(found.get().getUsername()).isEqualTo("Proj@Example.com");
+        assertThat(found.get().getPassword()).isEqualTo("hashedPassword");
+        assertThat(found.get().isEnabled()).isTrue();
+        assertThat(found.get().isAccountNonLocked()).isTrue();
+        assertThat(found.get().getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(found.get().toString()).doesNotContain("hashedPassword");
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+            .isZero();  // Nada entrou no contexto de persistência
+    }
+
+    @Test
+    @DisplayName("Deve recusar email que só difere na caixa")
+    void shouldRejectEmailDifferingOnlyInCase() {
+        // Arrange
+        entityManager.persistAndFlush(User.ofnew("ana@example.com", "hashedPassword", "Ana"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userRepository.saveAndFlush(User.ofnew("ANA@Example.com", "hashedPassword", "Ana 2")))
+            .isInstanceOf(DataIntegrityViolationException.class)
+            .hasMessageContaining(User.EMAIL_NORMALIZED_UNIQUE_CONSTRAINT.toUpperCase());
+    }
+
+    @Test
+    @DisplayName("Deve trocar o hash da senha com um UPDATE direto")
+    void shouldUpdatePasswordHash() {
+        // Arrange
+        User saved = entityManager.persistAndFlush(testUser1);
+        entityManager.clear();
+
+        // Act
+        int updated = userRepository.updatePassword(saved.getId(), "{bcrypt}novoHash");
+
+        // Assert
+        assertThat(updated).isEqualTo(1);
+        assertThat(entityManager.find(User.class, saved.getId()).getPassword()).isEqualTo("{bcrypt}novoHash");
+    }
+
+    @Test
+    @DisplayName("Deve traduzir violação de uk_users_email em 'Email já cadastrado' no UserService")
+    void shouldMapUniqueViolationToEmailConflict() {
+        // Arrange - serviço real sobre o banco real (sem SELECT prévio, só a constraint)
+        var plainText = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        var service = new UserService(userRepository, plainText, event -> { });
+        service.createUser("dup@example.com", "password1", "User 1");
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.createUser("dup@example.com", "password2", "User 2"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Email já cadastrado");
+        assertThatThrownBy(() -> service.createUser("DUP@Example.com", "password3", "User 3"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Email já cadastrado");  // uk_users_email_normalized
+    }
+
     @Test
     @DisplayName("Deve persistir todos os campos obrigatórios")
     void shouldPersistAllRequiredFields() {
@@ -176,8 +282,7 @@ class UserRepositoryTest {
 
         // Act & Assert
         assertThatThrownBy(() -> {
-            userRepository.save(userWithNullEmail);
-            entityManager.flush();
+            userRepository.saveAndFlush(userWithNullEmail);  // Id por sequence: o INSERT só sai no flush
         }).isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -193,8 +298,7 @@ class UserRepositoryTest {
 
         // Act & Assert
         assertThatThrownBy(() -> {
-            userRepository.save(userWithNullName);
-            entityManager.flush();
+            userRepository.saveAndFlush(userWithNullName);  // Id por sequence: o INSERT só sai no flush
         }).isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -210,8 +314,7 @@ class UserRepositoryTest {
 
         // Act & Assert
         assertThatThrownBy(() -> {
-            userRepository.save(userWithNullPassword);
-            entityManager.flush();
+            userRepository.saveAndFlush(userWithNullPassword);  // Id por sequence: o INSERT só sai no flush
         }).isInstanceOf(DataIntegrityViolationException.class);
     }
 
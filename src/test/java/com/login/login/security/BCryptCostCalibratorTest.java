@@ -0,0 +1,54 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA BCRYPT COST CALIBRATOR
+ *
+ * A escolha do custo é testada com tempos de sonda fixos (determinístico);
+ * a medição real só precisa respeitar os limites.
+ */
+@DisplayName("BCrypt Cost Calibrator Tests")
+class BCryptCostCalibratorTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("Deve escolher o maior custo que cabe no alvo")
+    void shouldPickHighestCostWithinTarget() {
+        // Sonda (custo 8) = 15 ms → 9: 30, 10: 60, 11: 120, 12: 240, 13: 480
+        assertThat(BCryptCostCalibrator.costFor(15 * MS, Duration.ofMillis(250), 4, 31)).isEqualTo(12);
+        assertThat(BCryptCostCalibrator.costFor(15 * MS, Duration.ofMillis(100), 4, 31)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar custo mínimo em máquina lenta e máximo em máquina rápida")
+    void shouldClampToConfiguredRange() {
+        // Máquina lenta: nem o custo da sonda cabe → mínimo de segurança
+        assertThat(BCryptCostCalibrator.costFor(500 * MS, Duration.ofMillis(100), 10, 14)).isEqualTo(10);
+        // Máquina muito rápida: para no teto
+        assertThat(BCryptCostCalibrator.costFor(MS / 10, Duration.ofMillis(1000), 10, 14)).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName("Deve recusar faixa de custo inválida")
+    void shouldRejectInvalidRange() {
+        assertThatThrownBy(() -> BCryptCostCalibrator.costFor(MS, Duration.ofMillis(100), 12, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BCryptCostCalibrator.costFor(MS, Duration.ofMillis(100), 3, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve medir o host e devolver custo dentro dos limites")
+    void shouldCalibrateWithinBounds() {
+        int cost = BCryptCostCalibrator.calibrate(Duration.ofMillis(50), 4, 10);
+
+        assertThat(cost).isBetween(4, 10);
+    }
+}
@@ -0,0 +1,154 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA BOUNDED PASSWORD ENCODER
+ *
+ * Cenários testados:
+ * - encode/matches delegam ao BCrypt e rodam fora da thread chamadora
+ * - Fila cheia → rejeição imediata (PasswordHashingBusyException)
+ * - Espera maior que max-wait → PasswordHashingBusyException
+ * - Erros do encoder real propagam sem alteração
+ */
+@DisplayName("Bounded Password Encoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    /**
+     * Encoder que segura a thread de hashing até o teste liberar
+     */
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + raw;
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return encoded.equals(encode(raw));
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Deve calcular e verificar hash BCrypt no executor dedicado")
+    void shouldEncodeAndMatchOnDedicatedExecutor() {
+        // Given
+        var threadName = new String[1];
+        var bcrypt = new BCryptPasswordEncoder(4);
+        encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                threadName[0] = Thread.currentThread().getName();
+                return bcrypt.encode(raw);
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return bcrypt.matches(raw, encoded);
+            }
+        }, 2, 4, 5_000);
+
+        // When
+        var hash = encoder.encode("senha123");
+
+        // Then
+        assertThat(encoder.matches("senha123", hash)).isTrue();
+        assertThat(encoder.matches("errada", hash)).isFalse();
+        assertThat(threadName[0]).startsWith("password-hash-");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar na hora quando a fila está cheia")
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        // Given - 1 thread ocupada + 1 pedido na fila
+        var started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started), 1, 1, 5_000);
+        var running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        await(() -> encoder.stats().queued() == 1);
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("c"))
+            .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(encoder.stats().rejected()).isEqualTo(1);
+
+        // Os pedidos admitidos terminam normalmente
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:b");
+    }
+
+    @Test
+    @DisplayName("Deve desistir quando a espera passa do limite")
+    void shouldGiveUpAfterMaxWait() throws Exception {
+        // Given
+        var started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started), 1, 1, 50);
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("a"))
+            .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(encoder.stats().timedOut()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve propagar erro do encoder real")
+    void shouldPropagateDelegateFailure() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                throw new IllegalArgumentException("senha longa demais");
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return false;
+            }
+        }, 1, 1, 5_000);
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("x"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("senha longa demais");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,67 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA LOGIN FAILURE HANDLER
+ *
+ * - Credenciais inválidas → redirect para a página de login
+ * - Hashing saturado (direto ou embrulhado) → 503 + Retry-After
+ */
+@DisplayName("Login Failure Handler Tests")
+class LoginFailureHandlerTest {
+
+    private final LoginFailureHandler handler = new LoginFailureHandler("/auth/login?error=true");
+
+    @Test
+    @DisplayName("Deve redirecionar para o login quando a senha está errada")
+    void shouldRedirectOnBadCredentials() throws Exception {
+        // Given
+        var response = new MockHttpServletResponse();
+
+        // When
+        handler.onAuthenticationFailure(new MockHttpServletRequest("POST", "/login"), response,
+            new BadCredentialsException("Bad credentials"));
+
+        // Then
+        assertThat(response.getRedirectedUrl()).isEqualTo("/auth/login?error=true");
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 quando o hashing está saturado")
+    void shouldReturn503WhenHashingIsBusy() throws Exception {
+        // Given
+        var response = new MockHttpServletResponse();
+
+        // When
+        handler.onAuthenticationFailure(new MockHttpServletRequest("POST", "/login"), response,
+            new PasswordHashingBusyException("Fila de hash de senhas cheia"));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo(LoginFailureHandler.RETRY_AFTER_SECONDS);
+        assertThat(response.getRedirectedUrl()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 quando a saturação vem embrulhada pelo provider")
+    void shouldReturn503WhenBusyIsWrapped() throws Exception {
+        // Given
+        var response = new MockHttpServletResponse();
+        var wrapped = new InternalAuthenticationServiceException("busy",
+            new PasswordHashingBusyException("Fila de hash de senhas cheia"));
+
+        // When
+        handler.onAuthenticationFailure(new MockHttpServletRequest("POST", "/login"), response, wrapped);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+}
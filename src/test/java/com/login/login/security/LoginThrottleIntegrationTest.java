@@ -0,0 +1,80 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * TESTE DE INTEGRAÇÃO DO LIMITE DE LOGIN
+ *
+ * Cadeia de segurança real (SecurityConfig): falhas de senha chegam ao
+ * LoginThrottle pelos eventos do Spring Security e o filtro passa a
+ * responder 429 — inclusive para a senha correta.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Login Throttle Integration Tests")
+class LoginThrottleIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private static RequestPostProcessor from(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+
+    @Test
+    @DisplayName("Deve responder 429 depois de max-failures-per-user senhas erradas")
+    void shouldThrottleAfterRepeatedFailures() throws Exception {
+        // Given
+        userRepository.save(User.ofnew("throttled@example.com", passwordEncoder.encode("certa123"), "Throttled"));
+
+        // When - 5 senhas erradas (limite do application-dev.yml)
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/login").with(from("10.1.1.1"))
+                    .param("username", "throttled@example.com")
+                    .param("password", "errada"))
+                .andExpect(redirectedUrl("/auth/login?error=true"));
+        }
+
+        // Then - nem a senha certa passa enquanto a janela não andar
+        mockMvc.perform(post("/login").with(from("10.1.1.2"))
+                .param("username", "throttled@example.com")
+                .param("password", "certa123"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("Deve autenticar normalmente abaixo do limite")
+    void shouldLoginBelowLimit() throws Exception {
+        // Given
+        userRepository.save(User.ofnew("fine@example.com", passwordEncoder.encode("certa123"), "Fine"));
+
+        // When & Then
+        mockMvc.perform(post("/login").with(from("10.2.2.2"))
+                .param("username", "fine@example.com")
+                .param("password", "certa123"))
+            .andExpect(redirectedUrl("/dashboard"));
+    }
+}
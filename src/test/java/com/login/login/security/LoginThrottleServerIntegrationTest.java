@@ -0,0 +1,68 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.LinkedMultiValueMap;
+
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTE DO LIMITE DE LOGIN NO TOMCAT REAL
+ *
+ * O filtro responde com sendError(429): num container de verdade isso vira
+ * um ERROR dispatch para /error, que passa de novo pela cadeia de segurança.
+ * Sem liberar esse dispatch o cliente receberia 302 para /auth/login em vez
+ * do 429 (o MockMvc não faz o dispatch, por isso este teste usa RANDOM_PORT).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Login Throttle Server Integration Tests")
+class LoginThrottleServerIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private ResponseEntity<String> login(String username, String password) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        var form = new LinkedMultiValueMap<String, String>();
+        form.add("username", username);
+        form.add("password", password);
+        return restTemplate.postForEntity("/login", new HttpEntity<>(form, headers), String.class);
+    }
+
+    @Test
+    @DisplayName("Deve chegar ao cliente 429 com Retry-After, não redirect para o login")
+    void shouldReturnTooManyRequestsThroughErrorDispatch() {
+        // Given
+        userRepository.save(User.ofnew("server-throttled@example.com", passwordEncoder.encode("certa123"), "Throttled"));
+
+        // When - 5 senhas erradas (limite do application-dev.yml)
+        for (int i = 0; i < 5; i++) {
+            assertThat(login("server-throttled@example.com", "errada").getStatusCode())
+                .isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        var response = login("server-throttled@example.com", "certa123");
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isNotBlank();
+    }
+}
@@ -0,0 +1,134 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA LOGIN THROTTLE E LOGIN THROTTLE FILTER
+ *
+ * Limites pequenos: 3 falhas por conta, 5 por IP, janela de 60 s.
+ */
+@DisplayName("Login Throttle Tests")
+class LoginThrottleTest {
+
+    private final LoginThrottle throttle = new LoginThrottle(60, 3, 5, 1_000);
+
+    @Test
+    @DisplayName("Deve bloquear a conta após o limite de falhas")
+    void shouldBlockAccountAfterMaxFailures() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("10.0.0." + i, "victim@example.com");
+        }
+
+        // Then - qualquer IP, email com outra grafia
+        assertThat(throttle.isBlocked("10.9.9.9", " Victim@Example.com")).isTrue();
+        assertThat(throttle.isLocked("victim@example.com")).isTrue();
+        assertThat(throttle.isBlocked("10.9.9.9", "other@example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o IP que testa muitas contas")
+    void shouldBlockIpAcrossAccounts() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("10.0.0.1", "user" + i + "@example.com");
+        }
+
+        // Then
+        assertThat(throttle.isBlocked("10.0.0.1", "fresh@example.com")).isTrue();
+        assertThat(throttle.isBlocked("10.0.0.2", "fresh@example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve zerar a conta (não o IP) após login com sucesso")
+    void shouldResetAccountOnSuccess() {
+        // Given
+        throttle.recordFailure("10.0.0.1", "user@example.com");
+        throttle.recordFailure("10.0.0.1", "user@example.com");
+
+        // When
+        throttle.onSuccess(new AuthenticationSuccessEvent(
+            UsernamePasswordAuthenticationToken.authenticated("user@example.com", null, List.of())));
+        throttle.recordFailure("10.0.0.1", "user@example.com");
+
+        // Then - só 1 falha conta depois do sucesso
+        assertThat(throttle.isLocked("user@example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve contar falhas vindas dos eventos do Spring Security com o IP do cliente")
+    void shouldCountFailureEvents() {
+        // Given
+        var request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr("192.168.0.7");
+        var attempt = UsernamePasswordAuthenticationToken.unauthenticated("user@example.com", "wrong");
+        attempt.setDetails(new WebAuthenticationDetails(request));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            throttle.onFailure(new AuthenticationFailureBadCredentialsEvent(attempt, new BadCredentialsException("bad")));
+        }
+
+        // Then
+        assertThat(throttle.isLocked("user@example.com")).isTrue();
+        assertThat(throttle.isBlocked("192.168.0.7", null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Filtro deve responder 429 acima do limite sem chamar a cadeia")
+    void filterShouldRejectOverLimitLogin() throws Exception {
+        // Given
+        var filter = new LoginThrottleFilter(throttle, "/login", "username");
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("10.0.0.1", "victim@example.com");
+        }
+        var request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setParameter("username", "victim@example.com");
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Filtro deve deixar passar login abaixo do limite e outras rotas")
+    void filterShouldPassOtherRequests() throws Exception {
+        // Given
+        var filter = new LoginThrottleFilter(throttle, "/login", "username");
+        var login = new MockHttpServletRequest("POST", "/login");
+        login.setServletPath("/login");
+        login.setParameter("username", "user@example.com");
+        var page = new MockHttpServletRequest("GET", "/login");
+        page.setServletPath("/login");
+        var loginChain = new MockFilterChain();
+        var pageChain = new MockFilterChain();
+
+        // When
+        filter.doFilter(login, new MockHttpServletResponse(), loginChain);
+        filter.doFilter(page, new MockHttpServletResponse(), pageChain);
+
+        // Then
+        assertThat(loginChain.getRequest()).isNotNull();
+        assertThat(pageChain.getRequest()).isNotNull();
+    }
+}
@@ -0,0 +1,74 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTE DO HASHING SATURADO NO TOMCAT REAL
+ *
+ * max-wait-ms=0 → todo hash estoura a espera e lança
+ * PasswordHashingBusyException. Tanto o LoginFailureHandler quanto o
+ * @ResponseStatus do cadastro respondem via sendError(503), que num
+ * container de verdade passa pelo ERROR dispatch para /error (o MockMvc
+ * não faz esse dispatch, por isso RANDOM_PORT).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "app.security.hashing.max-wait-ms=0"
+})
+@DisplayName("Password Hashing Busy Server Integration Tests")
+class PasswordHashingBusyServerIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<String> post(String path, MultiValueMap<String, String> form) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        return restTemplate.postForEntity(path, new HttpEntity<>(form, headers), String.class);
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com Retry-After no login por formulário")
+    void shouldReturnServiceUnavailableOnLogin() {
+        // Given
+        var form = new LinkedMultiValueMap<String, String>();
+        form.add("username", "busy@example.com");
+        form.add("password", "qualquer123");
+
+        // When
+        var response = post("/login", form);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo(LoginFailureHandler.RETRY_AFTER_SECONDS);
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 no cadastro")
+    void shouldReturnServiceUnavailableOnRegister() {
+        // Given
+        var form = new LinkedMultiValueMap<String, String>();
+        form.add("email", "busy-register@example.com");
+        form.add("name", "Busy");
+        form.add("password", "senha1234");
+        form.add("confirmPassword", "senha1234");
+
+        // When
+        var response = post("/auth/register", form);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
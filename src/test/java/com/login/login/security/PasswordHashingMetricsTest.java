@@ -0,0 +1,59 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES PARA PASSWORD HASHING METRICS
+ *
+ * Cenários testados:
+ * - Gauges e contadores lidos do BoundedPasswordEncoder
+ * - Encoder sem executor próprio → nenhuma métrica
+ */
+@DisplayName("Password Hashing Metrics Tests")
+class PasswordHashingMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve publicar o estado do executor de hashing")
+    void shouldBindExecutorStats() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 3, 10, 2000);
+        new PasswordHashingMetrics(encoder).bindTo(registry);
+
+        // When
+        encoder.encode("senha");
+
+        // Then
+        assertThat(registry.get("password.hashing.threads").gauge().value()).isEqualTo(3);
+        assertThat(registry.find("password.hashing.active").gauge()).isNotNull();
+        assertThat(registry.get("password.hashing.queued").gauge().value()).isZero();
+        assertThat(registry.get("password.hashing.rejected").functionCounter().count()).isZero();
+        assertThat(registry.get("password.hashing.timeouts").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve publicar métricas para encoder sem executor próprio")
+    void shouldIgnorePlainEncoder() {
+        // When
+        new PasswordHashingMetrics(new BCryptPasswordEncoder(4)).bindTo(registry);
+
+        // Then
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import com.login.login.domain.AuthUser;
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TESTES DO REHASH NO LOGIN
+ *
+ * Usa o DaoAuthenticationProvider real (o mesmo do form login) com o
+ * encoder montado como no SecurityConfig: custo atual 5, hashes guardados
+ * com custo 4 ou sem prefixo devem ser regravados após o login.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rehashing Password Service Tests")
+class RehashingPasswordServiceTest {
+
+    private static final int CURRENT_COST = 5;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PasswordEncoder encoder;
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        var bcrypt = new BCryptPasswordEncoder(CURRENT_COST);
+        var delegating = new DelegatingPasswordEncoder("bcrypt", Map.of(
+            "bcrypt", bcrypt,
+            "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        encoder = delegating;
+
+        provider = new DaoAuthenticationProvider(username -> userRepository.findByEmail(username).orElseThrow());
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(new RehashingPasswordService(userRepository));
+    }
+
+    private User storedUser(String hash) {
+        var user = User.builder().id(1L).email("user@example.com").name("User").password(hash).build();
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    @Test
+    @DisplayName("Deve regravar o hash do principal projetado (AuthUser) sem carregar a entidade")
+    void shouldRehashAuthUserProjection() {
+        // Given - provider como no SecurityConfig: UserDetailsService devolve a projeção
+        var weak = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("senha123");
+        when(userRepository.findAuthUserByEmail("user@example.com"))
+            .thenReturn(Optional.of(new AuthUser(1L, "user@example.com", weak, "User", true)));
+        var projected = new DaoAuthenticationProvider(username -> userRepository.findAuthUserByEmail(username).orElseThrow());
+        projected.setPasswordEncoder(encoder);
+        projected.setUserDetailsPasswordService(new RehashingPasswordService(userRepository));
+
+        // When
+        var auth = projected.authenticate(new UsernamePasswordAuthenticationToken("user@example.com", "senha123"));
+
+        // Then
+        var hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(eq(1L), hash.capture());
+        assertThat(hash.getValue()).startsWith("{bcrypt}$2a$0" + CURRENT_COST);
+        assertThat(auth.getPrincipal()).isInstanceOf(AuthUser.class);
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    private void login() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken("user@example.com", "senha123"));
+    }
+
+    @Test
+    @DisplayName("Deve regravar hash BCrypt com custo abaixo do atual")
+    void shouldRehashWeakerBcrypt() {
+        // Given
+        var user = storedUser("{bcrypt}" + new BCryptPasswordEncoder(4).encode("senha123"));
+
+        // When
+        login();
+
+        // Then
+        var hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(eq(1L), hash.capture());
+        assertThat(hash.getValue()).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("senha123", hash.getValue())).isTrue();
+        assertThat(user.getPassword()).isEqualTo(hash.getValue());
+    }
+
+    @Test
+    @DisplayName("Deve migrar hash antigo sem prefixo para {bcrypt}")
+    void shouldMigrateLegacyHashWithoutPrefix() {
+        // Given - formato gravado antes do DelegatingPasswordEncoder
+        storedUser(new BCryptPasswordEncoder(CURRENT_COST).encode("senha123"));
+
+        // When
+        login();
+
+        // Then
+        verify(userRepository).updatePassword(eq(1L), startsWith("{bcrypt}"));
+    }
+
+    @Test
+    @DisplayName("Deve migrar hash PBKDF2 para o algoritmo padrão")
+    void shouldMigrateOtherAlgorithmToDefault() {
+        // Given
+        storedUser("{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("senha123"));
+
+        // When
+        login();
+
+        // Then
+        verify(userRepository).updatePassword(eq(1L), startsWith("{bcrypt}"));
+    }
+
+    @Test
+    @DisplayName("Não deve regravar hash já no custo atual")
+    void shouldNotRehashCurrentHash() {
+        // Given
+        storedUser(encoder.encode("senha123"));
+
+        // When
+        login();
+
+        // Then
+        verify(userRepository, never()).updatePassword(anyLong(), anyString());
+    }
+}
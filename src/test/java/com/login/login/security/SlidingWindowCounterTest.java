@@ -0,0 +1,89 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA SLIDING WINDOW COUNTER
+ *
+ * Instantes explícitos (nowMillis) → resultados determinísticos.
+ */
+@DisplayName("Sliding Window Counter Tests")
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 10_000;  // 10 s
+    private static final long T0 = 1_700_000_000_000L - (1_700_000_000_000L % WINDOW);  // Início de uma janela
+
+    @Test
+    @DisplayName("Deve contar eventos dentro da mesma janela")
+    void shouldCountWithinWindow() {
+        var counter = new SlidingWindowCounter(WINDOW);
+
+        assertThat(counter.increment(T0 + 100)).isEqualTo(1);
+        assertThat(counter.increment(T0 + 200)).isEqualTo(2);
+        assertThat(counter.estimate(T0 + 300)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve pesar a janela anterior pela fração que ainda se sobrepõe")
+    void shouldWeightPreviousWindow() {
+        // Given - 10 eventos na janela anterior
+        var counter = new SlidingWindowCounter(WINDOW);
+        for (int i = 0; i < 10; i++) {
+            counter.increment(T0 + 1_000);
+        }
+
+        // Then - 25% da janela nova passou → 75% da anterior ainda conta
+        assertThat(counter.estimate(T0 + WINDOW + 2_500)).isEqualTo(7);
+        // Evento novo soma ao que resta da anterior
+        assertThat(counter.increment(T0 + WINDOW + 5_000)).isEqualTo(1 + 5);
+    }
+
+    @Test
+    @DisplayName("Deve esquecer eventos mais antigos que duas janelas")
+    void shouldForgetOldWindows() {
+        var counter = new SlidingWindowCounter(WINDOW);
+        counter.increment(T0);
+
+        assertThat(counter.estimate(T0 + 2 * WINDOW)).isZero();
+        assertThat(counter.increment(T0 + 3 * WINDOW)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve perder incrementos concorrentes")
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        // Given
+        var counter = new SlidingWindowCounter(WINDOW);
+        int threads = 8, perThread = 1_000;
+        var start = new CountDownLatch(1);
+
+        // When
+        try (var pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        counter.increment(T0 + 1);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // Then
+        assertThat(counter.estimate(T0 + 1)).isEqualTo(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("Deve recusar janela menor que 1 segundo")
+    void shouldRejectTinyWindow() {
+        assertThatThrownBy(() -> new SlidingWindowCounter(999))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.login.login.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA TOKEN BUCKET E RESET REQUEST LIMITER
+ */
+@DisplayName("Token Bucket Tests")
+class TokenBucketTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Deve liberar rajada até a capacidade e recusar depois")
+    void shouldAllowBurstUpToCapacity() {
+        var bucket = new TokenBucket(3, 1_000);
+
+        assertThat(bucket.tryAcquire(T0)).isTrue();
+        assertThat(bucket.tryAcquire(T0)).isTrue();
+        assertThat(bucket.tryAcquire(T0)).isTrue();
+        assertThat(bucket.tryAcquire(T0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve recuperar uma ficha a cada intervalo de recarga")
+    void shouldRefillOverTime() {
+        // Given - balde vazio
+        var bucket = new TokenBucket(2, 1_000);
+        bucket.tryAcquire(T0);
+        bucket.tryAcquire(T0);
+
+        // Then
+        assertThat(bucket.tryAcquire(T0 + 999)).isFalse();
+        assertThat(bucket.tryAcquire(T0 + 1_000)).isTrue();
+        assertThat(bucket.tryAcquire(T0 + 1_000)).isFalse();
+        // Parado tempo suficiente → cheio de novo (mas nunca acima da capacidade)
+        assertThat(bucket.tryAcquire(T0 + 60_000)).isTrue();
+        assertThat(bucket.tryAcquire(T0 + 60_000)).isTrue();
+        assertThat(bucket.tryAcquire(T0 + 60_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve liberar mais fichas que a capacidade sob concorrência")
+    void shouldNotOverGrantConcurrently() throws Exception {
+        // Given
+        var bucket = new TokenBucket(100, 60_000);
+        var granted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+
+        // When - 8 threads × 100 tentativas no mesmo instante
+        try (var pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (bucket.tryAcquire(T0)) granted.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // Then
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Limiter deve aplicar cooldown por email, com grafias diferentes no mesmo balde")
+    void limiterShouldCooldownPerEmail() {
+        var limiter = new ResetRequestLimiter(1, 300, 10, 60, 1_000);
+
+        assertThat(limiter.tryAcquire("10.0.0.1", "user@example.com")).isTrue();
+        assertThat(limiter.tryAcquire("10.0.0.2", " USER@example.com ")).isFalse();
+        assertThat(limiter.tryAcquire("10.0.0.2", "other@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Limiter deve barrar IP que pede reset para muitos emails")
+    void limiterShouldThrottlePerIp() {
+        var limiter = new ResetRequestLimiter(1, 300, 3, 60, 1_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", "user" + i + "@example.com")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1", "user9@example.com")).isFalse();
+        // Email não gastou ficha com o IP barrado
+        assertThat(limiter.tryAcquire("10.0.0.2", "user9@example.com")).isTrue();
+    }
+}
@@ -2,7 +2,7 @@ package com.login.login.service;
 
 import com.login.login.domain.PasswordResetToken;
 import com.login.login.domain.User;
-import com.login.login.mail.MailService;
+import com.login.login.mail.MailOutbox;
 import com.login.login.repo.PasswordResetTokenRepository;
 import com.login.login.repo.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,10 +13,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.Locale;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -44,7 +46,10 @@ class PasswordResetServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private MailService mailService;
+    private MailOutbox mailOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private PasswordResetService passwordResetService;
@@ -95,8 +100,8 @@ class PasswordResetServiceTest {
         assertThat(capturedToken.getExpiresAt()).isAfter(Instant.now());
         assertThat(capturedToken.isUsed()).isFalse();
 
-        // Verify email was sent
-        verify(mailService).sendResetEmail(eq(email), any(String.class));
+        // Verify email was queued (not sent inline) with the same token
+        verify(mailOutbox).enqueuePasswordReset(eq(email), eq(capturedToken.getToken()), any(Locale.class));
     }
 
     @Test
@@ -111,7 +116,7 @@ class PasswordResetServiceTest {
 
         // Assert - should not create token or send email for non-existent user
         verify(tokenRepository, never()).save(any(PasswordResetToken.class));
-        verify(mailService, never()).sendResetEmail(any(String.class), any(String.class));
+        verifyNoInteractions(mailOutbox);
     }
 
     @Test
@@ -149,6 +154,34 @@ class PasswordResetServiceTest {
         verify(passwordEncoder).encode(newPassword);
     }
 
+    @Test
+    @DisplayName("Should invalidate existing sessions after password reset")
+    void shouldInvalidateExistingSessionsAfterPasswordReset() {
+        // Arrange
+        when(tokenRepository.findByTokenAndUsedFalse("valid-token-123")).thenReturn(Optional.of(testToken));
+        when(passwordEncoder.encode("newSecretPassword")).thenReturn("hashed");
+
+        // Act
+        passwordResetService.reset("valid-token-123", "newSecretPassword");
+
+        // Assert
+        verify(eventPublisher).publishEvent(new UserSessionsInvalidatedEvent(testUser.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not invalidate sessions when reset fails")
+    void shouldNotInvalidateSessionsWhenResetFails() {
+        // Arrange
+        when(tokenRepository.findByTokenAndUsedFalse("invalid-token")).thenReturn(Optional.empty());
+
+        // Act
+        assertThatThrownBy(() -> passwordResetService.reset("invalid-token", "newPassword"))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        // Assert
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     @DisplayName("Should throw exception when token does not exist")
     void shouldThrowExceptionWhenTokenDoesNotExist() {
@@ -213,8 +246,8 @@ class PasswordResetServiceTest {
         var capturedTokens = tokenCaptor.getAllValues();
         assertThat(capturedTokens.get(0).getToken()).isNotEqualTo(capturedTokens.get(1).getToken());
 
-        // Verify emails were sent for both requests
-        verify(mailService, times(2)).sendResetEmail(eq("test@example.com"), any(String.class));
+        // Verify emails were queued for both requests
+        verify(mailOutbox, times(2)).enqueuePasswordReset(eq("test@example.com"), any(String.class), any(Locale.class));
     }
 
     @Test
@@ -0,0 +1,95 @@
+package com.login.login.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTES UNITÁRIOS PARA PASSWORD RESET TOKEN REAPER
+ * 
+ * Cenários testados:
+ * - Lote incompleto encerra a execução
+ * - Lotes cheios continuam até esvaziar
+ * - Teto de lotes por execução
+ * - Totais acumulados entre execuções
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Password Reset Token Reaper Tests")
+class PasswordResetTokenReaperTest {
+
+    @Mock
+    private PasswordResetService resets;
+
+    private PasswordResetTokenReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        reaper = new PasswordResetTokenReaper(resets, 100, 3);
+    }
+
+    @Test
+    @DisplayName("Deve parar no primeiro lote incompleto")
+    void shouldStopOnPartialBatch() {
+        // Given
+        when(resets.purgeBatch(any(), eq(100))).thenReturn(40);
+
+        // When
+        var result = reaper.purge();
+
+        // Then
+        assertThat(result.purged()).isEqualTo(40);
+        assertThat(result.batches()).isEqualTo(1);
+        verify(resets, times(1)).purgeBatch(any(), eq(100));
+    }
+
+    @Test
+    @DisplayName("Deve continuar enquanto os lotes vierem cheios")
+    void shouldContinueWhileBatchesAreFull() {
+        // Given
+        when(resets.purgeBatch(any(), eq(100))).thenReturn(100, 100, 0);
+
+        // When
+        var result = reaper.purge();
+
+        // Then
+        assertThat(result.purged()).isEqualTo(200);
+        assertThat(result.batches()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o máximo de lotes por execução")
+    void shouldRespectMaxBatches() {
+        // Given
+        when(resets.purgeBatch(any(), eq(100))).thenReturn(100);
+
+        // When
+        var result = reaper.purge();
+
+        // Then
+        assertThat(result.purged()).isEqualTo(300);
+        assertThat(result.batches()).isEqualTo(3);
+        verify(resets, times(3)).purgeBatch(any(), eq(100));
+    }
+
+    @Test
+    @DisplayName("Deve acumular o total apagado e guardar a última execução")
+    void shouldAccumulateTotals() {
+        // Given
+        when(resets.purgeBatch(any(), eq(100))).thenReturn(10, 5);
+
+        // When
+        reaper.purge();
+        var last = reaper.purge();
+
+        // Then
+        assertThat(reaper.totalPurged()).isEqualTo(15);
+        assertThat(reaper.lastRun()).isEqualTo(last);
+        assertThat(last.elapsed().isNegative()).isFalse();
+    }
+}
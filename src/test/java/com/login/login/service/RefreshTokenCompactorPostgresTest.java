@@ -0,0 +1,190 @@
+package com.login.login.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+/**
+ * TESTES DO REFRESH TOKEN COMPACTOR NO POSTGRESQL (Testcontainers)
+ *
+ * Cenários testados:
+ * - Flyway V5 e V6 do db/vendor/postgresql: refresh_token particionada,
+ *   ids pela sequence, Hibernate validando o schema
+ * - Login grava e rotaciona tokens na tabela particionada
+ * - compact() cria as partições que faltam (months-ahead)
+ * - compact() descarta meses expirados com DETACH CONCURRENTLY + DROP
+ * - Health check DOWN enquanto falta partição para os tokens novos
+ *
+ * Sem transação do teste: DETACH CONCURRENTLY não roda dentro de uma.
+ * Pulado quando não há Docker disponível.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "app.security.refresh-token-compactor.months-ahead=4"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RefreshTokenCompactor.class, RefreshTokenService.class, RefreshTokenPartitionHealthIndicator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Refresh Token Compactor PostgreSQL Tests")
+class RefreshTokenCompactorPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RefreshTokenCompactor compactor;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenPartitionHealthIndicator health;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        compactor.compact();  // Estado conhecido: mês atual + 4 anexados, nada expirado
+    }
+
+    private boolean exists(YearMonth month) {
+        return jdbc.queryForObject("select to_regclass(?) is not null", Boolean.class,
+            RefreshTokenCompactor.partitionName(month));
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbc.execute("create table %s partition of refresh_token for values from ('%s 00:00:00+00') to ('%s 00:00:00+00')"
+            .formatted(RefreshTokenCompactor.partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar V5 e V6 do PostgreSQL")
+    void shouldApplyPostgresMigrations() {
+        // When
+        var versions = jdbc.queryForList(
+            "select version from flyway_schema_history where success and version in ('5', '6')", String.class);
+        Integer partitioned = jdbc.queryForObject("""
+            select count(*) from pg_partitioned_table pt
+            join pg_class c on c.oid = pt.partrelid
+            where c.relname = 'refresh_token'""", Integer.class);
+        Long increment = jdbc.queryForObject(
+            "select increment_by from pg_sequences where sequencename = 'refresh_token_seq'", Long.class);
+
+        // Then
+        assertThat(versions).containsExactlyInAnyOrder("5", "6");
+        assertThat(partitioned).isEqualTo(1);
+        assertThat(increment).isEqualTo(50L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar e rotacionar refresh tokens na tabela particionada")
+    void shouldIssueAndRotateOnPartitionedTable() {
+        // Given
+        var user = userRepository.save(User.ofnew(UUID.randomUUID() + "@example.com", "hash", "Partitioned"));
+
+        // When
+        var issued = refreshTokenService.issue(user);
+        var rotation = refreshTokenService.rotate(issued.value());
+
+        // Then
+        assertThat(rotation).isPresent();
+        assertThat(jdbc.queryForObject("select count(*) from refresh_token where user_id = ?", Integer.class, user.getId()))
+            .isEqualTo(2);
+        var partition = jdbc.queryForObject("""
+            select tableoid::regclass::text from refresh_token
+            where user_id = ? and revoked order by id limit 1""", String.class, user.getId());
+        assertThat(partition).isEqualTo(RefreshTokenCompactor.partitionName(
+            YearMonth.from(issued.expiresAt().atZone(ZoneOffset.UTC))));
+    }
+
+    @Test
+    @DisplayName("Deve criar as partições que faltam e voltar o health check para UP")
+    void shouldCreateUpcomingPartitions() {
+        // Given - partição do mês atual sumiu (compactor parado, por exemplo)
+        jdbc.execute("drop table " + RefreshTokenCompactor.partitionName(current));
+        assertThat(health.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.health().getDetails()).extractingByKey("missing")
+            .asInstanceOf(InstanceOfAssertFactories.LIST).contains(current.toString());
+
+        // When
+        var result = compactor.compact();
+
+        // Then
+        assertThat(result.partitioned()).isTrue();
+        assertThat(result.partitionsCreated()).isEqualTo(1);
+        for (int i = 0; i <= 4; i++) {
+            assertThat(exists(current.plusMonths(i))).as("partição %s", current.plusMonths(i)).isTrue();
+        }
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("Deve descartar meses expirados com DETACH CONCURRENTLY e DROP")
+    void shouldDropExpiredPartitions() {
+        // Given - dois meses expirados anexados, um deles com token
+        var expired = current.minusMonths(3);
+        var older = current.minusMonths(4);
+        createPartition(expired);
+        createPartition(older);
+        var user = userRepository.save(User.ofnew(UUID.randomUUID() + "@example.com", "hash", "Expired"));
+        jdbc.update("""
+            insert into refresh_token (token_hash, user_id, expires_at, revoked, family_id)
+            values (?, ?, ?, false, ?)""",
+            UUID.randomUUID().toString(), user.getId(),
+            Timestamp.from(expired.atDay(10).atStartOfDay(ZoneOffset.UTC).toInstant()),
+            UUID.randomUUID().toString());
+
+        // When
+        var result = compactor.compact();
+
+        // Then
+        assertThat(result.partitionsDropped()).isEqualTo(2);
+        assertThat(exists(expired)).isFalse();
+        assertThat(exists(older)).isFalse();
+        assertThat(exists(current)).isTrue();
+        assertThat(jdbc.queryForObject("select count(*) from refresh_token where user_id = ?", Integer.class, user.getId()))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Deve ficar UP quando todas as partições necessárias existem")
+    void shouldReportUpWithAllPartitions() {
+        // Then
+        assertThat(compactor.missingPartitions(Instant.now())).isEmpty();
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
@@ -0,0 +1,108 @@
+package com.login.login.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+import com.login.login.domain.RefreshToken;
+import com.login.login.domain.User;
+import com.login.login.repo.RefreshTokenRepository;
+
+/**
+ * TESTES PARA REFRESH TOKEN COMPACTOR
+ * 
+ * Cenários testados:
+ * - Nome e mês das partições (refresh_token_pAAAAMM)
+ * - Mês expirado só quando termina antes de agora
+ * - H2 (sem partições): DELETE só dos expirados
+ */
+@DataJpaTest
+@Import({RefreshTokenCompactor.class, RefreshTokenService.class})
+@DisplayName("Refresh Token Compactor Tests")
+class RefreshTokenCompactorTest {
+
+    @Autowired
+    private RefreshTokenCompactor compactor;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = entityManager.persistAndFlush(User.builder()
+            .email("compact@example.com")
+            .name("Compact")
+            .password("password123")
+            .build());
+    }
+
+    private void token(String hash, Instant expiresAt) {
+        entityManager.persist(RefreshToken.builder()
+            .user(testUser)
+            .tokenHash(hash)
+            .expiresAt(expiresAt)
+            .build());
+    }
+
+    @Test
+    @DisplayName("Deve montar e ler o nome da partição mensal")
+    void shouldRoundTripPartitionName() {
+        // When
+        var name = RefreshTokenCompactor.partitionName(YearMonth.of(2026, 3));
+
+        // Then
+        assertThat(name).isEqualTo("refresh_token_p202603");
+        assertThat(RefreshTokenCompactor.monthOf(name)).contains(YearMonth.of(2026, 3));
+        assertThat(RefreshTokenCompactor.monthOf("refresh_token_legacy")).isEmpty();
+        assertThat(RefreshTokenCompactor.monthOf("refresh_token_p2026031")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve considerar expirado só o mês que já terminou (UTC)")
+    void shouldExpireOnlyFinishedMonths() {
+        // Given
+        var now = Instant.parse("2026-10-15T12:00:00Z");
+
+        // Then
+        assertThat(RefreshTokenCompactor.isExpired(YearMonth.of(2026, 9), now)).isTrue();
+        assertThat(RefreshTokenCompactor.isExpired(YearMonth.of(2026, 10), now)).isFalse();
+        assertThat(RefreshTokenCompactor.isExpired(YearMonth.of(2026, 9), Instant.parse("2026-10-01T00:00:00Z"))).isTrue();
+        assertThat(RefreshTokenCompactor.isExpired(YearMonth.of(2026, 9), Instant.parse("2026-09-30T23:59:59Z"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve apagar só os tokens expirados quando não há partições (H2)")
+    void shouldDeleteExpiredRowsWithoutPartitions() {
+        // Given
+        var now = Instant.now();
+        token("expired-1", now.minus(1, ChronoUnit.DAYS));
+        token("expired-2", now.minus(1, ChronoUnit.MINUTES));
+        token("valid", now.plus(7, ChronoUnit.DAYS));
+        entityManager.flush();
+
+        // When
+        var result = compactor.compact();
+        entityManager.clear();
+
+        // Then
+        assertThat(result.partitioned()).isFalse();
+        assertThat(result.rowsDeleted()).isEqualTo(2);
+        assertThat(refreshTokenRepository.findAll())
+            .extracting(RefreshToken::getTokenHash)
+            .containsExactly("valid");
+    }
+}
@@ -0,0 +1,226 @@
+package com.login.login.service;
+
+import com.login.login.domain.AuthUser;
+import com.login.login.domain.RefreshToken;
+import com.login.login.domain.User;
+import com.login.login.repo.RefreshTokenRepository;
+import com.login.login.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para RefreshTokenService
+ * 
+ * Cenários testados:
+ * - Emissão grava só o hash
+ * - Rotação na mesma família
+ * - Reuso (token revogado ou corrida perdida) revoga a família
+ * - Token desconhecido, expirado ou de usuário desabilitado
+ * - Logout revoga a família
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Service Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository tokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private RefreshTokenService service;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(tokenRepository, userRepository, 7);
+        testUser = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .name("Test User")
+                .password("hashedPassword123")
+                .enabled(true)
+                .build();
+    }
+
+    private RefreshToken stored(String raw, boolean revoked, Instant expiresAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .user(testUser)
+                .familyId("family-1")
+                .tokenHash(RefreshTokenService.hash(raw))
+                .expiresAt(expiresAt)
+                .revoked(revoked)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store only the SHA-256 hash when issuing a token")
+    void shouldStoreOnlyHashOnIssue() {
+        // Act
+        var issued = service.issue(testUser);
+
+        // Assert
+        var captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash())
+                .isEqualTo(RefreshTokenService.hash(issued.value()))
+                .isNotEqualTo(issued.value());
+        assertThat(captor.getValue().getFamilyId()).isNotBlank();
+        assertThat(issued.expiresAt()).isAfter(Instant.now().plus(6, ChronoUnit.DAYS));
+    }
+
+    @Test
+    @DisplayName("Should issue for the login projection using a user reference, without loading the user")
+    void shouldIssueForAuthUserWithReference() {
+        // Arrange
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        var authUser = new AuthUser(1L, "test@example.com", "hashedPassword123", "Test User", true);
+
+        // Act
+        service.issue(authUser);
+
+        // Assert
+        var captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getUser()).isSameAs(testUser);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should rotate into a new token of the same family")
+    void shouldRotateWithinFamily() {
+        // Arrange
+        when(tokenRepository.findWithUserByTokenHash(RefreshTokenService.hash("raw")))
+                .thenReturn(Optional.of(stored("raw", false, Instant.now().plus(1, ChronoUnit.DAYS))));
+        when(tokenRepository.revokeIfActive(10L)).thenReturn(1);
+
+        // Act
+        var rotation = service.rotate("raw");
+
+        // Assert
+        assertThat(rotation).isPresent();
+        assertThat(rotation.get().user()).isSameAs(testUser);
+        assertThat(rotation.get().refreshToken().value()).isNotEqualTo("raw");
+        var captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getFamilyId()).isEqualTo("family-1");
+        verify(tokenRepository, never()).revokeFamily(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a revoked token is reused")
+    void shouldRevokeFamilyOnReuse() {
+        // Arrange
+        when(tokenRepository.findWithUserByTokenHash(any()))
+                .thenReturn(Optional.of(stored("raw", true, Instant.now().plus(1, ChronoUnit.DAYS))));
+
+        // Act
+        var rotation = service.rotate("raw");
+
+        // Assert
+        assertThat(rotation).isEmpty();
+        verify(tokenRepository).revokeFamily("family-1");
+        verify(tokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should treat a lost concurrent rotation as reuse")
+    void shouldRevokeFamilyWhenConditionalRevokeLoses() {
+        // Arrange
+        when(tokenRepository.findWithUserByTokenHash(any()))
+                .thenReturn(Optional.of(stored("raw", false, Instant.now().plus(1, ChronoUnit.DAYS))));
+        when(tokenRepository.revokeIfActive(10L)).thenReturn(0);
+
+        // Act
+        var rotation = service.rotate("raw");
+
+        // Assert
+        assertThat(rotation).isEmpty();
+        verify(tokenRepository).revokeFamily("family-1");
+        verify(tokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void shouldRejectExpiredToken() {
+        // Arrange
+        when(tokenRepository.findWithUserByTokenHash(any()))
+                .thenReturn(Optional.of(stored("raw", false, Instant.now().minus(1, ChronoUnit.MINUTES))));
+
+        // Act & Assert
+        assertThat(service.rotate("raw")).isEmpty();
+        verify(tokenRepository, never()).revokeIfActive(any());
+        verify(tokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of disabled users")
+    void shouldRejectDisabledUser() {
+        // Arrange
+        testUser.setEnabled(false);
+        when(tokenRepository.findWithUserByTokenHash(any()))
+                .thenReturn(Optional.of(stored("raw", false, Instant.now().plus(1, ChronoUnit.DAYS))));
+
+        // Act & Assert
+        assertThat(service.rotate("raw")).isEmpty();
+        verify(tokenRepository).revokeFamily("family-1");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or missing tokens without writing")
+    void shouldRejectUnknownToken() {
+        // Arrange
+        when(tokenRepository.findWithUserByTokenHash(any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(service.rotate("unknown")).isEmpty();
+        assertThat(service.rotate(null)).isEmpty();
+        assertThat(service.rotate(" ")).isEmpty();
+        verify(tokenRepository, times(1)).findWithUserByTokenHash(any());
+        verify(tokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the family on logout")
+    void shouldRevokeFamilyOnLogout() {
+        // Arrange
+        when(tokenRepository.findByTokenHash(RefreshTokenService.hash("raw")))
+                .thenReturn(Optional.of(stored("raw", false, Instant.now().plus(1, ChronoUnit.DAYS))));
+
+        // Act
+        service.revoke("raw");
+        service.revoke(null);
+
+        // Assert
+        verify(tokenRepository).revokeFamily("family-1");
+    }
+
+    @Test
+    @DisplayName("Should revoke every token of the user when sessions are invalidated")
+    void shouldRevokeAllOnSessionsInvalidated() {
+        // Arrange
+        when(tokenRepository.revokeAllByUserId(1L)).thenReturn(3);
+
+        // Act
+        service.onSessionsInvalidated(new UserSessionsInvalidatedEvent(1L));
+
+        // Assert
+        verify(tokenRepository).revokeAllByUserId(1L);
+        verifyNoMoreInteractions(tokenRepository);
+    }
+}
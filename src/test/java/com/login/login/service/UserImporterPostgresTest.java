@@ -0,0 +1,94 @@
+package com.login.login.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringReader;
+
+import com.login.login.domain.User;
+
+/**
+ * TESTES DO USER IMPORTER NO POSTGRESQL (Testcontainers)
+ *
+ * Mesmo driver e mesma opção do perfil prod (reWriteBatchedInserts=true):
+ * - Duplicados contados pelo RETURNING, não pelo update count do lote
+ * - ON CONFLICT (email_normalized): colisão de id (PK) não é engolida
+ *
+ * Pulado quando não há Docker disponível.
+ */
+@DataJpaTest(properties = {
+    "app.import.users.batch-size=2",
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserImporter.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("User Importer PostgreSQL Tests")
+class UserImporterPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String HASH = new BCryptPasswordEncoder(4).encode("legacy-password");
+
+    @Autowired
+    private UserImporter importer;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    @DisplayName("Deve contar duplicados com reWriteBatchedInserts ligado")
+    void shouldCountDuplicatesWithRewrittenBatches() throws Exception {
+        // Given
+        var csv = """
+            email,name,password
+            ana@example.com,Ana,%1$s
+            ANA@example.com,Ana Repetida,%1$s
+            bruno@example.com,Bruno,%1$s
+            carla@example.com,Carla,%1$s
+            """.formatted(HASH);
+
+        // When
+        var result = importer.importUsers(new StringReader(csv), UserImporter.Format.CSV);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select count(*) from users", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Não deve tratar colisão de id como email duplicado")
+    void shouldNotSwallowPrimaryKeyCollisions() {
+        // Given - linha com o primeiro id do próximo bloco, gravada por fora do importador
+        Long hi = jdbc.queryForObject("select nextval('users_seq')", Long.class);
+        jdbc.queryForObject("select setval('users_seq', ?, false)", Long.class, hi);
+        long taken = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1);
+        jdbc.update("""
+            insert into users (id, email, email_normalized, name, password, enabled)
+            values (?, 'outra@example.com', 'outra@example.com', 'Outra', ?, true)""", taken, HASH);
+        var csv = "email,name,password\ndaniel@example.com,Daniel,%s\n".formatted(HASH);
+
+        // When & Then
+        assertThatThrownBy(() -> importer.importUsers(new StringReader(csv), UserImporter.Format.CSV))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+}
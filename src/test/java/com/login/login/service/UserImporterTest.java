@@ -0,0 +1,185 @@
+package com.login.login.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringReader;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+/**
+ * TESTES PARA USER IMPORTER
+ *
+ * Cenários testados:
+ * - CSV: cabeçalho, aspas, enabled opcional, lotes de batch-size linhas
+ * - Duplicados (já cadastrados, em qualquer caixa, e repetidos no arquivo)
+ *   pelo índice único
+ * - Driver que responde SUCCESS_NO_INFO (lote reescrito) não conta
+ *   duplicados como inseridos
+ * - Linhas inválidas (hash não-BCrypt, email sem @) não interrompem
+ * - JSONL
+ * - Ids da sequence não colidem com os do Hibernate
+ */
+@DataJpaTest(properties = "app.import.users.batch-size=2")
+@Import(UserImporter.class)
+@DisplayName("User Importer Tests")
+class UserImporterTest {
+
+    private static final String HASH = new BCryptPasswordEncoder(4).encode("legacy-password");
+
+    @Autowired
+    private UserImporter importer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persistAndFlush(User.ofnew("existing@example.com", HASH, "Existing"));
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV em lotes contando duplicados e inválidos")
+    void shouldImportCsvInBatches() throws Exception {
+        // Given
+        var csv = """
+            email,name,password_hash,enabled
+            ana@example.com,"Silva, Ana",%1$s,
+            bruno@example.com,Bruno,%1$s,false
+            EXISTING@Example.com,Existing Again,%1$s,true
+
+            ana@example.com,Ana Repetida,%1$s,true
+            carla@example.com,Carla,plain-text-password,true
+            sem-arroba,Sem Arroba,%1$s,true
+            """.formatted(HASH);
+
+        // When
+        var result = importer.importUsers(new StringReader(csv), UserImporter.Format.CSV);
+
+        // Then
+        assertThat(result.read()).isEqualTo(6);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.duplicates()).isEqualTo(2);
+        assertThat(result.invalid()).isEqualTo(2);
+        assertThat(result.batches()).isEqualTo(2);  // 4 válidas, lotes de 2
+
+        var ana = userRepository.findByEmail("ana@example.com").orElseThrow();
+        assertThat(ana.getName()).isEqualTo("Silva, Ana");
+        assertThat(ana.getPassword()).isEqualTo(HASH);  // Gravado como veio, sem re-hash
+        assertThat(ana.isEnabled()).isTrue();
+        assertThat(userRepository.findByEmail("bruno@example.com").orElseThrow().isEnabled()).isFalse();
+        assertThat(userRepository.findByEmail("existing@example.com").orElseThrow().getName()).isEqualTo("Existing");
+        assertThat(userRepository.existsByEmail("carla@example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve contar duplicados quando o driver responde SUCCESS_NO_INFO")
+    void shouldCountDuplicatesWhenDriverReportsNoInfo() throws Exception {
+        // Given - driver que reescreve o lote (ex: reWriteBatchedInserts) e não informa por linha
+        var noInfo = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, BatchPreparedStatementSetter pss) {
+                var counts = super.batchUpdate(sql, pss);
+                Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+                return counts;
+            }
+        };
+        var rewritingImporter = new UserImporter(noInfo, transactionManager, 2, 100_000);
+        var csv = """
+            email,name,password
+            ivo@example.com,Ivo,%1$s
+            Existing@example.com,Existing Again,%1$s
+            julia@example.com,Julia,%1$s
+            ivo@example.com,Ivo Repetido,%1$s
+            """.formatted(HASH);
+
+        // When
+        var result = rewritingImporter.importUsers(new StringReader(csv), UserImporter.Format.CSV);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.duplicates()).isEqualTo(2);
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve importar JSONL")
+    void shouldImportJsonLines() throws Exception {
+        // Given
+        var jsonl = """
+            {"email":"dora@example.com","password":"%1$s","name":"Dora"}
+            {"email":"edu@example.com","passwordHash":"%1$s","name":"Edu","enabled":false}
+            não é json
+            """.formatted(HASH);
+
+        // When
+        var result = importer.importUsers(new StringReader(jsonl), UserImporter.Format.JSONL);
+
+        // Then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.invalid()).isEqualTo(1);
+        assertThat(userRepository.findByEmail("edu@example.com").orElseThrow().isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve usar ids da sequence sem colidir com os do Hibernate")
+    void shouldNotCollideWithHibernateIds() throws Exception {
+        // Given
+        var csv = "email,password,name\nfelipe@example.com,%s,Felipe\n".formatted(HASH);
+        importer.importUsers(new StringReader(csv), UserImporter.Format.CSV);
+
+        // When
+        var saved = entityManager.persistAndFlush(User.ofnew("gabi@example.com", HASH, "Gabi"));
+
+        // Then
+        var imported = userRepository.findByEmail("felipe@example.com").orElseThrow();
+        assertThat(imported.getId()).isPositive();
+        assertThat(saved.getId()).isNotEqualTo(imported.getId());
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve recusar CSV sem as colunas obrigatórias")
+    void shouldRejectCsvWithoutRequiredColumns() {
+        // Given
+        var csv = "email,name\nhelena@example.com,Helena\n";
+
+        // When & Then
+        assertThatThrownBy(() -> importer.importUsers(new StringReader(csv), UserImporter.Format.CSV))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("password");
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer o formato pela extensão")
+    void shouldDetectFormatFromFileName() {
+        assertThat(UserImporter.Format.fromFileName("usuarios.CSV")).isEqualTo(UserImporter.Format.CSV);
+        assertThat(UserImporter.Format.fromFileName("usuarios.jsonl")).isEqualTo(UserImporter.Format.JSONL);
+        assertThatThrownBy(() -> UserImporter.Format.fromFileName("usuarios.xlsx"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.login.login.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TESTE DE INTEGRAÇÃO DA INVALIDAÇÃO DO CACHE DE PRINCIPAIS
+ *
+ * Transação real (H2): uma requisição JWT que chega entre a invalidação e
+ * o commit de disableUser lê a linha antiga (enabled=true) e volta a
+ * cachear o usuário. A invalidação depois do commit descarta essa carga.
+ */
+@SpringBootTest
+@DisplayName("User Principal Cache Integration Tests")
+class UserPrincipalCacheIntegrationTest {
+
+    @Autowired
+    private UserPrincipalCache cache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Não deve manter no cache usuário recarregado antes do commit de disableUser")
+    void shouldNotCacheStaleUserLoadedBeforeCommit() {
+        // Given - usuário ativo já no cache
+        var user = userRepository.save(User.ofnew("race@example.com", "hash", "Race"));
+        assertThat(cache.findById(user.getId())).isPresent();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // When - desabilita (evento publicado dentro da transação)
+            userService.disableUser(user.getId());
+
+            // Requisição concorrente antes do commit: outra conexão ainda vê enabled=true
+            var concurrent = CompletableFuture.supplyAsync(() -> cache.findById(user.getId())).join();
+            assertThat(concurrent).isPresent();
+        });
+
+        // Then - depois do commit o cache não devolve mais o usuário
+        assertThat(cache.findById(user.getId())).isEmpty();
+    }
+}
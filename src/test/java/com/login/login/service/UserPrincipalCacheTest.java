@@ -0,0 +1,84 @@
+package com.login.login.service;
+
+import com.login.login.jwt.JwtPrincipal;
+import com.login.login.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para UserPrincipalCache
+ *
+ * Testa hit/miss, invalidação por evento e contadores
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Principal Cache Tests")
+class UserPrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserPrincipalCache cache;
+    private JwtPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(userRepository, 100, 60);
+        principal = new JwtPrincipal(1L, "test@example.com", "Test User");
+    }
+
+    @Test
+    @DisplayName("Should hit the database only once for repeated lookups")
+    void shouldHitDatabaseOnlyOnce() {
+        // Arrange
+        when(userRepository.findPrincipalById(1L)).thenReturn(Optional.of(principal));
+
+        // Act
+        var first = cache.findById(1L);
+        var second = cache.findById(1L);
+
+        // Assert
+        assertThat(first).containsSame(principal);
+        assertThat(second).containsSame(principal);
+        verify(userRepository, times(1)).findPrincipalById(1L);
+
+        var counters = cache.stats();
+        assertThat(counters.hits()).isEqualTo(1);
+        assertThat(counters.misses()).isEqualTo(1);
+        assertThat(counters.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload user after sessions are invalidated")
+    void shouldReloadAfterInvalidation() {
+        // Arrange
+        when(userRepository.findPrincipalById(1L)).thenReturn(Optional.of(principal));
+        cache.findById(1L);
+
+        // Act
+        cache.onSessionsInvalidated(new UserSessionsInvalidatedEvent(1L));
+        cache.findById(1L);
+
+        // Assert
+        verify(userRepository, times(2)).findPrincipalById(1L);
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown or disabled user")
+    void shouldReturnEmptyForUnknownUser() {
+        // Arrange
+        when(userRepository.findPrincipalById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(cache.findById(99L)).isEmpty();
+        assertThat(cache.stats().size()).isZero();
+    }
+}
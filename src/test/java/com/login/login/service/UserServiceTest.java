@@ -9,8 +9,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -34,6 +38,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -58,9 +65,8 @@ class UserServiceTest {
         String password = "plainPassword123";
         String name = "New User";
         
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty()); // Email disponível
         when(passwordEncoder.encode(password)).thenReturn("hashedPassword123");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
         
         // Act
         User createdUser = userService.createUser(email, password, name);
@@ -70,9 +76,9 @@ class UserServiceTest {
         assertThat(createdUser).isEqualTo(testUser);
         
         // Verify interactions
-        verify(userRepository).findByEmail(email); // Verifica se email existe
         verify(passwordEncoder).encode(password); // Hashe a senha
-        verify(userRepository).save(any(User.class)); // Salva usuário
+        verify(userRepository).saveAndFlush(any(User.class)); // Um único INSERT
+        verify(userRepository, never()).findByEmail(anyString()); // Sem SELECT prévio
     }
 
     @Test
@@ -83,7 +89,8 @@ class UserServiceTest {
         String password = "plainPassword123";  
         String name = "Test User";
         
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser)); // Email já existe
+        when(passwordEncoder.encode(password)).thenReturn("hashedPassword123");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("UK_USERS_EMAIL")); // Email já existe
         
         // Act & Assert
         assertThatThrownBy(() -> userService.createUser(email, password, name))
@@ -91,9 +98,43 @@ class UserServiceTest {
             .hasMessageContaining("Email já cadastrado");
         
         // Verify interactions
-        verify(userRepository).findByEmail(email);
-        verifyNoInteractions(passwordEncoder); // Não deve tentar hasher senha
-        verify(userRepository, never()).save(any(User.class)); // Não deve salvar
+        verify(userRepository, never()).findByEmail(anyString()); // Constraint decide, sem SELECT prévio
+    }
+
+    @Test
+    @DisplayName("Should map email conflict from driver message when constraint name is unknown")
+    void shouldMapEmailConflictFromDriverMessage() {
+        // Arrange - dialeto não extraiu o nome, só a mensagem do driver cita a constraint
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("dup",
+            new SQLException("duplicate key value violates unique constraint \"uk_users_email\"")));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> userService.createUser("dup@example.com", "pw", "Dup"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Email já cadastrado");
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations unrelated to email")
+    void shouldRethrowOtherIntegrityViolations() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        var violation = uniqueViolation("NN_USERS_NAME");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation);
+        
+        // Act & Assert
+        assertThatThrownBy(() -> userService.createUser("x@example.com", "pw", null))
+            .isSameAs(violation);
+    }
+
+    /**
+     * Violação como o Spring entrega após o Hibernate traduzir o erro do driver
+     */
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        var sql = new SQLException("violação de constraint " + constraint, "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement", sql, constraint));
     }
 
     @Test
@@ -101,14 +142,15 @@ class UserServiceTest {
     void shouldReturnTrueWhenEmailExists() {
         // Arrange
         String existingEmail = "existing@example.com";
-        when(userRepository.findByEmail(existingEmail)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByEmail(existingEmail)).thenReturn(true);
         
         // Act
         boolean exists = userService.emailExists(existingEmail);
         
         // Assert
         assertThat(exists).isTrue();
-        verify(userRepository).findByEmail(existingEmail);
+        verify(userRepository).existsByEmail(existingEmail);
+        verify(userRepository, never()).findByEmail(anyString()); // Não carrega a entidade
     }
 
     @Test
@@ -116,14 +158,14 @@ class UserServiceTest {
     void shouldReturnFalseWhenEmailDoesNotExist() {
         // Arrange
         String nonExistentEmail = "nonexistent@example.com";
-        when(userRepository.findByEmail(nonExistentEmail)).thenReturn(Optional.empty());
+        when(userRepository.existsByEmail(nonExistentEmail)).thenReturn(false);
         
         // Act
         boolean exists = userService.emailExists(nonExistentEmail);
         
         // Assert
         assertThat(exists).isFalse();
-        verify(userRepository).findByEmail(nonExistentEmail);
+        verify(userRepository).existsByEmail(nonExistentEmail);
     }
 
     @Test
@@ -143,9 +185,8 @@ class UserServiceTest {
                 .enabled(true)
                 .build();
         
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
         when(passwordEncoder.encode(plainPassword)).thenReturn(hashedPassword);
-        when(userRepository.save(any(User.class))).thenReturn(expectedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(expectedUser);
         
         // Act
         User createdUser = userService.createUser(email, plainPassword, name);
@@ -167,18 +208,17 @@ class UserServiceTest {
         String password = "password123";
         String name = "Order Test";
         
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
         when(passwordEncoder.encode(password)).thenReturn("hashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
         
         // Act
         userService.createUser(email, password, name);
         
         // Assert - verify order of operations
         var inOrder = inOrder(userRepository, passwordEncoder);
-        inOrder.verify(userRepository).findByEmail(email);     // First: check if email exists
-        inOrder.verify(passwordEncoder).encode(password);      // Second: encode password  
-        inOrder.verify(userRepository).save(any(User.class)); // Third: save user
+        inOrder.verify(passwordEncoder).encode(password);              // First: encode password  
+        inOrder.verify(userRepository).saveAndFlush(any(User.class)); // Second: single insert
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -193,10 +233,8 @@ class UserServiceTest {
         User user1 = User.builder().id(1L).email(email1).name("User 1").password(hashedPassword).enabled(true).build();
         User user2 = User.builder().id(2L).email(email2).name("User 2").password(hashedPassword).enabled(true).build();
         
-        when(userRepository.findByEmail(email1)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email2)).thenReturn(Optional.empty());
         when(passwordEncoder.encode(password)).thenReturn(hashedPassword);
-        when(userRepository.save(any(User.class))).thenReturn(user1, user2);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user1, user2);
         
         // Act
         User createdUser1 = userService.createUser(email1, password, "User 1");
@@ -206,7 +244,7 @@ class UserServiceTest {
         assertThat(createdUser1.getEmail()).isEqualTo(email1);
         assertThat(createdUser2.getEmail()).isEqualTo(email2);
         
-        verify(userRepository, times(2)).save(any(User.class));
+        verify(userRepository, times(2)).saveAndFlush(any(User.class));
         verify(passwordEncoder, times(2)).encode(password);
     }
 
@@ -214,16 +252,79 @@ class UserServiceTest {
     @DisplayName("Should handle edge cases gracefully")
     void shouldHandleEdgeCases() {
         // Test different password lengths
-        when(userRepository.findByEmail("short@example.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("abc")).thenReturn("shortHashed");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
         
         // Act & Assert - should work with short password
         assertThatCode(() -> userService.createUser("short@example.com", "abc", "Short Password User"))
             .doesNotThrowAnyException();
         
         // Test case sensitivity of email checking
-        when(userRepository.findByEmail("CASE@EXAMPLE.COM")).thenReturn(Optional.empty());
+        when(userRepository.existsByEmail("CASE@EXAMPLE.COM")).thenReturn(false);
         assertThat(userService.emailExists("CASE@EXAMPLE.COM")).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should disable user and invalidate sessions")
+    void shouldDisableUserAndInvalidateSessions() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act
+        userService.disableUser(1L);
+
+        // Assert
+        assertThat(testUser.isEnabled()).isFalse();
+        verify(userRepository).save(testUser);
+        verify(eventPublisher).publishEvent(new UserSessionsInvalidatedEvent(1L));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when disabling unknown user")
+    void shouldThrowExceptionWhenDisablingUnknownUser() {
+        // Arrange
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.disableUser(99L))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should invalidate every session of the user on logout everywhere")
+    void shouldPublishEventOnLogoutEverywhere() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // Act
+        userService.logoutEverywhere("test@example.com");
+
+        // Assert
+        verify(eventPublisher).publishEvent(new UserSessionsInvalidatedEvent(1L));
+    }
+
+    @Test
+    @DisplayName("Should throw exception on logout everywhere for unknown user")
+    void shouldThrowExceptionOnLogoutEverywhereForUnknownUser() {
+        // Arrange
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.logoutEverywhere("ghost@example.com"))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should recognize only the email unique constraints by exact name")
+    void shouldRecognizeEmailConstraintsByExactName() {
+        // Act & Assert
+        assertThat(UserService.isEmailConstraint("uk_users_email")).isTrue();
+        assertThat(UserService.isEmailConstraint("UK_USERS_EMAIL_NORMALIZED")).isTrue();
+        assertThat(UserService.isEmailConstraint("PUBLIC.UK_USERS_EMAIL_INDEX_4")).isTrue();       // H2
+        assertThat(UserService.isEmailConstraint("\"uk_users_email_normalized\"")).isTrue();     // PostgreSQL
+        assertThat(UserService.isEmailConstraint("uk_users_email_verification")).isFalse();        // Só o prefixo
+        assertThat(UserService.isEmailConstraint("users_pkey")).isFalse();
+    }
+}
@@ -13,11 +13,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 
 import com.login.login.service.PasswordResetService;
 import com.login.login.service.UserService;
 import com.login.login.domain.User;
+import com.login.login.security.PasswordHashingBusyException;
+import com.login.login.security.ResetRequestLimiter;
 
 /**
  * TESTES DE INTEGRAÇÃO PARA CONTROLLERS DE AUTENTICAÇÃO
@@ -41,6 +44,12 @@ class AuthControllerTest {
     @MockitoBean
     private PasswordResetService passwordResetService;
 
+    @MockitoBean
+    private ResetRequestLimiter resetRequestLimiter;
+
+    @MockitoBean
+    private AuthCookies authCookies;
+
     @Test
     @DisplayName("Deve exibir página de login")
     @WithAnonymousUser
@@ -98,6 +107,21 @@ class AuthControllerTest {
             .andExpect(view().name("auth/register"));
     }
 
+    @Test
+    @DisplayName("Deve responder 503 quando o hashing de senhas está saturado")
+    @WithAnonymousUser
+    void shouldReturn503WhenPasswordHashingIsBusy() throws Exception {
+        when(userService.createUser(anyString(), anyString(), anyString()))
+            .thenThrow(new PasswordHashingBusyException("Fila de hash de senhas cheia"));
+
+        mockMvc.perform(post("/auth/register")
+                .param("email", "test@example.com")
+                .param("name", "Test User")
+                .param("password", "password123")
+                .param("confirmPassword", "password123"))
+            .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     @DisplayName("Deve exibir página de reset de senha")
     @WithAnonymousUser
@@ -111,12 +135,31 @@ class AuthControllerTest {
     @DisplayName("Deve processar solicitação de reset válida")
     @WithAnonymousUser
     void shouldProcessValidResetRequest() throws Exception {
+        when(resetRequestLimiter.tryAcquire(any(), anyString())).thenReturn(true);
         doNothing().when(passwordResetService).request(anyString());
         
         mockMvc.perform(post("/auth/forgot")
                 .param("email", "test@example.com"))
             .andExpect(status().is3xxRedirection())
             .andExpect(redirectedUrl("/auth/forgot"));
+
+        verify(passwordResetService).request("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar pedido de reset acima do limite com a mesma resposta")
+    @WithAnonymousUser
+    void shouldSilentlyDropThrottledResetRequest() throws Exception {
+        when(resetRequestLimiter.tryAcquire(any(), anyString())).thenReturn(false);
+
+        mockMvc.perform(post("/auth/forgot")
+                .param("email", "test@example.com"))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("/auth/forgot"))
+            .andExpect(flash().attribute("success",
+                "Se o email existir, você receberá um link para redefinir sua senha."));
+
+        verifyNoInteractions(passwordResetService);
     }
 
     @Test
@@ -129,6 +172,26 @@ class AuthControllerTest {
             .andExpect(view().name("auth/forgot"));
     }
 
+    @Test
+    @DisplayName("Deve responder 204 quando o refresh token é aceito")
+    @WithAnonymousUser
+    void shouldRefreshTokens() throws Exception {
+        when(authCookies.refresh(any(), any())).thenReturn(true);
+
+        mockMvc.perform(post("/auth/refresh"))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Deve responder 401 quando o refresh token é recusado")
+    @WithAnonymousUser
+    void shouldRejectInvalidRefreshToken() throws Exception {
+        when(authCookies.refresh(any(), any())).thenReturn(false);
+
+        mockMvc.perform(post("/auth/refresh"))
+            .andExpect(status().isUnauthorized());
+    }
+
 
 
     @Test
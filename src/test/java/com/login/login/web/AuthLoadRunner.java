@@ -0,0 +1,404 @@
+package com.login.login.web;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * TESTE DE CARGA - ONDE /login E /dashboard SATURAM
+ *
+ * Não é teste JUnit: roda contra uma aplicação já no ar (qualquer perfil).
+ * Para cada nível de concorrência (steps) mantém N usuários virtuais
+ * fazendo requisições sem pausa por "seconds" segundos e mostra:
+ * - vazão (req/s) e latência p50/p95/p99
+ * - respostas 503 (hashing saturado), 429 (throttle) e outros erros
+ * - pico das métricas de saturação lidas de /actuator/prometheus durante o
+ *   passo (pool de conexões e executor de hashing), se o endpoint estiver exposto
+ *
+ * O ponto de saturação é o primeiro passo em que dobrar a concorrência
+ * rende menos de 10% de vazão (ou passa de 1% de erros): dali em diante
+ * só a latência cresce.
+ *
+ * CENÁRIOS:
+ * - login:     POST /login com credenciais válidas (BCrypt a cada requisição)
+ * - dashboard: GET /dashboard com o cookie ACCESS_TOKEN (login feito antes do passo)
+ *
+ * COMO RODAR:
+ * ./mvnw -Ploadtest -DskipTests test-compile exec:exec \
+ *     -Dloadtest.args="base-url=http://localhost:8080 scenario=login steps=1,2,4,8,16,32 seconds=15"
+ *
+ * Argumentos (chave=valor): base-url, scenario (login|dashboard|both),
+ * steps, seconds. Os usuários de teste (loadtest-*@example.com) são
+ * cadastrados pelo próprio runner via /auth/register.
+ *
+ * COMPARAR THREADS DE PLATAFORMA × VIRTUAIS:
+ * subir a aplicação em cada modo e rodar os mesmos passos; comparar a linha
+ * "Maior concorrência sem erros" (concorrência máxima e p99) dos dois.
+ * java -jar target/login-0.0.1-SNAPSHOT.jar --spring.threads.virtual.enabled=false
+ * java -jar target/login-0.0.1-SNAPSHOT.jar --spring.threads.virtual.enabled=true
+ */
+public class AuthLoadRunner {
+
+    private static final String PASSWORD = "LoadTest123";
+
+    // Cadastros simultâneos: acima da fila do BCrypt (queue-capacity) viram 503
+    private static final int REGISTER_CONCURRENCY = 8;
+
+    // Métricas acompanhadas durante cada passo (nome no formato Prometheus)
+    private static final List<String> SATURATION_METRICS = List.of(
+        "hikaricp_connections_active",
+        "hikaricp_connections_pending",
+        "password_hashing_active",
+        "password_hashing_queued");
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)  // 302 do login é a resposta esperada
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    private final URI baseUrl;
+
+    AuthLoadRunner(URI baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = parse(args);
+        var runner = new AuthLoadRunner(URI.create(options.getOrDefault("base-url", "http://localhost:8080")));
+        var scenario = options.getOrDefault("scenario", "both");
+        int[] steps = Arrays.stream(options.getOrDefault("steps", "1,2,4,8,16,32,64").split(","))
+            .mapToInt(s -> Integer.parseInt(s.trim()))
+            .toArray();
+        var stepDuration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "10")));
+
+        var users = runner.registerUsers(Arrays.stream(steps).max().orElse(1));
+
+        if (scenario.equals("login") || scenario.equals("both")) {
+            runner.run(Scenario.LOGIN, users, steps, stepDuration);
+        }
+        if (scenario.equals("dashboard") || scenario.equals("both")) {
+            runner.run(Scenario.DASHBOARD, users, steps, stepDuration);
+        }
+    }
+
+    // ========== CENÁRIOS ==========
+
+    enum Scenario { LOGIN, DASHBOARD }
+
+    private void run(Scenario scenario, List<String> users, int[] steps, Duration stepDuration) throws Exception {
+        System.out.printf("%n=== %s ===%n", scenario == Scenario.LOGIN ? "POST /login" : "GET /dashboard");
+        System.out.printf("%6s %9s %8s %8s %8s %7s %6s %6s %6s  %s%n",
+            "conc", "req/s", "p50 ms", "p95 ms", "p99 ms", "ok", "503", "429", "erro", "pico das métricas");
+
+        var results = new ArrayList<StepResult>();
+        for (int concurrency : steps) {
+            var result = runStep(scenario, users.subList(0, concurrency), stepDuration);
+            results.add(result);
+            System.out.println(result.format());
+        }
+
+        var knee = saturationPoint(results);
+        if (knee == null) {
+            System.out.println("→ Não saturou: aumentar os passos de concorrência");
+        } else {
+            System.out.printf("→ Satura em ~%d usuários concorrentes (%.0f req/s); acima disso só a latência cresce%n",
+                knee.concurrency(), knee.throughput());
+        }
+
+        var healthy = maxHealthyConcurrency(results);
+        if (healthy != null) {
+            System.out.printf(Locale.ROOT, "→ Maior concorrência sem erros (≤ 1%%): %d usuários, p99 %.1f ms%n",
+                healthy.concurrency(), healthy.p99());
+        }
+    }
+
+    private StepResult runStep(Scenario scenario, List<String> users, Duration duration) throws Exception {
+        // Dashboard: login fora da medição (só o GET é medido)
+        var cookies = new ArrayList<String>();
+        if (scenario == Scenario.DASHBOARD) {
+            for (var user : users) {
+                cookies.add(accessTokenCookie(login(user)));
+            }
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        var peaks = new HashMap<String, Double>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var workers = new ArrayList<Future<Worker>>();
+            for (int i = 0; i < users.size(); i++) {
+                var worker = new Worker(scenario, users.get(i), scenario == Scenario.DASHBOARD ? cookies.get(i) : null);
+                workers.add(executor.submit(() -> worker.runUntil(deadline)));
+            }
+
+            // Amostrar as métricas a cada segundo enquanto os usuários trabalham
+            while (System.nanoTime() < deadline) {
+                scrape().forEach((name, value) -> peaks.merge(name, value, Math::max));
+                Thread.sleep(1000);
+            }
+
+            var merged = new Worker(scenario, null, null);
+            for (var future : workers) {
+                merged.add(future.get());
+            }
+            return merged.result(users.size(), duration, peaks);
+        }
+    }
+
+    /**
+     * USUÁRIO VIRTUAL (uma thread virtual em laço até o fim do passo)
+     */
+    private final class Worker {
+        private final Scenario scenario;
+        private final String email;
+        private final String cookie;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int ok, busy, throttled, errors;
+
+        Worker(Scenario scenario, String email, String cookie) {
+            this.scenario = scenario;
+            this.email = email;
+            this.cookie = cookie;
+        }
+
+        Worker runUntil(long deadline) {
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                int status;
+                try {
+                    // login() só devolve 302 se o redirect for para /dashboard
+                    status = scenario == Scenario.LOGIN ? login(email).statusCode() : dashboard(cookie);
+                } catch (IOException | InterruptedException e) {
+                    status = -1;
+                }
+                record(System.nanoTime() - start, status);
+            }
+            return this;
+        }
+
+        private void record(long nanos, int status) {
+            append(nanos);
+            int expected = scenario == Scenario.LOGIN ? 302 : 200;
+            if (status == expected) ok++;
+            else if (status == 503) busy++;
+            else if (status == 429) throttled++;
+            else errors++;
+        }
+
+        private void append(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void add(Worker other) {
+            for (int i = 0; i < other.count; i++) {
+                append(other.latencies[i]);
+            }
+            ok += other.ok;
+            busy += other.busy;
+            throttled += other.throttled;
+            errors += other.errors;
+        }
+
+        StepResult result(int concurrency, Duration duration, Map<String, Double> peaks) {
+            var sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new StepResult(concurrency, count / (duration.toMillis() / 1000.0),
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                ok, busy, throttled, errors, peaks);
+        }
+    }
+
+    record StepResult(int concurrency, double throughput, double p50, double p95, double p99,
+                      int ok, int busy, int throttled, int errors, Map<String, Double> peaks) {
+
+        double errorRate() {
+            int total = ok + busy + throttled + errors;
+            return total == 0 ? 0 : (double) (total - ok) / total;
+        }
+
+        String format() {
+            var metrics = new StringBuilder();
+            for (var name : SATURATION_METRICS) {
+                if (peaks.containsKey(name)) {
+                    metrics.append(name.replace("hikaricp_connections_", "db.").replace("password_hashing_", "hash."))
+                        .append('=').append(Math.round(peaks.get(name))).append(' ');
+                }
+            }
+            return String.format(Locale.ROOT, "%6d %9.1f %8.1f %8.1f %8.1f %7d %6d %6d %6d  %s",
+                concurrency, throughput, p50, p95, p99, ok, busy, throttled, errors, metrics.toString().trim());
+        }
+    }
+
+    /**
+     * PONTO DE SATURAÇÃO: primeiro passo cuja vazão cresce < 10% sobre o
+     * anterior, ou com mais de 1% de erros. Devolve o passo ANTERIOR (o
+     * último que ainda escalava).
+     */
+    static StepResult saturationPoint(List<StepResult> results) {
+        for (int i = 1; i < results.size(); i++) {
+            var previous = results.get(i - 1);
+            var current = results.get(i);
+            if (current.throughput() < previous.throughput() * 1.10 || current.errorRate() > 0.01) {
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * MAIOR CONCORRÊNCIA ATENDIDA com no máximo 1% de erros (503/429/outros).
+     * É o número comparado entre os modos de thread, junto com o p99.
+     */
+    static StepResult maxHealthyConcurrency(List<StepResult> results) {
+        StepResult best = null;
+        for (var result : results) {
+            if (result.errorRate() <= 0.01 && (best == null || result.concurrency() > best.concurrency())) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    // ========== HTTP ==========
+
+    private List<String> registerUsers(int count) throws Exception {
+        var runId = UUID.randomUUID().toString().substring(0, 8);
+        var users = new ArrayList<String>();
+        var permits = new Semaphore(REGISTER_CONCURRENCY);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<HttpResponse<Void>>>();
+            for (int i = 0; i < count; i++) {
+                var email = "loadtest-" + runId + "-" + i + "@example.com";
+                users.add(email);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return post("/auth/register", Map.of(
+                            "email", email, "name", "Load Test", "password", PASSWORD, "confirmPassword", PASSWORD));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                int status = future.get().statusCode();
+                if (status != 302) {
+                    throw new IllegalStateException("Cadastro dos usuários de teste falhou: HTTP " + status);
+                }
+            }
+        }
+        System.out.printf("%d usuários de teste cadastrados em %s%n", count, baseUrl);
+        return users;
+    }
+
+    private HttpResponse<Void> login(String email) throws IOException, InterruptedException {
+        var response = post("/login", Map.of("username", email, "password", PASSWORD));
+        var location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() == 302 && !location.endsWith("/dashboard")) {
+            throw new IOException("Login recusado para " + email + ": " + location);
+        }
+        return response;
+    }
+
+    private int dashboard(String cookie) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(baseUrl.resolve("/dashboard"))
+            .header("Cookie", cookie)
+            .GET()
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<Void> post(String path, Map<String, String> form) throws IOException, InterruptedException {
+        var body = new StringBuilder();
+        form.forEach((name, value) -> body.append(body.isEmpty() ? "" : "&")
+            .append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+            .append(URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        var request = HttpRequest.newBuilder(baseUrl.resolve(path))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Cookie ACCESS_TOKEN do login. Lido direto do Set-Cookie: com
+     * app.cookies.secure=true o CookieManager não o reenviaria por HTTP.
+     */
+    private static String accessTokenCookie(HttpResponse<?> loginResponse) {
+        return loginResponse.headers().allValues("Set-Cookie").stream()
+            .filter(header -> header.startsWith("ACCESS_TOKEN="))
+            .map(header -> header.substring(0, header.indexOf(';') < 0 ? header.length() : header.indexOf(';')))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Login sem cookie ACCESS_TOKEN"));
+    }
+
+    /**
+     * VALORES ATUAIS DAS MÉTRICAS DE SATURAÇÃO (soma entre pools/tags)
+     *
+     * Vazio se /actuator/prometheus não estiver exposto ou acessível.
+     */
+    private Map<String, Double> scrape() {
+        var values = new HashMap<String, Double>();
+        try {
+            var request = HttpRequest.newBuilder(baseUrl.resolve("/actuator/prometheus")).GET().build();
+            var response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() != 200) {
+                return values;
+            }
+            response.body()
+                .filter(line -> !line.startsWith("#"))
+                .forEach(line -> {
+                    for (var name : SATURATION_METRICS) {
+                        if (line.startsWith(name + "{") || line.startsWith(name + " ")) {
+                            double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                            values.merge(name, value, Double::sum);
+                        }
+                    }
+                });
+        } catch (IOException | InterruptedException | NumberFormatException e) {
+            // Métricas são opcionais: o teste de carga segue sem elas
+        }
+        return values;
+    }
+
+    // ========== AUXILIARES ==========
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        var options = new HashMap<String, String>();
+        for (var arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (esperado chave=valor): " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -7,10 +7,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.login.login.service.UserService;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 /**
  * Testes de integração para DashboardController
@@ -25,6 +30,12 @@ class DashboardControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private AuthCookies authCookies;
+
     @Test
     @DisplayName("Deve exibir dashboard para usuário autenticado")
     @WithMockUser(username = "test@example.com", roles = "USER")
@@ -117,4 +128,16 @@ class DashboardControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("dashboard"));
     }
+
+    @Test
+    @DisplayName("Deve sair de todos os dispositivos e voltar ao login")
+    @WithMockUser(username = "everywhere@example.com", roles = "USER")
+    void shouldLogoutEverywhere() throws Exception {
+        mockMvc.perform(post("/dashboard/logout-everywhere"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/auth/login?logout"));
+
+        verify(userService).logoutEverywhere("everywhere@example.com");
+        verify(authCookies).clear(any());
+    }
 }
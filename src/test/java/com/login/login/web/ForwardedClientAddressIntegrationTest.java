@@ -0,0 +1,63 @@
+package com.login.login.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.util.LinkedMultiValueMap;
+
+import com.login.login.service.PasswordResetService;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * TESTE DE INTEGRAÇÃO DO IP DO CLIENTE ATRÁS DO BALANCEADOR
+ *
+ * Tomcat real com server.forward-headers-strategy=native (como no
+ * application-prod.yml): requisições chegam do balanceador (127.0.0.1,
+ * proxy confiável) com X-Forwarded-For, e o ResetRequestLimiter precisa
+ * contar por esse endereço, não pelo do balanceador.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.forward-headers-strategy=native",
+    "app.security.reset-throttle.ip.capacity=1",
+    "app.security.reset-throttle.ip.refill-seconds=3600",
+    "app.security.reset-throttle.email.capacity=10"
+})
+@DisplayName("Forwarded Client Address Integration Tests")
+class ForwardedClientAddressIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockitoBean
+    private PasswordResetService passwordResetService;
+
+    private void forgot(String clientIp, String email) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.set("X-Forwarded-For", clientIp);
+        var form = new LinkedMultiValueMap<String, String>();
+        form.add("email", email);
+        restTemplate.postForEntity("/auth/forgot", new HttpEntity<>(form, headers), String.class);
+    }
+
+    @Test
+    @DisplayName("Deve limitar pedidos de reset pelo IP encaminhado, não pelo do balanceador")
+    void shouldLimitResetRequestsByForwardedAddress() {
+        // When - dois clientes atrás do mesmo balanceador, limite de 1 pedido por IP
+        forgot("203.0.113.10", "a@example.com");
+        forgot("203.0.113.10", "b@example.com");  // Mesmo cliente → ignorado
+        forgot("198.51.100.20", "c@example.com"); // Outro cliente → balde próprio
+
+        // Then
+        verify(passwordResetService).request("a@example.com");
+        verify(passwordResetService, never()).request("b@example.com");
+        verify(passwordResetService).request("c@example.com");
+    }
+}
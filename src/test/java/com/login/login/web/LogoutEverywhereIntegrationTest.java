@@ -0,0 +1,89 @@
+package com.login.login.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.login.login.domain.User;
+import com.login.login.repo.UserRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * TESTE DE INTEGRAÇÃO DO "SAIR DE TODOS OS DISPOSITIVOS"
+ *
+ * Cadeia de segurança real, só com sessões HTTP (sem cookies de token):
+ * cada MockHttpSession faz o papel de um navegador logado pelo formulário.
+ * Depois do logout-everywhere em um deles, os outros precisam voltar ao
+ * login na próxima requisição.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Logout Everywhere Integration Tests")
+class LogoutEverywhereIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private MockHttpSession login(String email) throws Exception {
+        var result = mockMvc.perform(post("/login")
+                .session(new MockHttpSession())
+                .param("username", email)
+                .param("password", "certa123"))
+            .andExpect(redirectedUrl("/dashboard"))
+            .andReturn();
+        return (MockHttpSession) result.getRequest().getSession(false);
+    }
+
+    @Test
+    @DisplayName("Deve expirar a sessão dos outros navegadores do usuário")
+    void shouldExpireOtherSessionsOfUser() throws Exception {
+        // Given - mesmo usuário logado em dois navegadores
+        userRepository.save(User.ofnew("everywhere@example.com", passwordEncoder.encode("certa123"), "Everywhere"));
+        var first = login("everywhere@example.com");
+        var second = login("everywhere@example.com");
+        mockMvc.perform(get("/dashboard").session(second))
+            .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(post("/dashboard/logout-everywhere").session(first))
+            .andExpect(redirectedUrl("/auth/login?logout"));
+
+        // Then
+        mockMvc.perform(get("/dashboard").session(second))
+            .andExpect(redirectedUrl("/auth/login?expired"));
+        mockMvc.perform(get("/dashboard").session(second))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrlPattern("**/auth/login"));
+    }
+
+    @Test
+    @DisplayName("Não deve expirar sessões de outros usuários")
+    void shouldKeepSessionsOfOtherUsers() throws Exception {
+        // Given
+        userRepository.save(User.ofnew("leaving@example.com", passwordEncoder.encode("certa123"), "Leaving"));
+        userRepository.save(User.ofnew("staying@example.com", passwordEncoder.encode("certa123"), "Staying"));
+        var leaving = login("leaving@example.com");
+        var staying = login("staying@example.com");
+
+        // When
+        mockMvc.perform(post("/dashboard/logout-everywhere").session(leaving))
+            .andExpect(redirectedUrl("/auth/login?logout"));
+
+        // Then
+        mockMvc.perform(get("/dashboard").session(staying))
+            .andExpect(status().isOk());
+    }
+}
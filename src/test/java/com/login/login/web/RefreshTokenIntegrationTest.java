@@ -0,0 +1,150 @@
+package com.login.login.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.servlet.http.Cookie;
+
+import com.login.login.domain.User;
+import com.login.login.repo.RefreshTokenRepository;
+import com.login.login.repo.UserRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * TESTE DE INTEGRAÇÃO DO FLUXO DE REFRESH
+ *
+ * Cadeia de segurança real (SecurityConfig) + H2:
+ * login emite ACCESS_TOKEN/REFRESH_TOKEN, /auth/refresh rotaciona,
+ * reuso do token antigo revoga a família, logout apaga os cookies e
+ * "sair de todos os dispositivos" revoga os tokens de todas as sessões.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Refresh Token Integration Tests")
+class RefreshTokenIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Cookie login(String email) throws Exception {
+        userRepository.save(User.ofnew(email, passwordEncoder.encode("certa123"), "Refresh"));
+        var result = mockMvc.perform(post("/login")
+                .param("username", email)
+                .param("password", "certa123"))
+            .andExpect(redirectedUrl("/dashboard"))
+            .andExpect(cookie().exists(CookieUtils.ACCESS_TOKEN_COOKIE))
+            .andReturn();
+        return result.getResponse().getCookie(CookieUtils.REFRESH_TOKEN_COOKIE);
+    }
+
+    @Test
+    @DisplayName("Deve trocar o refresh token por um par novo")
+    void shouldRotateRefreshToken() throws Exception {
+        // Given
+        var refresh = login("rotate@example.com");
+        assertThat(refresh).isNotNull();
+        assertThat(refresh.getPath()).isEqualTo("/auth");
+
+        // When
+        var result = mockMvc.perform(post("/auth/refresh").cookie(refresh))
+            .andExpect(status().isNoContent())
+            .andExpect(cookie().exists(CookieUtils.ACCESS_TOKEN_COOKIE))
+            .andReturn();
+
+        // Then
+        var rotated = result.getResponse().getCookie(CookieUtils.REFRESH_TOKEN_COOKIE);
+        assertThat(rotated.getValue()).isNotEqualTo(refresh.getValue());
+        mockMvc.perform(post("/auth/refresh").cookie(rotated))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Deve revogar a família inteira quando um token antigo é reusado")
+    void shouldRevokeFamilyOnReuse() throws Exception {
+        // Given - token trocado uma vez
+        var stolen = login("reuse@example.com");
+        var current = mockMvc.perform(post("/auth/refresh").cookie(stolen))
+            .andExpect(status().isNoContent())
+            .andReturn().getResponse().getCookie(CookieUtils.REFRESH_TOKEN_COOKIE);
+
+        // When - cópia antiga apresentada de novo
+        mockMvc.perform(post("/auth/refresh").cookie(stolen))
+            .andExpect(status().isUnauthorized())
+            .andExpect(cookie().maxAge(CookieUtils.REFRESH_TOKEN_COOKIE, 0));
+
+        // Then - o token atual (legítimo) também caiu
+        mockMvc.perform(post("/auth/refresh").cookie(current))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Deve recusar refresh sem cookie")
+    void shouldRejectMissingCookie() throws Exception {
+        mockMvc.perform(post("/auth/refresh"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Deve revogar o refresh token e apagar os cookies no logout")
+    void shouldRevokeOnLogout() throws Exception {
+        // Given
+        var refresh = login("logout@example.com");
+
+        // When
+        mockMvc.perform(post("/auth/logout").cookie(refresh))
+            .andExpect(redirectedUrl("/auth/login?logout"))
+            .andExpect(cookie().maxAge(CookieUtils.ACCESS_TOKEN_COOKIE, 0))
+            .andExpect(cookie().maxAge(CookieUtils.REFRESH_TOKEN_COOKIE, 0));
+
+        // Then
+        var userId = userRepository.findByEmail("logout@example.com").orElseThrow().getId();
+        assertThat(refreshTokenRepository.findAll())
+            .filteredOn(t -> t.getUser().getId().equals(userId))
+            .isNotEmpty()
+            .allMatch(t -> t.isRevoked());
+        mockMvc.perform(post("/auth/refresh").cookie(refresh))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Deve revogar os refresh tokens de todos os dispositivos")
+    void shouldRevokeAllDevicesOnLogoutEverywhere() throws Exception {
+        // Given - dois dispositivos logados
+        var laptop = login("everywhere@example.com");
+        var phoneLogin = mockMvc.perform(post("/login")
+                .param("username", "everywhere@example.com")
+                .param("password", "certa123"))
+            .andReturn();
+        var phone = phoneLogin.getResponse().getCookie(CookieUtils.REFRESH_TOKEN_COOKIE);
+        var session = (MockHttpSession) phoneLogin.getRequest().getSession();
+
+        // When
+        mockMvc.perform(post("/dashboard/logout-everywhere").session(session))
+            .andExpect(redirectedUrl("/auth/login?logout"))
+            .andExpect(cookie().maxAge(CookieUtils.REFRESH_TOKEN_COOKIE, 0));
+
+        // Then
+        mockMvc.perform(post("/auth/refresh").cookie(laptop))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh").cookie(phone))
+            .andExpect(status().isUnauthorized());
+    }
+}